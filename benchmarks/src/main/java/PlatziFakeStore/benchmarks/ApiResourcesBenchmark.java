@@ -0,0 +1,58 @@
+package PlatziFakeStore.benchmarks;
+
+import PlatziFakeStore.base.APIResources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Endpoint path building (APIResources / UriTemplate).
+ * - regexReplaceFirst is the pre-template withParams, kept as a baseline
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ApiResourcesBenchmark {
+
+    // Non-final so the JIT cannot constant-fold the inputs
+    private int productId = 42;
+    private String slug = "classic-leather-jacket";
+    private Map<String, Object> page = Map.of("offset", 20, "limit", 10);
+
+    @Benchmark
+    public String withParamsId() {
+        return APIResources.GET_PRODUCT_BY_ID.withParams(productId);
+    }
+
+    @Benchmark
+    public String withParamsSlug() {
+        return APIResources.GET_RELATED_BY_SLUG.withParams(slug);
+    }
+
+    @Benchmark
+    public String withParamsNamed() {
+        return APIResources.GET_PRODUCTS_PAGINATED.withParams(page);
+    }
+
+    @Benchmark
+    public String withQueryParams() {
+        return APIResources.GET_ALL_PRODUCTS.withQueryParams("offset=20", "limit=10");
+    }
+
+    @Benchmark
+    public String regexReplaceFirst() {
+        return "/products/{id}".replaceFirst("\\{[^/]+}", String.valueOf(productId));
+    }
+}
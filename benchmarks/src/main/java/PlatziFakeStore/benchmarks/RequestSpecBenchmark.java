@@ -0,0 +1,59 @@
+package PlatziFakeStore.benchmarks;
+
+import PlatziFakeStore.base.BaseAPI;
+import PlatziFakeStore.config.ConfigManager;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cost of building Rest Assured specifications (no I/O).
+ * - cachedRequestSpec: the ThreadLocal hit every client call pays
+ * - coldRequestSpec: first call on a new thread / after resetSpecs()
+ * - withPathParams: the per-call spec merge used by the clients
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestSpecBenchmark {
+
+    private Map<String, String> pathParams = Map.of("id", "42");
+
+    @Setup(Level.Trial)
+    public void disableLogging() {
+        ConfigManager.override("log.request", "false");
+        ConfigManager.override("log.response", "false");
+        BaseAPI.resetSpecs();
+    }
+
+    @Benchmark
+    public RequestSpecification cachedRequestSpec() {
+        return BaseAPI.getRequestSpec();
+    }
+
+    @Benchmark
+    public RequestSpecification coldRequestSpec() {
+        BaseAPI.resetSpecs();
+        return BaseAPI.getRequestSpec();
+    }
+
+    @Benchmark
+    public RequestSpecification withPathParams() {
+        return BaseAPI.withPathParams(pathParams);
+    }
+}
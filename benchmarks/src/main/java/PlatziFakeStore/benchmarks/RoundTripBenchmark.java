@@ -0,0 +1,83 @@
+package PlatziFakeStore.benchmarks;
+
+import PlatziFakeStore.base.ApiResponse;
+import PlatziFakeStore.base.AsyncBaseAPI;
+import PlatziFakeStore.base.BaseAPI;
+import PlatziFakeStore.base.ClientBackend;
+import PlatziFakeStore.clients.ProductsClient;
+import PlatziFakeStore.clients.async.AsyncProductsClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.stub.FakeStoreServer;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full request round-trips against the in-process stand-in server:
+ * spec building, filters, HTTP over loopback, response validation.
+ * - The server is the same for both backends, so the difference is
+ *   client-side cost
+ * - Request/response logging is off; it would dominate the numbers
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoundTripBenchmark {
+
+    private FakeStoreServer server;
+    private ProductsClient productsClient;
+    private AsyncProductsClient asyncProductsClient;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        server = FakeStoreServer.start(0);
+        ConfigManager.override("base.url", server.getBaseUrl());
+        ConfigManager.override("log.request", "false");
+        ConfigManager.override("log.response", "false");
+        BaseAPI.resetSpecs();
+        AsyncBaseAPI.reset();
+
+        productsClient = new ProductsClient();
+        asyncProductsClient = new AsyncProductsClient(ClientBackend.JAVA_HTTP);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Benchmark
+    public Response restAssuredGetProduct() {
+        return productsClient.getProductById(1);
+    }
+
+    @Benchmark
+    public Response restAssuredGetAllProducts() {
+        return productsClient.getAllProducts();
+    }
+
+    @Benchmark
+    public ApiResponse javaHttpGetProduct() {
+        return asyncProductsClient.getProductById(1).join();
+    }
+
+    @Benchmark
+    public ApiResponse javaHttpGetAllProducts() {
+        return asyncProductsClient.getAllProducts().join();
+    }
+}
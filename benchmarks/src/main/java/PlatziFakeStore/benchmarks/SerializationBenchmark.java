@@ -0,0 +1,127 @@
+package PlatziFakeStore.benchmarks;
+
+import PlatziFakeStore.models.response.Product;
+import PlatziFakeStore.models.response.Users;
+import PlatziFakeStore.stub.FakeStoreData;
+import PlatziFakeStore.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (shared JsonUtils mapper) vs Gson on the response models.
+ * - Payloads are the stand-in server's own list responses, so shapes
+ *   match what the clients actually parse
+ * - Both libraries read from and write to UTF-8 bytes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private final ObjectMapper mapper = JsonUtils.mapper();
+    private final Gson gson = new Gson();
+
+    private JavaType jacksonProductList;
+    private JavaType jacksonUserList;
+    private Type gsonProductList;
+    private Type gsonUserList;
+
+    private byte[] productsJson;
+    private byte[] usersJson;
+    private List<Product> products;
+    private List<Users> users;
+
+    @Setup(Level.Trial)
+    public void loadPayloads() throws IOException {
+        jacksonProductList = mapper.getTypeFactory().constructCollectionType(List.class, Product.class);
+        jacksonUserList = mapper.getTypeFactory().constructCollectionType(List.class, Users.class);
+        gsonProductList = TypeToken.getParameterized(List.class, Product.class).getType();
+        gsonUserList = TypeToken.getParameterized(List.class, Users.class).getType();
+
+        FakeStoreData data = new FakeStoreData(size, size);
+        productsJson = data.allProductsJson();
+        usersJson = data.allUsersJson();
+        products = mapper.readValue(productsJson, jacksonProductList);
+        users = mapper.readValue(usersJson, jacksonUserList);
+    }
+
+    /* ****************************
+     *  Deserialization
+     * ****************************/
+
+    @Benchmark
+    public List<Product> jacksonReadProducts() throws IOException {
+        return mapper.readValue(productsJson, jacksonProductList);
+    }
+
+    @Benchmark
+    public List<Product> gsonReadProducts() {
+        return gson.fromJson(reader(productsJson), gsonProductList);
+    }
+
+    @Benchmark
+    public List<Users> jacksonReadUsers() throws IOException {
+        return mapper.readValue(usersJson, jacksonUserList);
+    }
+
+    @Benchmark
+    public List<Users> gsonReadUsers() {
+        return gson.fromJson(reader(usersJson), gsonUserList);
+    }
+
+    /* ****************************
+     *  Serialization
+     * ****************************/
+
+    @Benchmark
+    public byte[] jacksonWriteProducts() throws IOException {
+        return mapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] gsonWriteProducts() {
+        return gson.toJson(products, gsonProductList).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] jacksonWriteUsers() throws IOException {
+        return mapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] gsonWriteUsers() {
+        return gson.toJson(users, gsonUserList).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static InputStreamReader reader(byte[] json) {
+        return new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8);
+    }
+}
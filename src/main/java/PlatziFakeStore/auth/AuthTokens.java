@@ -0,0 +1,73 @@
+package PlatziFakeStore.auth;
+
+import PlatziFakeStore.clients.AuthClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.models.request.LoginRequest;
+import PlatziFakeStore.models.response.TokenResponse;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthTokens
+ * --------------------------------------------------
+ * - One access/refresh token pair with expiries decoded from the JWTs
+ * - Login and refresh round trips shared by TokenManager and TokenPool
+ * - Immutable: a renewal produces a new instance
+ */
+final class AuthTokens {
+
+    private static final AuthClient authClient = new AuthClient();
+
+    final String accessToken;
+    final String refreshToken;
+    final long accessExpiresAt;  // epoch millis, -1 when the token carries no exp
+    final long refreshExpiresAt;
+    private final long issuedAt = System.currentTimeMillis();
+
+    private AuthTokens(TokenResponse response) {
+        this.accessToken = Objects.requireNonNull(response.getAccessToken(), "Login returned no access_token");
+        this.refreshToken = response.getRefreshToken();
+        this.accessExpiresAt = TokenManager.expiryOf(accessToken);
+        this.refreshExpiresAt = refreshToken == null ? 0 : TokenManager.expiryOf(refreshToken);
+    }
+
+    static AuthTokens login(String email, String password) {
+        try {
+            return new AuthTokens(authClient.login(new LoginRequest(email, password)).as(TokenResponse.class));
+        } catch (AssertionError e) {
+            throw new RuntimeException("Login failed for " + email + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Exchanges the refresh token; null when there is none or the server rejects it. */
+    static AuthTokens refresh(AuthTokens current) {
+        if (current == null || !current.canRefresh(System.currentTimeMillis())) return null;
+        try {
+            return new AuthTokens(authClient.refreshToken(current.refreshToken).as(TokenResponse.class));
+        } catch (RuntimeException | AssertionError rejected) {
+            return null;
+        }
+    }
+
+    /** Still accepted by the server, allowing auth.expiry.skew.seconds for clock drift. */
+    boolean isUsable(long now) {
+        return accessExpiresAt < 0
+                || now < accessExpiresAt - TimeUnit.SECONDS.toMillis(ConfigManager.getAuthExpirySkewSeconds());
+    }
+
+    boolean canRefresh(long now) {
+        return refreshToken != null && (refreshExpiresAt < 0 || now < refreshExpiresAt);
+    }
+
+    /**
+     * When to renew: auth.refresh.ahead.seconds before expiry, but never
+     * earlier than half-way through the lifetime; -1 for opaque tokens.
+     */
+    long refreshDueAt() {
+        if (accessExpiresAt < 0) return -1;
+        long lifetime = accessExpiresAt - issuedAt;
+        long ahead = Math.min(TimeUnit.SECONDS.toMillis(ConfigManager.getAuthRefreshAheadSeconds()), lifetime / 2);
+        return accessExpiresAt - ahead;
+    }
+}
@@ -1,78 +1,232 @@
 package PlatziFakeStore.auth;
 
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * TokenManager
  * -------------------------------------------------
  * - Manages JWT authentication for Escuela JS API
  * - Handles login, token caching, and refresh
  * - Integrated with ConfigManager for credentials
- * - Uses BaseAPI for consistent Rest Assured setup
+ * - Uses AuthClient (and so BaseAPI) for consistent Rest Assured setup
+ * - Tokens are cached per credential; "exp" is decoded locally from the JWT
+ * - Single flight: concurrent callers for the same credential share one
+ *   in-flight login/refresh instead of each calling /auth/login
+ * - A background refresh runs auth.refresh.ahead.seconds before expiry,
+ *   so callers normally never wait for a token
+ * - Refresh falls back to a fresh login when the refresh token is rejected
+ *
+ * Usage:
+ *   String token = TokenManager.getAccessToken();                      // auth.email / auth.password
+ *   String token = TokenManager.getAccessToken("maria@mail.com", "12345");
  */
 public final class TokenManager {
 
-    private static String accessToken;
-    private static String refreshToken;
+    private static final Base64.Decoder JWT_DECODER = Base64.getUrlDecoder();
+    private static final Map<Credentials, Session> SESSIONS = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService REFRESHER = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("token-refresher").factory());
+
+    private static final LongAdder LOGINS = new LongAdder();
+    private static final LongAdder REFRESHES = new LongAdder();
 
     private TokenManager() {
         // Prevent instantiation
     }
-/*
+
     /**
-     * Get a valid access token (From Login).
+     * Get a valid access token for the configured default user.
      */
-   /* public static synchronized String getAccessToken(String clientEmail, String clientPassword) {
-        if (accessToken == null) {
-            loginAndCacheTokens(clientEmail, clientPassword);
-        }
-        return accessToken;
-    }*/
+    public static String getAccessToken() {
+        return getAccessToken(ConfigManager.getAuthEmail(), ConfigManager.getAuthPassword());
+    }
 
     /**
-     * Perform login and store both access & refresh tokens.
+     * Get a valid access token (From Login, or a refresh when the cached one is about to expire).
      */
-  /*  private static void loginAndCacheTokens(String clientEmail, String clientPassword) {
-        LoginRequest loginPayload = new LoginRequest(clientEmail, clientPassword);
-
-        Response res = AuthClient
-
-        TokenResponse tokens = res.then()
-                .spec(BaseAPI.ok200()) // Escuela API returns 200 for login
-                .extract()
-                .as(TokenResponse.class);
-
-        accessToken = tokens.getAccessToken();
-        refreshToken = tokens.getRefreshToken();
-    }*/
+    public static String getAccessToken(String clientEmail, String clientPassword) {
+        Session session = SESSIONS.computeIfAbsent(new Credentials(clientEmail, clientPassword), Session::new);
+        AuthTokens tokens = session.tokens;
+        if (tokens != null && tokens.isUsable(System.currentTimeMillis())) {
+            return tokens.accessToken;
+        }
+        return session.renew(tokens).accessToken;
+    }
 
     /**
      * Refresh the access token using the refresh token.
      * Falls back to login if refresh fails.
      */
-   /* public static synchronized void refreshAccessToken() {
-        if (refreshToken == null) {
-            loginAndCacheTokens();
-            return;
-        }
+    public static String refreshAccessToken(String clientEmail, String clientPassword) {
+        Session session = SESSIONS.computeIfAbsent(new Credentials(clientEmail, clientPassword), Session::new);
+        return session.renew(session.tokens).accessToken;
+    }
 
-        Response res = BaseAPI
-                .spec(getRequestSpec())
-                .body(Map.of("refreshToken", refreshToken))
-                .post(APIResources.REFRESH_TOKEN.getResource());
-
-        if (res.statusCode() == 200) {
-            TokenResponse tokens = res.as(TokenResponse.class);
-            accessToken = tokens.getAccessToken();
-            refreshToken = tokens.getRefreshToken();
-        } else {
-            loginAndCacheTokens();
-        }
-    }*/
+    /**
+     * Drops the cached token for a credential (e.g. after a 401); the next call logs in again.
+     */
+    public static void invalidate(String clientEmail, String clientPassword) {
+        Session session = SESSIONS.remove(new Credentials(clientEmail, clientPassword));
+        if (session != null) session.cancelRefresh();
+    }
 
     /**
      * Clears cached tokens (useful for test resets).
      */
     public static void clearTokens() {
-        accessToken = null;
-        refreshToken = null;
+        SESSIONS.values().forEach(Session::cancelRefresh);
+        SESSIONS.clear();
+    }
+
+    /** Credentials with a cached session (token held or being renewed). */
+    public static int getCachedTokenCount() {
+        return SESSIONS.size();
+    }
+
+    /** Number of /auth/login calls made so far. */
+    public static long getLoginCount() {
+        return LOGINS.sum();
+    }
+
+    /** Number of successful /auth/refresh-token calls made so far. */
+    public static long getRefreshCount() {
+        return REFRESHES.sum();
+    }
+
+    /**
+     * Expiry ("exp", epoch millis) of a JWT, decoded without verifying the
+     * signature; -1 when the token carries none.
+     */
+    public static long expiryOf(String jwt) {
+        int firstDot = jwt.indexOf('.');
+        int lastDot = jwt.lastIndexOf('.');
+        if (firstDot < 0 || lastDot <= firstDot) return -1;
+        try {
+            byte[] payload = JWT_DECODER.decode(jwt.substring(firstDot + 1, lastDot));
+            JsonNode exp = JsonUtils.fromJson(payload, JsonNode.class).get("exp");
+            return exp != null && exp.canConvertToLong() ? TimeUnit.SECONDS.toMillis(exp.asLong()) : -1;
+        } catch (RuntimeException e) { // not base64url or not JSON
+            return -1;
+        }
+    }
+
+    /* ****************************
+     *  Session per credential
+     * ****************************/
+
+    private record Credentials(String email, String password) {
+        @Override
+        public String toString() {
+            return email; // never print the password
+        }
+    }
+
+    private static final class Session {
+
+        private final Credentials credentials;
+        private volatile AuthTokens tokens;
+        private CompletableFuture<AuthTokens> inFlight; // guarded by this
+        private ScheduledFuture<?> scheduledRefresh;    // guarded by this
+
+        Session(Credentials credentials) {
+            this.credentials = credentials;
+        }
+
+        /**
+         * Joins the in-flight renewal or becomes its leader. {@code seen} is the
+         * token the caller found unusable; if another caller has replaced it
+         * already, the new one is returned without a second round trip.
+         */
+        AuthTokens renew(AuthTokens seen) {
+            CompletableFuture<AuthTokens> flight;
+            boolean leader = false;
+            synchronized (this) {
+                if (inFlight == null && tokens != seen) {
+                    return tokens;
+                }
+                if (inFlight == null) {
+                    inFlight = new CompletableFuture<>();
+                    leader = true;
+                }
+                flight = inFlight;
+            }
+
+            if (leader) {
+                try {
+                    AuthTokens renewed = fetch(tokens);
+                    synchronized (this) {
+                        tokens = renewed;
+                        inFlight = null;
+                        scheduleRefresh(renewed);
+                    }
+                    flight.complete(renewed);
+                } catch (Throwable e) { // checked ConnectException & co. too, or followers wait forever
+                    synchronized (this) {
+                        inFlight = null;
+                    }
+                    flight.completeExceptionally(e);
+                }
+            }
+
+            try {
+                return flight.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtime) throw runtime;
+                if (cause instanceof Error error) throw error;
+                throw e;
+            }
+        }
+
+        private AuthTokens fetch(AuthTokens current) {
+            AuthTokens refreshed = AuthTokens.refresh(current);
+            if (refreshed != null) {
+                REFRESHES.increment();
+                return refreshed;
+            }
+            // No refresh token, or it was revoked/expired server-side: fall back to login
+            LOGINS.increment();
+            return AuthTokens.login(credentials.email(), credentials.password());
+        }
+
+        /** Called with the lock held. */
+        private void scheduleRefresh(AuthTokens renewed) {
+            if (scheduledRefresh != null) scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+            long dueAt = renewed.refreshDueAt();
+            if (dueAt < 0) return; // opaque token: refreshed on demand only
+
+            long delay = Math.max(0, dueAt - System.currentTimeMillis());
+            // The timer thread only hands off; the HTTP call runs on its own virtual thread
+            scheduledRefresh = REFRESHER.schedule(() -> Thread.startVirtualThread(this::refreshInBackground),
+                    delay, TimeUnit.MILLISECONDS);
+        }
+
+        private void refreshInBackground() {
+            if (SESSIONS.get(credentials) != this) return; // invalidated meanwhile
+            try {
+                renew(tokens);
+            } catch (RuntimeException | AssertionError e) {
+                // The next caller retries on demand once the token is no longer usable
+            }
+        }
+
+        synchronized void cancelRefresh() {
+            if (scheduledRefresh != null) scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
     }
 }
@@ -0,0 +1,255 @@
+package PlatziFakeStore.auth;
+
+import PlatziFakeStore.clients.UsersClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.models.request.CreateUserRequest;
+import PlatziFakeStore.models.request.LoginRequest;
+import PlatziFakeStore.models.response.Users;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TokenPool
+ * --------------------------------------------------
+ * - N distinct identities for authenticated load: each user is created
+ *   through UsersClient.createUser and logged in exactly once
+ * - Virtual users pick a token by index (or by their thread id); the hot
+ *   path is an array index and a volatile read, no locks, no shared counters
+ * - A background sweep rotates tokens before they expire (refresh token,
+ *   else a new login), auth.pool.parallelism at a time, so tokens issued
+ *   together do not stampede /auth/refresh-token together
+ * - A token found expired (rotation failed or fell behind) is renewed by
+ *   the first caller to notice; the others keep using the one they have
+ *
+ * Usage:
+ *   try (TokenPool pool = TokenPool.provision(1_000)) {
+ *       scenario.step(APIResources.PROFILE, () -> authClient.getProfile(pool.token()));
+ *   }
+ */
+public final class TokenPool implements AutoCloseable {
+
+    private static final String AVATAR = "https://i.imgur.com/LDOO4Qs.jpg";
+
+    private final Identity[] identities;
+    private final Semaphore rotations;
+    private final ScheduledExecutorService sweeper;
+
+    private final LongAdder logins = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder rotationFailures = new LongAdder();
+
+    private TokenPool(List<Identity> identities, int parallelism) {
+        if (identities.isEmpty()) throw new IllegalArgumentException("TokenPool needs at least one identity");
+        this.identities = identities.toArray(new Identity[0]);
+        this.rotations = new Semaphore(parallelism);
+
+        long sweepMillis = ConfigManager.getAuthPoolSweepMillis();
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("token-pool-rotator").factory());
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Pool of auth.pool.size fresh users. */
+    public static TokenPool fromConfig() {
+        return provision(ConfigManager.getAuthPoolSize());
+    }
+
+    /** Creates {@code size} users and logs each of them in. */
+    public static TokenPool provision(int size) {
+        String runTag = Long.toString(System.currentTimeMillis(), 36);
+        List<LoginRequest> credentials = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            credentials.add(new LoginRequest("vu-" + runTag + "-" + i + "@mail.com", "changeme" + i));
+        }
+
+        UsersClient usersClient = new UsersClient();
+        List<Future<Users>> created = runAll(size, ConfigManager.getAuthPoolParallelism(), i -> {
+            LoginRequest login = credentials.get(i);
+            CreateUserRequest user = new CreateUserRequest("Virtual User " + i, login.getEmail(), login.getPassword(), AVATAR);
+            return usersClient.createUser(user).as(Users.class);
+        });
+
+        List<Integer> userIds = new ArrayList<>(size);
+        for (Future<Users> user : created) userIds.add(join(user).getId());
+        return login(credentials, userIds);
+    }
+
+    /** Pool over existing accounts (e.g. seeded users); user ids are unknown (-1). */
+    public static TokenPool of(List<LoginRequest> credentials) {
+        List<Integer> userIds = new ArrayList<>(credentials.size());
+        credentials.forEach(c -> userIds.add(-1));
+        return login(credentials, userIds);
+    }
+
+    private static TokenPool login(List<LoginRequest> credentials, List<Integer> userIds) {
+        int parallelism = ConfigManager.getAuthPoolParallelism();
+        List<Future<AuthTokens>> tokens = runAll(credentials.size(), parallelism,
+                i -> AuthTokens.login(credentials.get(i).getEmail(), credentials.get(i).getPassword()));
+
+        List<Identity> identities = new ArrayList<>(credentials.size());
+        for (int i = 0; i < credentials.size(); i++) {
+            LoginRequest login = credentials.get(i);
+            identities.add(new Identity(userIds.get(i), login.getEmail(), login.getPassword(), join(tokens.get(i))));
+        }
+        TokenPool pool = new TokenPool(identities, parallelism);
+        pool.logins.add(identities.size());
+        return pool;
+    }
+
+    /* ****************************
+     *  Hand-out
+     * ****************************/
+
+    /** Bearer token of identity {@code index mod size}; stable per virtual user. */
+    public String token(int index) {
+        Identity identity = identities[Math.floorMod(index, identities.length)];
+        AuthTokens tokens = identity.tokens;
+        if (!tokens.isUsable(System.currentTimeMillis()) && identity.rotating.compareAndSet(false, true)) {
+            rotate(identity); // rare: the sweep fell behind; renew inline rather than send a dead token
+            tokens = identity.tokens;
+        }
+        return tokens.accessToken;
+    }
+
+    /** Token for the calling thread: each LoadEngine virtual user keeps one identity. */
+    public String token() {
+        return token((int) Thread.currentThread().threadId());
+    }
+
+    public int size() {
+        return identities.length;
+    }
+
+    /** Ids of the provisioned users, in index order (-1 for pools built with of()). */
+    public List<Integer> getUserIds() {
+        List<Integer> ids = new ArrayList<>(identities.length);
+        for (Identity identity : identities) ids.add(identity.userId);
+        return ids;
+    }
+
+    public long getLoginCount() {
+        return logins.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    public long getRotationFailures() {
+        return rotationFailures.sum();
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "TokenPool[identities: " + identities.length + "; logins: " + getLoginCount()
+                + "; refreshes: " + getRefreshCount() + "; rotation failures: " + getRotationFailures() + "]";
+    }
+
+    /* ****************************
+     *  Rotation
+     * ****************************/
+
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        for (Identity identity : identities) {
+            long dueAt = identity.tokens.refreshDueAt();
+            if (dueAt >= 0 && now >= dueAt && identity.rotating.compareAndSet(false, true)) {
+                Thread.startVirtualThread(() -> {
+                    rotations.acquireUninterruptibly();
+                    try {
+                        rotate(identity);
+                    } finally {
+                        rotations.release();
+                    }
+                });
+            }
+        }
+    }
+
+    /** Caller owns identity.rotating. */
+    private void rotate(Identity identity) {
+        try {
+            AuthTokens refreshed = AuthTokens.refresh(identity.tokens);
+            if (refreshed != null) {
+                refreshes.increment();
+                identity.tokens = refreshed;
+            } else {
+                logins.increment();
+                identity.tokens = AuthTokens.login(identity.email, identity.password);
+            }
+        } catch (RuntimeException | AssertionError e) {
+            rotationFailures.increment(); // retried on the next sweep
+        } finally {
+            identity.rotating.set(false);
+        }
+    }
+
+    private static final class Identity {
+        final int userId;
+        final String email;
+        final String password;
+        final AtomicBoolean rotating = new AtomicBoolean();
+        volatile AuthTokens tokens;
+
+        Identity(int userId, String email, String password, AuthTokens tokens) {
+            this.userId = userId;
+            this.email = email;
+            this.password = password;
+            this.tokens = tokens;
+        }
+    }
+
+    /* ****************************
+     *  Provisioning helpers
+     * ****************************/
+
+    private interface IndexedCall<T> {
+        T call(int index);
+    }
+
+    /** Runs call(0..count-1) on virtual threads, at most {@code parallelism} at a time. */
+    private static <T> List<Future<T>> runAll(int count, int parallelism, IndexedCall<T> call) {
+        Semaphore slots = new Semaphore(parallelism);
+        List<Future<T>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    slots.acquire();
+                    try {
+                        return call.call(index);
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+        }
+        return futures;
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("TokenPool provisioning failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("TokenPool provisioning interrupted", e);
+        }
+    }
+}
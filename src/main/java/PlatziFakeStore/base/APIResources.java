@@ -1,52 +1,69 @@
 package PlatziFakeStore.base;
 
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Method;
+import io.restassured.specification.FilterableRequestSpecification;
+
+import java.util.Map;
+import java.util.Optional;
+
 /**
  * APIResources
  * -------------
  * Central registry of EscuelaJS API endpoints.
- * Each enum constant represents a specific endpoint.
- * Includes helpers for path params and query params construction.
+ * Each enum constant represents a specific endpoint (HTTP method + path).
+ * Each path is parsed once into a UriTemplate, so expanding path params
+ * costs no regex work per request. Also resolves a concrete request back
+ * to its endpoint for metrics.
  */
 public enum APIResources {
     // ------------------ Products ------------------
-    CREATE_PRODUCT("/products"),
-    GET_ALL_PRODUCTS("/products"),
-    GET_PRODUCT_BY_ID("/products/{id}"),
-    GET_PRODUCT_BY_SLUG("/products/slug/{slug}"),
-    UPDATE_PRODUCT("/products/{id}"),
-    DELETE_PRODUCT("/products/{id}"),
-    GET_PRODUCTS_PAGINATED("/products?offset={offset}&limit={limit}"),
-    GET_RELATED_BY_ID("/products/{id}/related"),
-    GET_RELATED_BY_SLUG("/products/slug/{slug}/related"),
+    CREATE_PRODUCT(Method.POST, "/products"),
+    GET_ALL_PRODUCTS(Method.GET, "/products"),
+    GET_PRODUCT_BY_ID(Method.GET, "/products/{id}"),
+    GET_PRODUCT_BY_SLUG(Method.GET, "/products/slug/{slug}"),
+    UPDATE_PRODUCT(Method.PUT, "/products/{id}"),
+    DELETE_PRODUCT(Method.DELETE, "/products/{id}"),
+    GET_PRODUCTS_PAGINATED(Method.GET, "/products?offset={offset}&limit={limit}"),
+    GET_RELATED_BY_ID(Method.GET, "/products/{id}/related"),
+    GET_RELATED_BY_SLUG(Method.GET, "/products/slug/{slug}/related"),
 
     // ------------------ Categories ------------------
-    GET_ALL_CATEGORIES("/categories"),
-    GET_CATEGORY_BY_ID("/categories/{id}"),
-    GET_CATEGORY_BY_SLUG("/categories/slug/{slug}"),
-    CREATE_CATEGORY("/categories/"),
-    UPDATE_CATEGORY("/categories/{id}"),
-    DELETE_CATEGORY("/categories/{id}"),
+    GET_ALL_CATEGORIES(Method.GET, "/categories"),
+    GET_CATEGORY_BY_ID(Method.GET, "/categories/{id}"),
+    GET_CATEGORY_BY_SLUG(Method.GET, "/categories/slug/{slug}"),
+    GET_PRODUCTS_BY_CATEGORY(Method.GET, "/categories/{id}/products"),
+    CREATE_CATEGORY(Method.POST, "/categories/"),
+    UPDATE_CATEGORY(Method.PUT, "/categories/{id}"),
+    DELETE_CATEGORY(Method.DELETE, "/categories/{id}"),
 
     // ------------------ Users ------------------
-    GET_ALL_USERS("/users/"),
-    GET_USER_BY_ID("/users/{id}"),
-    CREATE_USER("/users/"),
-    UPDATE_USER("/users/{id}"),
-    DELETE_USER("/users/{id}"),
+    GET_ALL_USERS(Method.GET, "/users/"),
+    GET_USER_BY_ID(Method.GET, "/users/{id}"),
+    CREATE_USER(Method.POST, "/users/"),
+    UPDATE_USER(Method.PUT, "/users/{id}"),
+    DELETE_USER(Method.DELETE, "/users/{id}"),
 
     // ------------------ Authentication ------------------
-    LOGIN("/auth/login"),
-    REFRESH_TOKEN("/auth/refresh-token"),
-    PROFILE("/auth/profile"),
+    LOGIN(Method.POST, "/auth/login"),
+    REFRESH_TOKEN(Method.POST, "/auth/refresh-token"),
+    PROFILE(Method.GET, "/auth/profile"),
 
     // ------------------ Files / Upload ------------------
-    UPLOAD_FILE("/files/upload"),
-    GET_FILE("/files/{id}");
+    UPLOAD_FILE(Method.POST, "/files/upload"),
+    GET_FILE(Method.GET, "/files/{id}");
 
+    private static final APIResources[] VALUES = values();
+    private static final String RESOLVED_ENDPOINT = APIResources.class.getName() + ".resolved";
+
+    private final Method method;
     private final String resource;
+    private final UriTemplate template;
 
-    APIResources(String resource) {
+    APIResources(Method method, String resource) {
+        this.method = method;
         this.resource = resource;
+        this.template = UriTemplate.parse(resource);
     }
 
     /** Returns the raw endpoint string as defined in Swagger. */
@@ -54,17 +71,33 @@ public enum APIResources {
         return resource;
     }
 
+    /** HTTP method this endpoint is called with. */
+    public Method getMethod() {
+        return method;
+    }
+
+    /** Parsed form of the endpoint path. */
+    public UriTemplate getTemplate() {
+        return template;
+    }
+
     /**
-     * Injects path parameter values into the endpoint definition.
+     * Injects path parameter values, in order, into the endpoint definition.
+     * Values are URL-encoded.
      * Example:
      *   GET_PRODUCT_BY_ID.withParams("123") -> "/products/123"
      */
-    public String withParams(String... params) {
-        String formatted = resource;
-        for (String param : params) {
-            formatted = formatted.replaceFirst("\\{[^/]+}", param);
-        }
-        return formatted;
+    public String withParams(Object... params) {
+        return template.expand(params);
+    }
+
+    /**
+     * Injects path parameter values by name.
+     * Example:
+     *   GET_PRODUCTS_PAGINATED.withParams(Map.of("offset", 0, "limit", 10)) -> "/products?offset=0&limit=10"
+     */
+    public String withParams(Map<String, ?> params) {
+        return template.expand(params);
     }
 
     /**
@@ -85,4 +118,59 @@ public enum APIResources {
         }
         return sb.toString();
     }
+
+    /**
+     * Endpoint of a request seen by a filter, resolved once per request: the
+     * first filter to ask stores the result (null included) in the
+     * FilterContext, and the rest of the chain reads it back.
+     */
+    public static APIResources resolve(FilterableRequestSpecification requestSpec, FilterContext ctx) {
+        Optional<APIResources> resolved = ctx.getValue(RESOLVED_ENDPOINT);
+        if (resolved == null) {
+            resolved = Optional.ofNullable(resolve(requestSpec));
+            ctx.setValue(RESOLVED_ENDPOINT, resolved);
+        }
+        return resolved.orElse(null);
+    }
+
+    /**
+     * Endpoint of a request about to be sent. Rest Assured strips the query
+     * string from the user-defined path and keeps it only in the URI, so it
+     * is put back: "/products?offset=0&limit=10" is GET_PRODUCTS_PAGINATED,
+     * not GET_ALL_PRODUCTS.
+     */
+    public static APIResources resolve(FilterableRequestSpecification requestSpec) {
+        String path = requestSpec.getUserDefinedPath();
+        String uri = requestSpec.getURI();
+        int query = uri.indexOf('?');
+        if (query >= 0 && path.indexOf('?') < 0) path += uri.substring(query);
+        return resolve(requestSpec.getMethod(), path);
+    }
+
+    /**
+     * Finds the endpoint a request was sent to, from its method and either
+     * the template ("/products/{id}") or the expanded path ("/products/5").
+     * Literal segments outrank placeholders; returns null for unknown routes.
+     * Example:
+     *   resolve("GET", "/products/slug/chair") -> GET_PRODUCT_BY_SLUG
+     */
+    public static APIResources resolve(String method, String path) {
+        int query = path.indexOf('?');
+        boolean requestHasQuery = query >= 0;
+        String[] requestSegments = UriTemplate.splitPath(requestHasQuery ? path.substring(0, query) : path);
+
+        APIResources best = null;
+        int bestScore = -1;
+        for (APIResources candidate : VALUES) {
+            if (!candidate.method.name().equalsIgnoreCase(method)) continue;
+            int score = candidate.template.matchScore(requestSegments);
+            if (score < 0) continue;
+            score = score * 2 + (candidate.template.hasQuery() == requestHasQuery ? 1 : 0);
+            if (score > bestScore) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
 }
@@ -0,0 +1,101 @@
+package PlatziFakeStore.base;
+
+import PlatziFakeStore.utils.JsonArrayReader;
+import PlatziFakeStore.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JavaType;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * ApiResponse
+ * --------------------------------------------------
+ * - Backend-neutral, fully buffered response returned by the async clients
+ * - Same role as Rest Assured's Response: status, headers, body and
+ *   mapping onto the response POJOs (Product, Users, Category)
+ */
+public final class ApiResponse {
+
+    private final int statusCode;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final long timeNanos;
+
+    public ApiResponse(int statusCode, Map<String, List<String>> headers, byte[] body, long timeNanos) {
+        Map<String, List<String>> normalized = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        normalized.putAll(headers);
+        this.statusCode = statusCode;
+        this.headers = Collections.unmodifiableMap(normalized);
+        this.body = body;
+        this.timeNanos = timeNanos;
+    }
+
+    /** Adapts a Rest Assured response (REST_ASSURED backend). */
+    public static ApiResponse from(Response response) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Header header : response.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+        return new ApiResponse(response.getStatusCode(), headers, response.asByteArray(),
+                response.getTimeIn(TimeUnit.NANOSECONDS));
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public String getContentType() {
+        String contentType = getHeader("Content-Type");
+        return contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+    }
+
+    /** Round-trip time in milliseconds, like Response.time(). */
+    public long time() {
+        return timeNanos / 1_000_000;
+    }
+
+    public byte[] asByteArray() {
+        return body;
+    }
+
+    public String asString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    public <T> T as(Class<T> type) {
+        return JsonUtils.fromJson(body, type);
+    }
+
+    public <T> List<T> asList(Class<T> elementType) {
+        JavaType listType = JsonUtils.mapper().getTypeFactory().constructCollectionType(List.class, elementType);
+        try {
+            return JsonUtils.mapper().readValue(body, listType);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize list of " + elementType.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Streams the elements of a JSON array body without building the list. */
+    public <T> Stream<T> stream(Class<T> elementType) {
+        return JsonArrayReader.of(body, elementType).stream();
+    }
+}
@@ -0,0 +1,181 @@
+package PlatziFakeStore.base;
+
+import PlatziFakeStore.cache.ResponseCache;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.fixtures.EntityLedger;
+import PlatziFakeStore.metrics.ApiCallEvent;
+import PlatziFakeStore.metrics.CurrentTest;
+import PlatziFakeStore.metrics.EndpointMetrics;
+import PlatziFakeStore.metrics.StatusClass;
+import PlatziFakeStore.utils.JsonUtils;
+import io.restassured.response.Response;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * AsyncBaseAPI
+ * --------------------------------------------------
+ * - Non-blocking counterpart of BaseAPI built on java.net.http.HttpClient
+ * - One shared client: connections are multiplexed and no thread is
+ *   parked per in-flight request, so a single JVM can keep far more
+ *   requests outstanding than with the blocking Apache client
+ * - Same base URL, timeouts and EndpointMetrics recording as BaseAPI;
+ *   created entities are written to the EntityLedger like LedgerFilter does
+ * - Emits an ApiCallEvent per call, attributed to the test that sent it
+ * - expect(...) mirrors the BaseAPI response specifications
+ * - Successful writes invalidate ResponseCache, so the blocking clients
+ *   do not serve listings this backend has changed
+ * - The shared client is rebuilt after a config reload (base.url, timeouts)
+ *
+ * Not supported on this backend — requests bypass the Rest Assured filter
+ * chain: cache reads and request coalescing, ExchangeCapture, the
+ * ResilienceFilter (retries, hedging, circuit breaker), TrafficRecorder
+ * and PhaseMetrics phase timing. Use ClientBackend.REST_ASSURED when a
+ * test depends on any of them.
+ *
+ * Clients should NOT extend this class — use composition.
+ */
+public final class AsyncBaseAPI {
+
+    private static final Executor VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static volatile HttpClient httpClient;
+
+    static {
+        // The connect timeout is fixed when the client is built
+        ConfigManager.addReloadListener(snapshot -> reset());
+    }
+
+    private AsyncBaseAPI() {
+        // Prevent instantiation
+    }
+
+    public static HttpClient getHttpClient() {
+        HttpClient client = httpClient;
+        if (client == null) {
+            synchronized (AsyncBaseAPI.class) {
+                client = httpClient;
+                if (client == null) {
+                    client = HttpClient.newBuilder()
+                            .connectTimeout(Duration.ofMillis(ConfigManager.getConnectionTimeout()))
+                            .executor(VIRTUAL_THREADS)
+                            .build();
+                    httpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /* ****************************
+     *  Requests
+     * ****************************/
+
+    public static CompletableFuture<ApiResponse> send(APIResources endpoint) {
+        return send(endpoint, Map.of(), null);
+    }
+
+    public static CompletableFuture<ApiResponse> send(APIResources endpoint, Map<String, String> pathParams) {
+        return send(endpoint, pathParams, null);
+    }
+
+    /** Sends {@code body} (serialized as JSON when not null) to the endpoint with its path params expanded. */
+    public static CompletableFuture<ApiResponse> send(APIResources endpoint, Map<String, String> pathParams, Object body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(ConfigManager.getBaseUrl() + endpoint.withParams(pathParams)))
+                .timeout(Duration.ofMillis(ConfigManager.getReadTimeout()))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(endpoint.getMethod().name(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(JsonUtils.toJsonBytes(body)))
+                .build();
+
+        ApiCallEvent event = new ApiCallEvent();
+        String testName = CurrentTest.get();
+        event.begin();
+        EndpointMetrics.callStarted(endpoint);
+        long start = System.nanoTime();
+        return getHttpClient().sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, failure) -> {
+                    long elapsed = System.nanoTime() - start;
+                    EndpointMetrics.callFinished(endpoint);
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.endpoint = endpoint.name();
+                        event.method = request.method();
+                        event.uri = request.uri().toString();
+                        event.bytesOut = request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+                        event.test = testName;
+                        if (failure != null) {
+                            event.error = failure.toString();
+                        } else {
+                            event.status = response.statusCode();
+                            event.bytesIn = response.body().length;
+                        }
+                        event.commit();
+                    }
+                    if (failure != null) {
+                        EndpointMetrics.record(endpoint, StatusClass.NETWORK_ERROR, elapsed);
+                        throw failure instanceof RuntimeException ? (RuntimeException) failure : new RuntimeException(failure);
+                    }
+                    EndpointMetrics.record(endpoint, StatusClass.of(response.statusCode()), elapsed);
+                    if (!"GET".equals(request.method()) && response.statusCode() < 400) {
+                        ResponseCache.invalidate(endpoint);
+                    }
+                    EntityLedger.observe(endpoint, response.statusCode(), pathParams, response::body);
+                    return new ApiResponse(response.statusCode(), response.headers().map(), response.body(), elapsed);
+                });
+    }
+
+    /**
+     * REST_ASSURED backend: runs a blocking client call on its own virtual
+     * thread and adapts the result. Assertion failures complete the future exceptionally.
+     */
+    public static CompletableFuture<ApiResponse> blocking(Supplier<Response> call) {
+        return CompletableFuture.supplyAsync(CurrentTest.carryOver(() -> ApiResponse.from(call.get())), VIRTUAL_THREADS);
+    }
+
+    /* ****************************
+     *  Response expectations
+     * ****************************/
+
+    /**
+     * Same checks as BaseAPI's response specs: status code, JSON content
+     * type and response time below timeout.response. Fails with AssertionError.
+     */
+    public static Function<ApiResponse, ApiResponse> expect(int statusCode) {
+        long maxResponseTime = ConfigManager.getMaxResponseTimeout();
+        return response -> {
+            if (response.getStatusCode() != statusCode) {
+                throw new AssertionError("Expected status code <" + statusCode + "> but was <" + response.getStatusCode()
+                        + ">. Body: " + response.asString());
+            }
+            if (!response.getContentType().startsWith("application/json")) {
+                throw new AssertionError("Expected content type JSON but was <" + response.getContentType() + ">");
+            }
+            if (response.time() >= maxResponseTime) {
+                throw new AssertionError("Expected response time < " + maxResponseTime + " ms but was " + response.time() + " ms");
+            }
+            return response;
+        };
+    }
+
+    /* ****************************
+     *  Utility
+     * ****************************/
+
+    /** Drops the shared client so the next request picks up new timeouts. */
+    public static synchronized void reset() {
+        httpClient = null;
+    }
+}
@@ -1,7 +1,16 @@
 package PlatziFakeStore.base;
 
 import PlatziFakeStore.auth.TokenManager;
+import PlatziFakeStore.cache.RequestCoalescer;
+import PlatziFakeStore.capture.CaptureFilter;
+import PlatziFakeStore.cache.ResponseCache;
 import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.config.ConfigSnapshot;
+import PlatziFakeStore.fixtures.LedgerFilter;
+import PlatziFakeStore.metrics.TimingFilter;
+import PlatziFakeStore.replay.ReplayMode;
+import PlatziFakeStore.replay.TrafficRecorder;
+import PlatziFakeStore.resilience.ResilienceFilter;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.config.HttpClientConfig;
@@ -12,63 +21,112 @@ import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.restassured.RestAssured.with;
 import static org.hamcrest.Matchers.lessThan;
 
 /**
  * BaseAPI centralizes Rest Assured setup:
- * - Thread-safe RequestSpecification caching
+ * - Thread-safe RequestSpecification caching (per thread) and ResponseSpecification caching (shared)
  * - Common ResponseSpecifications for standard status codes
- * - Support for authorized, custom-header, path-parameter, and query-parameter requests
- * - Configurable timeouts and logging
+ * - Support for authorized (TokenManager), custom-header, path-parameter, and query-parameter requests
+ * - Configurable timeouts and logging; specs are rebuilt after a config reload
+ * - Shared keep-alive connection pool across threads (ConnectionPool)
+ * - Per-endpoint latency recording (TimingFilter -> EndpointMetrics)
+ * - Conditional-GET response cache for read-mostly endpoints (ResponseCache)
+ * - Optional single flight for concurrent identical GETs (RequestCoalescer)
+ * - Created entity ids written to the EntityLedger for cleanup (LedgerFilter)
+ * - Hedged GETs and budgeted retries of idempotent calls (ResilienceFilter)
+ * - Recent exchanges kept per thread and dumped on failure (CaptureFilter)
+ * - Every exchange appended to a replayable archive in record mode (TrafficRecorder)
  *
  * Clients should NOT extend this class — use composition.
  */
 public class BaseAPI {
 
     private static final ThreadLocal<RequestSpecification> threadLocalRequestSpec = new ThreadLocal<>();
+    private static final ThreadLocal<ConfigSnapshot> threadLocalSpecConfig = new ThreadLocal<>();
 
-    // Cached ResponseSpecifications
-    private static ResponseSpecification okSpec;
-    private static ResponseSpecification createdSpec;
-    private static ResponseSpecification badRequestSpec;
-    private static ResponseSpecification unauthorizedSpec;
-    private static ResponseSpecification forbiddenSpec;
-    private static ResponseSpecification notFoundSpec;
-    private static ResponseSpecification serverErrorSpec;
+    // Cached ResponseSpecifications by status code; built once and only read afterwards,
+    // so one instance is shared by every thread
+    private static final Map<Integer, ResponseSpecification> responseSpecs = new ConcurrentHashMap<>();
+
+    static {
+        // Timeouts and logging flags may change on a config reload
+        ConfigManager.addReloadListener(snapshot -> clearResponseSpecs());
+    }
 
     /* ****************************
      *  Request Specification
      * ****************************/
 
     public static RequestSpecification getRequestSpec() {
-        if (threadLocalRequestSpec.get() == null) {
+        ConfigSnapshot config = ConfigManager.snapshot();
+        if (threadLocalRequestSpec.get() == null || threadLocalSpecConfig.get() != config) {
+            HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                    .setParam("http.connection.timeout", ConfigManager.getConnectionTimeout())
+                    .setParam("http.socket.timeout", ConfigManager.getReadTimeout());
+
+            if (ConfigManager.isPoolEnabled()) {
+                httpClientConfig = httpClientConfig.httpClientFactory(ConnectionPool.httpClientFactory())
+                        .setParam("http.conn-manager.timeout", ConfigManager.getPoolLeaseTimeoutMillis());
+            }
+
             RequestSpecBuilder builder = new RequestSpecBuilder()
                     .setBaseUri(ConfigManager.getBaseUrl())
                    .setContentType(ContentType.JSON)
-                    .setConfig(RestAssuredConfig.config().httpClient(
-                            HttpClientConfig.httpClientConfig()
-                                    .setParam("http.connection.timeout", ConfigManager.getConnectionTimeout())
-                                    .setParam("http.socket.timeout", ConfigManager.getReadTimeout())
-                    ));
+                    .setConfig(RestAssuredConfig.config().httpClient(httpClientConfig));
 
             if (ConfigManager.isRequestLoggingEnabled()) {
                 builder.log(LogDetail.ALL);
             }
 
+            if (ConfigManager.isCacheEnabled()) {
+                builder.addFilter(ResponseCache.INSTANCE);
+            }
+
+            if (ConfigManager.isCoalescingEnabled()) {
+                builder.addFilter(RequestCoalescer.INSTANCE);
+            }
+
+            if (ConfigManager.isMetricsEnabled()) {
+                builder.addFilter(TimingFilter.INSTANCE);
+            }
+
+            if (ConfigManager.isCaptureEnabled()) {
+                builder.addFilter(CaptureFilter.INSTANCE);
+            }
+
+            if (ConfigManager.getReplayMode() == ReplayMode.RECORD) {
+                builder.addFilter(TrafficRecorder.INSTANCE);
+            }
+
+            if (ConfigManager.isLedgerEnabled()) {
+                builder.addFilter(LedgerFilter.INSTANCE);
+            }
+
+            if (ConfigManager.isResilienceEnabled()) {
+                builder.addFilter(ResilienceFilter.INSTANCE);
+            }
+
             threadLocalRequestSpec.set(builder.build());
+            threadLocalSpecConfig.set(config);
         }
         return threadLocalRequestSpec.get();
     }
 
     /** Generic request with Authorization header */
-    /*public static RequestSpecification getAuthorizedRequestSpec(String clientEmail, String clientPassword) {
+    public static RequestSpecification getAuthorizedRequestSpec(String clientEmail, String clientPassword) {
         return with()
                 .spec(getRequestSpec())
                 .header("Authorization", "Bearer " + TokenManager.getAccessToken(clientEmail, clientPassword));
-    }*/
+    }
 
+    /** Authorized request as the configured default user (auth.email) */
+    public static RequestSpecification getAuthorizedRequestSpec() {
+        return getAuthorizedRequestSpec(ConfigManager.getAuthEmail(), ConfigManager.getAuthPassword());
+    }
 
     /** Request with custom headers */
     public static RequestSpecification withHeaders(Map<String, String> headers) {
@@ -89,38 +147,35 @@ public class BaseAPI {
      * ****************************/
 
     public static ResponseSpecification ok200() {
-        if (okSpec == null) okSpec = buildResponseSpec(200);
-        return okSpec;
+        return responseSpec(200);
     }
 
     public static ResponseSpecification created201() {
-        if (createdSpec == null) createdSpec = buildResponseSpec(201);
-        return createdSpec;
+        return responseSpec(201);
     }
 
     public static ResponseSpecification badRequest400() {
-        if (badRequestSpec == null) badRequestSpec = buildResponseSpec(400);
-        return badRequestSpec;
+        return responseSpec(400);
     }
 
     public static ResponseSpecification unauthorized401() {
-        if (unauthorizedSpec == null) unauthorizedSpec = buildResponseSpec(401);
-        return unauthorizedSpec;
+        return responseSpec(401);
     }
 
     public static ResponseSpecification forbidden403() {
-        if (forbiddenSpec == null) forbiddenSpec = buildResponseSpec(403);
-        return forbiddenSpec;
+        return responseSpec(403);
     }
 
     public static ResponseSpecification notFound404() {
-        if (notFoundSpec == null) notFoundSpec = buildResponseSpec(404);
-        return notFoundSpec;
+        return responseSpec(404);
     }
 
     public static ResponseSpecification serverError500() {
-        if (serverErrorSpec == null) serverErrorSpec = buildResponseSpec(500);
-        return serverErrorSpec;
+        return responseSpec(500);
+    }
+
+    private static ResponseSpecification responseSpec(int statusCode) {
+        return responseSpecs.computeIfAbsent(statusCode, BaseAPI::buildResponseSpec);
     }
 
     private static ResponseSpecification buildResponseSpec(int statusCode) {
@@ -140,12 +195,11 @@ public class BaseAPI {
      * ****************************/
     public static void resetSpecs() {
         threadLocalRequestSpec.remove();
-        okSpec = null;
-        createdSpec = null;
-        badRequestSpec = null;
-        unauthorizedSpec = null;
-        forbiddenSpec = null;
-        notFoundSpec = null;
-        serverErrorSpec = null;
+        threadLocalSpecConfig.remove();
+        clearResponseSpecs();
+    }
+
+    private static void clearResponseSpecs() {
+        responseSpecs.clear();
     }
 }
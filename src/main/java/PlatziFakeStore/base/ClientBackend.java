@@ -0,0 +1,29 @@
+package PlatziFakeStore.base;
+
+/**
+ * ClientBackend
+ * --------------------------------------------------
+ * - HTTP stack used by the async clients (PlatziFakeStore.clients.async)
+ * - REST_ASSURED: the blocking Rest Assured clients, one virtual thread per call
+ * - JAVA_HTTP: non-blocking java.net.http.HttpClient via AsyncBaseAPI;
+ *   skips the Rest Assured filters (see AsyncBaseAPI for what that drops)
+ *
+ * Selected with client.backend=restassured | java-http
+ */
+public enum ClientBackend {
+    REST_ASSURED("restassured"),
+    JAVA_HTTP("java-http");
+
+    private final String key;
+
+    ClientBackend(String key) {
+        this.key = key;
+    }
+
+    public static ClientBackend fromKey(String key) {
+        for (ClientBackend backend : values()) {
+            if (backend.key.equalsIgnoreCase(key.trim())) return backend;
+        }
+        throw new RuntimeException("Unknown client.backend: " + key + " (expected restassured or java-http)");
+    }
+}
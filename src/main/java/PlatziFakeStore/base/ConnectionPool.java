@@ -0,0 +1,280 @@
+package PlatziFakeStore.base;
+
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.metrics.HttpPhaseTimers;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConnectionPool
+ * --------------------------------------------------
+ * - One keep-alive connection pool shared by every Rest Assured request
+ *   (all threads), so parallel runs reuse TCP/TLS connections instead of
+ *   handshaking per request
+ * - Max-total and per-route limits; the base URL route can be sized
+ *   separately (pool.max.base.route)
+ * - Keep-alive: honours the server's Keep-Alive header, else pool.keepalive.ms
+ * - Background eviction of expired and idle connections
+ * - Response bodies are buffered as soon as the head arrives, so the
+ *   connection goes back to the pool when the exchange completes,
+ *   whether or not anyone reads the body
+ * - A request waits at most pool.lease.timeout.ms for a free connection
+ * - Pool stats (leased / available / pending / max) for tuning
+ * - Per-phase timings (DNS, connect, TLS, write, first byte, download)
+ *   through HttpPhaseTimers when metrics.phases.enabled=true
+ *
+ * Rest Assured mutates interceptors and params on the HttpClient it is
+ * given, so each request gets its own lightweight DefaultHttpClient;
+ * only the connection manager (the sockets) is shared.
+ *
+ * httpcore 4.x waits for a free connection inside a synchronized block,
+ * which pins virtual-thread carriers (LoadEngine) until nothing can run.
+ * Leases are therefore admitted by semaphores sized to the pool limits,
+ * so a waiting caller parks before it reaches the pool.
+ *
+ * Usage:
+ *   HttpClientConfig.httpClientConfig().httpClientFactory(ConnectionPool.httpClientFactory())
+ *   System.out.println(ConnectionPool.stats());
+ */
+@SuppressWarnings("deprecation") // Rest Assured 5 still requires an AbstractHttpClient
+public final class ConnectionPool {
+
+    private static volatile AdmissionControlledConnectionManager connectionManager;
+    private static ScheduledExecutorService evictor;
+
+    private ConnectionPool() {
+        // Prevent instantiation
+    }
+
+    /** Factory for HttpClientConfig: a fresh client per request over the shared pool. */
+    public static HttpClientConfig.HttpClientFactory httpClientFactory() {
+        return ConnectionPool::newHttpClient;
+    }
+
+    public static DefaultHttpClient newHttpClient() {
+        DefaultHttpClient client = ConfigManager.isPhaseMetricsEnabled()
+                ? new DefaultHttpClient(connectionManager()) {
+                    @Override
+                    protected HttpRequestExecutor createRequestExecutor() {
+                        return HttpPhaseTimers.requestExecutor();
+                    }
+                }
+                : new DefaultHttpClient(connectionManager());
+        client.setKeepAliveStrategy(keepAliveStrategy(ConfigManager.getPoolKeepAliveMillis()));
+        client.addResponseInterceptor(ConnectionPool::bufferEntity);
+        return client;
+    }
+
+    /* ****************************
+     *  Stats
+     * ****************************/
+
+    /** Totals across every route; pending includes callers waiting for admission. */
+    public static PoolStats stats() {
+        AdmissionControlledConnectionManager manager = connectionManager();
+        PoolStats stats = manager.getTotalStats();
+        return new PoolStats(stats.getLeased(), stats.getPending() + manager.waiting(), stats.getAvailable(), stats.getMax());
+    }
+
+    /** Stats for the route to base.url. */
+    public static PoolStats baseRouteStats() {
+        return routeStats(ConfigManager.getBaseUrl());
+    }
+
+    /** Stats for the route to {@code url} (scheme, host and port; the path is ignored). */
+    public static PoolStats routeStats(String url) {
+        AdmissionControlledConnectionManager manager = connectionManager();
+        HttpRoute route = route(url);
+        PoolStats stats = manager.getStats(route);
+        return new PoolStats(stats.getLeased(), stats.getPending() + manager.waiting(route), stats.getAvailable(), stats.getMax());
+    }
+
+    /* ****************************
+     *  Lifecycle
+     * ****************************/
+
+    /** Closes every pooled connection; the next request builds a new pool. */
+    public static synchronized void shutdown() {
+        if (connectionManager != null) {
+            evictor.shutdownNow();
+            connectionManager.shutdown();
+            connectionManager = null;
+            evictor = null;
+        }
+    }
+
+    private static AdmissionControlledConnectionManager connectionManager() {
+        AdmissionControlledConnectionManager manager = connectionManager;
+        if (manager == null) {
+            synchronized (ConnectionPool.class) {
+                if (connectionManager == null) {
+                    connectionManager = createConnectionManager();
+                }
+                manager = connectionManager;
+            }
+        }
+        return manager;
+    }
+
+    private static AdmissionControlledConnectionManager createConnectionManager() {
+        AdmissionControlledConnectionManager manager = new AdmissionControlledConnectionManager(
+                ConfigManager.getPoolTimeToLiveMillis(), ConfigManager.getPoolMaxTotal(),
+                ConfigManager.isPhaseMetricsEnabled());
+        manager.setDefaultMaxPerRoute(ConfigManager.getPoolMaxPerRoute());
+        manager.setMaxPerRoute(route(ConfigManager.getBaseUrl()), ConfigManager.getPoolMaxBaseRoute());
+
+        long idleMillis = ConfigManager.getPoolIdleEvictMillis();
+        evictor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("connection-pool-evictor").factory());
+        evictor.scheduleWithFixedDelay(() -> {
+            manager.closeExpiredConnections();
+            manager.closeIdleConnections(idleMillis, TimeUnit.MILLISECONDS);
+        }, idleMillis, Math.max(idleMillis / 2, 1), TimeUnit.MILLISECONDS);
+        return manager;
+    }
+
+    /**
+     * Reads the body into memory before the client decides what to do with the
+     * connection: a non-streaming entity is released to the pool right away,
+     * instead of staying leased until someone reads the body to the end.
+     */
+    private static void bufferEntity(HttpResponse response, HttpContext context) throws IOException {
+        HttpEntity entity = response.getEntity();
+        if (entity != null && entity.isStreaming()) {
+            response.setEntity(new BufferedHttpEntity(entity));
+        }
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long defaultMillis) {
+        return (response, context) -> {
+            long advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return advertised > 0 ? advertised : defaultMillis;
+        };
+    }
+
+    private static HttpRoute route(String url) {
+        URI baseUri = URI.create(url);
+        boolean secure = "https".equalsIgnoreCase(baseUri.getScheme());
+        int port = baseUri.getPort() != -1 ? baseUri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(baseUri.getHost(), port, baseUri.getScheme()), null, secure);
+    }
+
+    /* ****************************
+     *  Admission control
+     * ****************************/
+
+    /**
+     * Pool whose leases are admitted by a per-route and a total semaphore,
+     * so the underlying pool always has capacity when asked and never blocks.
+     * Limits must be configured before the first lease.
+     */
+    private static final class AdmissionControlledConnectionManager extends PoolingClientConnectionManager {
+
+        private final Semaphore totalPermits;
+        private final Map<HttpRoute, Semaphore> routePermits = new ConcurrentHashMap<>();
+        private final Map<ManagedClientConnection, HttpRoute> leased = new ConcurrentHashMap<>();
+
+        AdmissionControlledConnectionManager(long timeToLiveMillis, int maxTotal, boolean timed) {
+            super(timed ? HttpPhaseTimers.schemeRegistry() : SchemeRegistryFactory.createDefault(),
+                    timeToLiveMillis, TimeUnit.MILLISECONDS,
+                    timed ? HttpPhaseTimers.dnsResolver() : SystemDefaultDnsResolver.INSTANCE);
+            setMaxTotal(maxTotal);
+            this.totalPermits = new Semaphore(maxTotal, true);
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ClientConnectionRequest request = super.requestConnection(route, state);
+            Semaphore routeSlots = routePermits.computeIfAbsent(route, r -> new Semaphore(getMaxPerRoute(r), true));
+
+            return new ClientConnectionRequest() {
+                @Override
+                public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                        throws InterruptedException, ConnectionPoolTimeoutException {
+                    long deadline = System.nanoTime() + unit.toNanos(timeout);
+                    acquire(routeSlots, timeout, deadline);
+                    try {
+                        acquire(totalPermits, timeout, deadline);
+                    } catch (InterruptedException | ConnectionPoolTimeoutException e) {
+                        routeSlots.release();
+                        throw e;
+                    }
+
+                    try {
+                        ManagedClientConnection connection = request.getConnection(timeout, unit);
+                        leased.put(connection, route);
+                        return connection;
+                    } catch (InterruptedException | ConnectionPoolTimeoutException | RuntimeException e) {
+                        routeSlots.release();
+                        totalPermits.release();
+                        throw e;
+                    }
+                }
+
+                @Override
+                public void abortRequest() {
+                    request.abortRequest();
+                }
+            };
+        }
+
+        @Override
+        public void releaseConnection(ManagedClientConnection connection, long keepAlive, TimeUnit unit) {
+            try {
+                super.releaseConnection(connection, keepAlive, unit);
+            } finally {
+                // Only after the entry is back in the pool, so the next admitted caller finds it
+                HttpRoute route = leased.remove(connection);
+                if (route != null) {
+                    routePermits.get(route).release();
+                    totalPermits.release();
+                }
+            }
+        }
+
+        int waiting() {
+            return totalPermits.getQueueLength()
+                    + routePermits.values().stream().mapToInt(Semaphore::getQueueLength).sum();
+        }
+
+        int waiting(HttpRoute route) {
+            Semaphore routeSlots = routePermits.get(route);
+            return routeSlots == null ? 0 : routeSlots.getQueueLength();
+        }
+
+        /** timeout <= 0 waits indefinitely (http.conn-manager.timeout semantics). */
+        private static void acquire(Semaphore semaphore, long timeout, long deadline)
+                throws InterruptedException, ConnectionPoolTimeoutException {
+            if (timeout <= 0) {
+                semaphore.acquire();
+            } else if (!semaphore.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new ConnectionPoolTimeoutException("Timeout waiting for connection from pool");
+            }
+        }
+    }
+}
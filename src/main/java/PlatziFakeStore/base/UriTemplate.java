@@ -0,0 +1,180 @@
+package PlatziFakeStore.base;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UriTemplate
+ * --------------------------------------------------
+ * - An endpoint path such as "/products/{id}/related" parsed once into
+ *   literal and placeholder parts
+ * - Expansion is a single pass into a pre-sized StringBuilder: no regex,
+ *   no intermediate strings
+ * - Values are percent-encoded (UTF-8); plain ids and slugs are copied as-is
+ * - Also used to match a concrete request path back to its template
+ *
+ * Usage:
+ *   UriTemplate.parse("/products/{id}").expand(5)              -> "/products/5"
+ *   UriTemplate.parse("/products/slug/{slug}").expand(Map.of("slug", "a b")) -> "/products/slug/a%20b"
+ */
+public final class UriTemplate {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final String template;
+    private final String[] literals; // literals[i] precedes placeholder i; the last one trails
+    private final String[] names;
+    private final int literalLength;
+    private final String[] pathSegments;
+    private final boolean hasQuery;
+
+    private UriTemplate(String template, String[] literals, String[] names) {
+        this.template = template;
+        this.literals = literals;
+        this.names = names;
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+        int query = template.indexOf('?');
+        this.hasQuery = query >= 0;
+        this.pathSegments = splitPath(hasQuery ? template.substring(0, query) : template);
+    }
+
+    public static UriTemplate parse(String template) {
+        int count = 0;
+        for (int i = 0; i < template.length(); i++) {
+            if (template.charAt(i) == '{') count++;
+        }
+
+        String[] literals = new String[count + 1];
+        String[] names = new String[count];
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            int open = template.indexOf('{', from);
+            int close = template.indexOf('}', open);
+            if (close < 0 || close == open + 1) {
+                throw new IllegalArgumentException("Malformed placeholder in URI template: " + template);
+            }
+            literals[i] = template.substring(from, open);
+            names[i] = template.substring(open + 1, close);
+            from = close + 1;
+        }
+        literals[count] = template.substring(from);
+        return new UriTemplate(template, literals, names);
+    }
+
+    /** The template as written, e.g. "/products/{id}". */
+    public String getTemplate() {
+        return template;
+    }
+
+    /** Placeholder names in order of appearance. */
+    public List<String> getVariableNames() {
+        return List.of(names);
+    }
+
+    /** Fills placeholders in order of appearance. */
+    public String expand(Object... values) {
+        if (values.length != names.length) {
+            throw new IllegalArgumentException("URI template " + template + " expects " + names.length
+                    + " value(s) " + Arrays.toString(names) + " but got " + values.length);
+        }
+        StringBuilder sb = new StringBuilder(estimateLength(values));
+        for (int i = 0; i < names.length; i++) {
+            sb.append(literals[i]);
+            Object value = values[i];
+            if (value instanceof Integer || value instanceof Long) {
+                sb.append(((Number) value).longValue()); // digits and '-' never need encoding
+            } else {
+                appendEncoded(sb, String.valueOf(value));
+            }
+        }
+        return sb.append(literals[names.length]).toString();
+    }
+
+    /** Fills placeholders by name; every placeholder must have a value. */
+    public String expand(Map<String, ?> values) {
+        Object[] ordered = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Object value = values.get(names[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing value for {" + names[i] + "} in URI template " + template);
+            }
+            ordered[i] = value;
+        }
+        return expand(ordered);
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    /* ****************************
+     *  Matching
+     * ****************************/
+
+    boolean hasQuery() {
+        return hasQuery;
+    }
+
+    /** Number of matching literal segments, or -1 when the path does not fit. */
+    int matchScore(String[] requestSegments) {
+        if (requestSegments.length != pathSegments.length) return -1;
+        int literals = 0;
+        for (int i = 0; i < pathSegments.length; i++) {
+            String expected = pathSegments[i];
+            if (expected.startsWith("{")) continue;
+            if (!expected.equals(requestSegments[i])) return -1;
+            literals++;
+        }
+        return literals;
+    }
+
+    static String[] splitPath(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') start++;
+        while (end > start && path.charAt(end - 1) == '/') end--;
+        return start == end ? new String[0] : path.substring(start, end).split("/");
+    }
+
+    /* ****************************
+     *  Encoding
+     * ****************************/
+
+    private int estimateLength(Object[] values) {
+        int length = literalLength;
+        for (Object value : values) {
+            length += value instanceof CharSequence text ? text.length() : 11;
+        }
+        return length;
+    }
+
+    /** Percent-encodes everything except RFC 3986 unreserved characters. */
+    static void appendEncoded(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isUnreserved(c)) {
+                sb.append(c);
+                continue;
+            }
+            // Slow path: encode the remainder byte by byte
+            for (byte b : value.substring(i).getBytes(StandardCharsets.UTF_8)) {
+                if (isUnreserved((char) b)) {
+                    sb.append((char) b);
+                } else {
+                    sb.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+                }
+            }
+            return;
+        }
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+}
@@ -0,0 +1,217 @@
+package PlatziFakeStore.cache;
+
+import PlatziFakeStore.base.APIResources;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RequestCoalescer
+ * --------------------------------------------------
+ * - Single flight for GETs: while a GET is on the wire, identical GETs
+ *   (same URI, same headers) wait for it instead of sending their own,
+ *   and each gets its own copy of the one response
+ * - Opt-in (coalesce.enabled), installed by BaseAPI
+ * - Only concurrent duplicates are merged; nothing is kept after the
+ *   response arrives (that is ResponseCache's job)
+ * - A failed exchange fails every caller that joined it
+ * - Counts network calls and saved calls per endpoint
+ *
+ * Sits between ResponseCache and TimingFilter: cache hits never get here,
+ * and followers are not recorded as network latency.
+ *
+ * Usage:
+ *   mvn test -Dcoalesce.enabled=true -Dtests.parallel=methods
+ *   System.out.println(RequestCoalescer.stats());
+ */
+public final class RequestCoalescer implements OrderedFilter {
+
+    public static final RequestCoalescer INSTANCE = new RequestCoalescer();
+
+    private static final Map<APIResources, Counters> COUNTERS = new EnumMap<>(APIResources.class);
+
+    static {
+        for (APIResources endpoint : APIResources.values()) {
+            if (endpoint.getMethod().name().equals("GET")) COUNTERS.put(endpoint, new Counters());
+        }
+    }
+
+    private final Map<String, CompletableFuture<Shared>> inFlight = new ConcurrentHashMap<>();
+
+    private RequestCoalescer() {
+    }
+
+    /* ****************************
+     *  Filter
+     * ****************************/
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!"GET".equalsIgnoreCase(requestSpec.getMethod())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        APIResources endpoint = APIResources.resolve(requestSpec, ctx);
+        if (endpoint == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        Counters counters = COUNTERS.get(endpoint);
+        String key = keyOf(requestSpec);
+        CompletableFuture<Shared> flight = new CompletableFuture<>();
+        CompletableFuture<Shared> leader = inFlight.putIfAbsent(key, flight);
+
+        if (leader != null) {
+            counters.saved.increment();
+            long start = System.nanoTime();
+            return ResponseCache.withTime(join(leader).toResponse(), start);
+        }
+
+        counters.calls.increment();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            Shared shared = Shared.of(response); // buffers the body before anyone else reads it
+            inFlight.remove(key, flight);        // later arrivals start a fresh exchange
+            flight.complete(shared);
+            return response;
+        } catch (Throwable e) { // checked ConnectException & co. too, or followers wait forever
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 1; // just inside ResponseCache
+    }
+
+    /** URI plus every header, so a conditional GET never joins an unconditional one. */
+    private static String keyOf(FilterableRequestSpecification requestSpec) {
+        StringBuilder key = new StringBuilder(requestSpec.getURI());
+        for (Header header : requestSpec.getHeaders()) {
+            key.append('\n').append(header.getName()).append(": ").append(header.getValue());
+        }
+        return key.toString();
+    }
+
+    private static Shared join(CompletableFuture<Shared> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    /* ****************************
+     *  Stats
+     * ****************************/
+
+    /** Network calls made and calls saved, across every endpoint. */
+    public static Stats stats() {
+        long calls = 0;
+        long saved = 0;
+        for (Counters counters : COUNTERS.values()) {
+            calls += counters.calls.sum();
+            saved += counters.saved.sum();
+        }
+        return new Stats(calls, saved);
+    }
+
+    public static Stats stats(APIResources endpoint) {
+        Counters counters = COUNTERS.get(endpoint);
+        if (counters == null) {
+            throw new IllegalArgumentException("Not a GET endpoint: " + endpoint);
+        }
+        return new Stats(counters.calls.sum(), counters.saved.sum());
+    }
+
+    /** Zeroes every counter. */
+    public static void resetStats() {
+        COUNTERS.values().forEach(counters -> {
+            counters.calls.reset();
+            counters.saved.reset();
+        });
+    }
+
+    /** Point-in-time counter values. */
+    public static final class Stats {
+
+        private final long calls;
+        private final long saved;
+
+        Stats(long calls, long saved) {
+            this.calls = calls;
+            this.saved = saved;
+        }
+
+        /** GETs that went to the network. */
+        public long getCalls() { return calls; }
+
+        /** GETs answered by joining one already on the wire. */
+        public long getSaved() { return saved; }
+
+        @Override
+        public String toString() {
+            return "[network calls: " + calls + "; saved calls: " + saved + "]";
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder calls = new LongAdder();
+        final LongAdder saved = new LongAdder();
+    }
+
+    /* ****************************
+     *  Shared response
+     * ****************************/
+
+    /** The leader's response, copied so every follower gets an independent Response. */
+    private static final class Shared {
+
+        final int statusCode;
+        final String statusLine;
+        final Headers headers;
+        final String contentType;
+        final byte[] body;
+
+        private Shared(int statusCode, String statusLine, Headers headers, String contentType, byte[] body) {
+            this.statusCode = statusCode;
+            this.statusLine = statusLine;
+            this.headers = headers;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static Shared of(Response response) {
+            return new Shared(response.getStatusCode(), response.getStatusLine(), response.getHeaders(),
+                    response.getContentType(), response.asByteArray());
+        }
+
+        Response toResponse() {
+            return new ResponseBuilder()
+                    .setStatusCode(statusCode)
+                    .setStatusLine(statusLine)
+                    .setHeaders(headers)
+                    .setContentType(contentType)
+                    .setBody(body)
+                    .build();
+        }
+    }
+}
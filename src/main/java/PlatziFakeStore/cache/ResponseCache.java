@@ -0,0 +1,422 @@
+package PlatziFakeStore.cache;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.config.ConfigManager;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.filter.time.TimingFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * ResponseCache
+ * --------------------------------------------------
+ * - Client-side HTTP cache for the GET routes in APIResources, installed
+ *   as a Rest Assured filter (BaseAPI, cache.enabled)
+ * - Bounded (cache.max.entries) with least-recently-used eviction
+ * - TTL per endpoint: cache.ttl.<endpoint> (e.g. cache.ttl.get_all_categories),
+ *   else cache.ttl.ms; a TTL of 0 stores the entry but revalidates every use
+ * - Stale entries are revalidated with If-None-Match / If-Modified-Since;
+ *   a 304 refreshes the entry and the cached body is served
+ * - A successful POST/PUT/PATCH/DELETE drops every entry that reflects its
+ *   top-level collection: "/categories/5" clears "/categories..." and the
+ *   product reads (each product embeds its category); "/products/5" clears
+ *   "/products..." and "/categories/{id}/products"
+ * - Writes from AsyncBaseAPI (java-http backend) skip the filter and
+ *   report themselves through invalidate(endpoint)
+ * - A GET that was in flight during such a write is not stored: entries are
+ *   tagged with the write generation of their collections when sent
+ * - Bypass: wrap the call in ResponseCache.bypass(...) or send
+ *   "Cache-Control: no-cache"; the fresh response still refreshes the entry
+ * - GETs that carry an Authorization header are never cached: the key is
+ *   the URI alone, and /auth/profile answers differ per token
+ * - Load runs (LoadEngine, ConstantArrivalRateScheduler) bypass the cache,
+ *   so they measure the API and not local hits
+ * - Hit / miss / revalidation / bypass / eviction counters, per endpoint
+ *
+ * Runs ahead of TimingFilter, so hits are not recorded as network latency.
+ *
+ * Usage:
+ *   Response fresh = ResponseCache.bypass(() -> categoriesClient.getCategoryById(1));
+ *   System.out.println(ResponseCache.stats());
+ */
+public final class ResponseCache implements OrderedFilter {
+
+    public static final ResponseCache INSTANCE = new ResponseCache();
+
+    private static final ThreadLocal<Boolean> BYPASS = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private static final Map<APIResources, Counters> COUNTERS = new EnumMap<>(APIResources.class);
+    private static final Map<APIResources, Set<String>> DEPENDENCIES = new EnumMap<>(APIResources.class);
+
+    static {
+        for (APIResources endpoint : APIResources.values()) {
+            if (endpoint.getMethod().name().equals("GET")) {
+                COUNTERS.put(endpoint, new Counters());
+                DEPENDENCIES.put(endpoint, dependenciesOf(endpoint));
+            }
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true); // access order = LRU
+    private final Map<String, Long> generations = new HashMap<>(); // collection -> successful writes seen
+
+    private ResponseCache() {
+    }
+
+    /** Runs {@code call} with cache lookups skipped on this thread. */
+    public static <T> T bypass(Supplier<T> call) {
+        boolean outer = BYPASS.get();
+        BYPASS.set(Boolean.TRUE);
+        try {
+            return call.get();
+        } finally {
+            BYPASS.set(outer);
+        }
+    }
+
+    /* ****************************
+     *  Filter
+     * ****************************/
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        APIResources endpoint = APIResources.resolve(requestSpec, ctx);
+
+        if (!"GET".equalsIgnoreCase(method)) {
+            Response response = ctx.next(requestSpec, responseSpec);
+            if (endpoint != null && response.getStatusCode() < 400) {
+                invalidate(collectionOf(endpoint));
+            }
+            return response;
+        }
+        if (endpoint == null || requestSpec.getHeaders().hasHeaderWithName("Authorization")) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        Counters counters = COUNTERS.get(endpoint);
+        String key = requestSpec.getURI();
+        boolean bypass = BYPASS.get() || requestsNoCache(requestSpec);
+        Entry cached = bypass ? null : get(key);
+        long generation = generationOf(endpoint);
+        long now = System.nanoTime();
+
+        if (cached != null && cached.isFresh(now)) {
+            counters.hits.increment();
+            return withTime(cached.toResponse(), now);
+        }
+        if (cached != null) {
+            if (cached.etag != null) requestSpec.header("If-None-Match", cached.etag);
+            if (cached.lastModified != null) requestSpec.header("If-Modified-Since", cached.lastModified);
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        if (cached != null && response.getStatusCode() == 304) {
+            counters.revalidations.increment();
+            Entry refreshed = cached.revalidated(response, System.nanoTime());
+            put(key, refreshed, generation);
+            return withTime(refreshed.toResponse(), now);
+        }
+
+        if (bypass) {
+            counters.bypasses.increment();
+        } else {
+            counters.misses.increment();
+        }
+        if (response.getStatusCode() == 200 && isStorable(response)) {
+            put(key, Entry.of(endpoint, response, ttlMillis(endpoint), System.nanoTime()), generation);
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+
+    /* ****************************
+     *  Store
+     * ****************************/
+
+    private synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /** Sum of the write generations of what {@code endpoint} reflects; it only ever grows. */
+    private synchronized long generationOf(APIResources endpoint) {
+        long generation = 0;
+        for (String collection : DEPENDENCIES.get(endpoint)) {
+            generation += generations.getOrDefault(collection, 0L);
+        }
+        return generation;
+    }
+
+    /** Stores {@code entry} unless a write to what it reflects happened since {@code generation} was read. */
+    private synchronized void put(String key, Entry entry, long generation) {
+        if (generationOf(entry.endpoint) != generation) {
+            entries.remove(key); // read before a write that has since invalidated it
+            return;
+        }
+        if (entry.ttlNanos == 0 && entry.etag == null && entry.lastModified == null) {
+            entries.remove(key); // nothing to revalidate with, so it could never be served
+            return;
+        }
+        entries.put(key, entry);
+
+        int maxEntries = ConfigManager.getCacheMaxEntries();
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            COUNTERS.get(evicted.endpoint).evictions.increment();
+        }
+    }
+
+    private synchronized void invalidate(String collection) {
+        generations.merge(collection, 1L, Long::sum);
+        entries.values().removeIf(entry -> entry.dependencies.contains(collection));
+    }
+
+    /**
+     * Drops what a successful write to {@code endpoint} changes; for writes
+     * sent outside the filter chain (AsyncBaseAPI's java-http backend).
+     */
+    public static void invalidate(APIResources endpoint) {
+        INSTANCE.invalidate(collectionOf(endpoint));
+    }
+
+    /** Drops every entry; counters are kept. */
+    public static void clear() {
+        synchronized (INSTANCE) {
+            INSTANCE.entries.clear();
+        }
+    }
+
+    public static int size() {
+        synchronized (INSTANCE) {
+            return INSTANCE.entries.size();
+        }
+    }
+
+    private static long ttlMillis(APIResources endpoint) {
+        return ConfigManager.getCacheTtlMillis(endpoint.name().toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean requestsNoCache(FilterableRequestSpecification requestSpec) {
+        String cacheControl = requestSpec.getHeaders().getValue("Cache-Control");
+        return cacheControl != null && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+    }
+
+    /**
+     * Built responses carry no round-trip time, and ok200() asserts one;
+     * reports the time since {@code startNanos}, as Rest Assured would.
+     */
+    static Response withTime(Response built, long startNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        ((RestAssuredResponseOptionsImpl<?>) built).setFilterContextProperties(
+                Map.of(TimingFilter.RESPONSE_TIME_MILLISECONDS, millis));
+        return built;
+    }
+
+    private static boolean isStorable(Response response) {
+        String cacheControl = response.getHeader("Cache-Control");
+        return cacheControl == null || !cacheControl.contains("no-store");
+    }
+
+    /**
+     * Collections a GET's body reflects: its own, "categories" for product
+     * reads (each product embeds its category) and "products" for
+     * "/categories/{id}/products".
+     */
+    private static Set<String> dependenciesOf(APIResources endpoint) {
+        String collection = collectionOf(endpoint);
+        if (collection.equals("products")) return Set.of("products", "categories");
+        if (endpoint.getResource().endsWith("/products")) return Set.of(collection, "products");
+        return Set.of(collection);
+    }
+
+    private static String collectionOf(APIResources endpoint) {
+        String path = endpoint.getResource();
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = start;
+        while (end < path.length() && path.charAt(end) != '/' && path.charAt(end) != '?') end++;
+        return path.substring(start, end);
+    }
+
+    /* ****************************
+     *  Stats
+     * ****************************/
+
+    /** Totals across every endpoint. */
+    public static Stats stats() {
+        Stats total = new Stats(0, 0, 0, 0, 0, size());
+        for (Counters counters : COUNTERS.values()) {
+            total = total.plus(counters.snapshot(0));
+        }
+        return total;
+    }
+
+    public static Stats stats(APIResources endpoint) {
+        Counters counters = COUNTERS.get(endpoint);
+        if (counters == null) {
+            throw new IllegalArgumentException("Not a cacheable GET endpoint: " + endpoint);
+        }
+        synchronized (INSTANCE) {
+            int size = (int) INSTANCE.entries.values().stream().filter(entry -> entry.endpoint == endpoint).count();
+            return counters.snapshot(size);
+        }
+    }
+
+    /** Zeroes every counter. */
+    public static void resetStats() {
+        COUNTERS.values().forEach(Counters::reset);
+    }
+
+    /** Point-in-time counter values. */
+    public static final class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long revalidations;
+        private final long bypasses;
+        private final long evictions;
+        private final int entries;
+
+        Stats(long hits, long misses, long revalidations, long bypasses, long evictions, int entries) {
+            this.hits = hits;
+            this.misses = misses;
+            this.revalidations = revalidations;
+            this.bypasses = bypasses;
+            this.evictions = evictions;
+            this.entries = entries;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getRevalidations() { return revalidations; }
+        public long getBypasses() { return bypasses; }
+        public long getEvictions() { return evictions; }
+        public int getEntries() { return entries; }
+
+        /** Share of lookups answered without transferring a body (hits + 304s). */
+        public double getHitRatio() {
+            long lookups = hits + misses + revalidations;
+            return lookups == 0 ? 0 : (double) (hits + revalidations) / lookups;
+        }
+
+        private Stats plus(Stats other) {
+            return new Stats(hits + other.hits, misses + other.misses, revalidations + other.revalidations,
+                    bypasses + other.bypasses, evictions + other.evictions, entries + other.entries);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "[hits: %d; misses: %d; revalidations: %d; bypasses: %d; evictions: %d; entries: %d; hit ratio: %.1f%%]",
+                    hits, misses, revalidations, bypasses, evictions, entries, getHitRatio() * 100);
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder revalidations = new LongAdder();
+        final LongAdder bypasses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+
+        Stats snapshot(int entries) {
+            return new Stats(hits.sum(), misses.sum(), revalidations.sum(), bypasses.sum(), evictions.sum(), entries);
+        }
+
+        void reset() {
+            hits.reset();
+            misses.reset();
+            revalidations.reset();
+            bypasses.reset();
+            evictions.reset();
+        }
+    }
+
+    /* ****************************
+     *  Entry
+     * ****************************/
+
+    /** A stored 200: body and headers are copied, so the network response can be released. */
+    private static final class Entry {
+
+        final APIResources endpoint;
+        final Set<String> dependencies;
+        final byte[] body;
+        final String contentType;
+        final Headers headers;
+        final String etag;
+        final String lastModified;
+        final long ttlNanos;
+        final long expiresAt;
+
+        private Entry(APIResources endpoint, byte[] body, String contentType, Headers headers,
+                      long ttlNanos, long storedAt) {
+            this.endpoint = endpoint;
+            this.dependencies = DEPENDENCIES.get(endpoint);
+            this.body = body;
+            this.contentType = contentType;
+            this.headers = headers;
+            this.etag = headers.getValue("ETag");
+            this.lastModified = headers.getValue("Last-Modified");
+            this.ttlNanos = ttlNanos;
+            this.expiresAt = storedAt + ttlNanos;
+        }
+
+        static Entry of(APIResources endpoint, Response response, long ttlMillis, long storedAt) {
+            return new Entry(endpoint, response.asByteArray(), response.getContentType(), response.getHeaders(),
+                    TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis)), storedAt);
+        }
+
+        boolean isFresh(long now) {
+            return ttlNanos > 0 && now - expiresAt < 0;
+        }
+
+        /** Same body, headers updated from the 304 (RFC 9111 §4.3.4), TTL restarted. */
+        Entry revalidated(Response notModified, long now) {
+            Map<String, Header> merged = new LinkedHashMap<>();
+            for (Header header : headers) merged.put(header.getName().toLowerCase(Locale.ROOT), header);
+            for (Header header : notModified.getHeaders()) {
+                String name = header.getName().toLowerCase(Locale.ROOT);
+                if (!name.equals("content-length") && !name.equals("content-type")) merged.put(name, header);
+            }
+            List<Header> updated = new ArrayList<>(merged.values());
+            return new Entry(endpoint, body, contentType, new Headers(updated), ttlNanos, now);
+        }
+
+        Response toResponse() {
+            return new ResponseBuilder()
+                    .setStatusCode(200)
+                    .setStatusLine("HTTP/1.1 200 OK")
+                    .setHeaders(headers)
+                    .setContentType(contentType)
+                    .setBody(body)
+                    .build();
+        }
+    }
+}
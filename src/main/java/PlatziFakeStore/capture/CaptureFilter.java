@@ -0,0 +1,66 @@
+package PlatziFakeStore.capture;
+
+import PlatziFakeStore.config.ConfigManager;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CaptureFilter
+ * --------------------------------------------------
+ * - Rest Assured filter that copies every exchange into the calling
+ *   thread's ExchangeCapture ring; connect/read failures are recorded
+ *   with the exception and rethrown unchanged
+ * - A response slower than timeout.response (the budget the response
+ *   specs assert) dumps the ring straight away, even if the test
+ *   goes on to pass
+ * - Sits just inside TimingFilter, so ResponseCache hits and
+ *   RequestCoalescer followers are not recorded again
+ * - Installed by BaseAPI when capture.enabled=true
+ */
+public final class CaptureFilter implements OrderedFilter {
+
+    public static final CaptureFilter INSTANCE = new CaptureFilter();
+
+    private CaptureFilter() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!ExchangeCapture.isActive()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Throwable e) { // Rest Assured rethrows ConnectException & co. unwrapped
+            ExchangeCapture.record(requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getHeaders(),
+                    requestSpec.getBody(), 0, null, null, System.nanoTime() - start, e.toString());
+            throw e;
+        }
+        long nanos = System.nanoTime() - start;
+        ExchangeCapture.record(requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getHeaders(),
+                requestSpec.getBody(), response.getStatusCode(), response.getHeaders(), response.asByteArray(),
+                nanos, null);
+
+        long budgetMillis = ConfigManager.getMaxResponseTimeout();
+        if (TimeUnit.NANOSECONDS.toMillis(nanos) > budgetMillis) {
+            ExchangeCapture.dump(Thread.currentThread().getName(), "slow: " + requestSpec.getMethod() + " "
+                    + requestSpec.getURI() + " took " + TimeUnit.NANOSECONDS.toMillis(nanos)
+                    + " ms (budget " + budgetMillis + " ms)");
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 3; // just inside TimingFilter
+    }
+}
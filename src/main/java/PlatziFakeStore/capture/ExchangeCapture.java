@@ -0,0 +1,269 @@
+package PlatziFakeStore.capture;
+
+import PlatziFakeStore.config.ConfigManager;
+import io.qameta.allure.Allure;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ExchangeCapture
+ * --------------------------------------------------
+ * - Keeps the last capture.size exchanges of each thread in a ring of
+ *   reusable slots (method, URI, status, time, headers, bodies truncated
+ *   to capture.body.max.bytes); nothing is formatted or written while
+ *   tests pass
+ * - dump() writes the calling thread's ring, oldest first, to
+ *   capture.dir and attaches it to the Allure report
+ * - Dumped when a test fails (BaseTest) or when a response is slower
+ *   than timeout.response (CaptureFilter)
+ * - Every platform thread gets a ring. A virtual thread gets one only
+ *   if it calls attach(). LoadEngine does this for each virtual user,
+ *   which loops on one virtual thread for the whole run, with
+ *   capture.load.size slots. Other virtual threads (async calls, hedges,
+ *   arrival-rate requests) send one request each and then exit, so a
+ *   ring for them would never be read
+ *
+ * Replaces LogDetail.ALL for everyday runs: log.request / log.response
+ * still print every exchange when switched on.
+ *
+ * Usage:
+ *   ExchangeCapture.clear();                              // before a test
+ *   ExchangeCapture.dump("UsersTests.testX", "failed");   // after it failed
+ */
+public final class ExchangeCapture {
+
+    private static final ThreadLocal<Ring> RINGS = new ThreadLocal<>();
+    private static final AtomicLong DUMP_SEQUENCE = new AtomicLong();
+    private static final LongAdder RECORDED = new LongAdder();
+    private static final LongAdder DUMPS = new LongAdder();
+
+    private ExchangeCapture() {
+        // Prevent instantiation
+    }
+
+    /* ****************************
+     *  Recording
+     * ****************************/
+
+    static boolean isActive() {
+        return ConfigManager.isCaptureEnabled() && (!Thread.currentThread().isVirtual() || RINGS.get() != null);
+    }
+
+    /** Gives the calling thread its own ring of capture.load.size slots until detach() (LoadEngine virtual users). */
+    public static void attach() {
+        if (ConfigManager.isCaptureEnabled()) {
+            RINGS.set(new Ring(Math.max(1, ConfigManager.getCaptureLoadSize()), true));
+        }
+    }
+
+    /** Drops the calling thread's ring. */
+    public static void detach() {
+        RINGS.remove();
+    }
+
+    static void record(String method, String uri, Headers requestHeaders, Object requestBody,
+                       int status, Headers responseHeaders, byte[] responseBody, long nanos, String error) {
+        Slot slot = ring().next();
+        slot.startedAt = System.currentTimeMillis() - nanos / 1_000_000;
+        slot.method = method;
+        slot.uri = uri;
+        slot.status = status;
+        slot.nanos = nanos;
+        slot.error = error;
+        slot.requestHeaders = requestHeaders;
+        slot.responseHeaders = responseHeaders;
+        slot.requestBody.set(bytesOf(requestBody));
+        slot.responseBody.set(responseBody);
+        RECORDED.increment();
+    }
+
+    /** Forgets the calling thread's exchanges (the slots are kept for reuse). */
+    public static void clear() {
+        Ring ring = RINGS.get();
+        if (ring != null) {
+            ring.clear();
+        }
+    }
+
+    /* ****************************
+     *  Dumping
+     * ****************************/
+
+    /**
+     * Writes the calling thread's ring to capture.dir and attaches it to
+     * the current Allure test or fixture.
+     *
+     * @param label  test or thread name, used in the file name
+     * @param reason first line of the dump (failure message, slow endpoint)
+     * @return the file written, or null when nothing was captured
+     */
+    public static Path dump(String label, String reason) {
+        Ring ring = RINGS.get();
+        if (ring == null || ring.size == 0) {
+            return null;
+        }
+        String text = ring.format(reason);
+        String fileName = label.replaceAll("[^A-Za-z0-9._-]", "_")
+                + "-" + System.currentTimeMillis() + "-" + DUMP_SEQUENCE.incrementAndGet() + ".txt";
+        Path file = ConfigManager.getCaptureDir().resolve(fileName);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, text, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write exchange capture " + file, e);
+        }
+        Allure.addAttachment("Last " + ring.size + " exchanges", "text/plain", text, ".txt");
+        DUMPS.increment();
+        return file;
+    }
+
+    /** Exchanges recorded since the start of the run, on every thread. */
+    public static long getRecordedCount() {
+        return RECORDED.sum();
+    }
+
+    public static long getDumpCount() {
+        return DUMPS.sum();
+    }
+
+    /* ****************************
+     *  Helpers
+     * ****************************/
+
+    private static Ring ring() {
+        Ring ring = RINGS.get();
+        if (ring != null && ring.attached) {
+            return ring;
+        }
+        int capacity = Math.max(1, ConfigManager.getCaptureSize());
+        if (ring == null || ring.slots.length != capacity) {
+            ring = new Ring(capacity, false);
+            RINGS.set(ring);
+        }
+        return ring;
+    }
+
+    private static byte[] bytesOf(Object body) {
+        if (body == null) return null;
+        if (body instanceof byte[] bytes) return bytes;
+        return String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Fixed number of slots, overwritten oldest first. Owned by one thread. */
+    private static final class Ring {
+
+        private final Slot[] slots;
+        private final boolean attached;
+        private int next;
+        private int size;
+
+        Ring(int capacity, boolean attached) {
+            this.attached = attached;
+            slots = new Slot[capacity];
+            for (int i = 0; i < capacity; i++) {
+                slots[i] = new Slot();
+            }
+        }
+
+        Slot next() {
+            Slot slot = slots[next];
+            next = (next + 1) % slots.length;
+            size = Math.min(size + 1, slots.length);
+            return slot;
+        }
+
+        void clear() {
+            next = 0;
+            size = 0;
+        }
+
+        String format(String reason) {
+            StringBuilder out = new StringBuilder(4096);
+            out.append("# ").append(reason).append('\n');
+            out.append("# thread: ").append(Thread.currentThread().getName())
+                    .append("; exchanges: ").append(size).append(" (oldest first)\n");
+            int first = (next - size + slots.length) % slots.length;
+            for (int i = 0; i < size; i++) {
+                out.append('\n');
+                slots[(first + i) % slots.length].appendTo(out, i + 1, size);
+            }
+            return out.toString();
+        }
+    }
+
+    /** One exchange; the body buffers grow to the largest body seen and are then reused. */
+    private static final class Slot {
+
+        private long startedAt;
+        private String method;
+        private String uri;
+        private int status;
+        private long nanos;
+        private String error;
+        private Headers requestHeaders;
+        private Headers responseHeaders;
+        private final Body requestBody = new Body();
+        private final Body responseBody = new Body();
+
+        void appendTo(StringBuilder out, int index, int total) {
+            out.append("--- ").append(index).append('/').append(total).append("  ")
+                    .append(Instant.ofEpochMilli(startedAt)).append("  ")
+                    .append(method).append(' ').append(uri).append(" -> ")
+                    .append(error != null ? error : String.valueOf(status))
+                    .append(" in ").append(String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0)).append(" ms\n");
+            appendHeaders(out, "> ", requestHeaders);
+            requestBody.appendTo(out, "> ");
+            appendHeaders(out, "< ", responseHeaders);
+            responseBody.appendTo(out, "< ");
+        }
+
+        private static void appendHeaders(StringBuilder out, String prefix, Headers headers) {
+            if (headers == null) return;
+            for (Header header : headers) {
+                String value = header.getName().equalsIgnoreCase("Authorization") ? "<redacted>" : header.getValue();
+                out.append(prefix).append(header.getName()).append(": ").append(value).append('\n');
+            }
+        }
+    }
+
+    /** Truncated copy of a body. */
+    private static final class Body {
+
+        private byte[] buffer = new byte[0];
+        private int length;
+        private int total = -1;
+
+        void set(byte[] bytes) {
+            if (bytes == null) {
+                total = -1;
+                return;
+            }
+            int limit = Math.min(bytes.length, ConfigManager.getCaptureBodyMaxBytes());
+            if (buffer.length < limit) {
+                buffer = new byte[limit];
+            }
+            System.arraycopy(bytes, 0, buffer, 0, limit);
+            length = limit;
+            total = bytes.length;
+        }
+
+        void appendTo(StringBuilder out, String prefix) {
+            if (total < 0) return;
+            out.append(prefix).append("body:\n")
+                    .append(new String(buffer, 0, length, StandardCharsets.UTF_8)).append('\n');
+            if (length < total) {
+                out.append(prefix).append("(truncated: ").append(length).append(" of ").append(total).append(" bytes)\n");
+            }
+        }
+    }
+}
@@ -1,4 +1,71 @@
 package PlatziFakeStore.clients;
 
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.base.BaseAPI;
+import PlatziFakeStore.models.request.LoginRequest;
+import io.restassured.response.Response;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+
 public class AuthClient {
+
+    public Response login(LoginRequest loginPayload) {
+        return given()
+                .spec(BaseAPI.getRequestSpec())
+                .body(loginPayload)
+        .when()
+                .post(APIResources.LOGIN.getResource())
+        .then()
+                .spec(BaseAPI.created201())
+                .extract()
+                .response();
+    }
+
+    public Response loginWithInvalidCredentials(LoginRequest loginPayload) {
+        return given()
+                .spec(BaseAPI.getRequestSpec())
+                .body(loginPayload)
+        .when()
+                .post(APIResources.LOGIN.getResource())
+        .then()
+                .spec(BaseAPI.unauthorized401())
+                .extract()
+                .response();
+    }
+
+    public Response refreshToken(String refreshToken) {
+        return given()
+                .spec(BaseAPI.getRequestSpec())
+                .body(Map.of("refreshToken", refreshToken))
+        .when()
+                .post(APIResources.REFRESH_TOKEN.getResource())
+        .then()
+                .spec(BaseAPI.created201())
+                .extract()
+                .response();
+    }
+
+    public Response getProfile(String accessToken) {
+        return given()
+                .spec(BaseAPI.withHeaders(Map.of("Authorization", "Bearer " + accessToken)))
+        .when()
+                .get(APIResources.PROFILE.getResource())
+        .then()
+                .spec(BaseAPI.ok200())
+                .extract()
+                .response();
+    }
+
+    public Response getProfileWithoutToken() {
+        return given()
+                .spec(BaseAPI.getRequestSpec())
+        .when()
+                .get(APIResources.PROFILE.getResource())
+        .then()
+                .spec(BaseAPI.unauthorized401())
+                .extract()
+                .response();
+    }
 }
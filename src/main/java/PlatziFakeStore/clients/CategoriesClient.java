@@ -33,6 +33,19 @@ public class CategoriesClient {
                 .response();
     }
 
+    public Response getProductsByCategoryId(int categoryId) {
+        return given()
+                .spec(BaseAPI.withPathParams(
+                        java.util.Map.of("id", String.valueOf(categoryId))
+                ))
+        .when()
+                .get(APIResources.GET_PRODUCTS_BY_CATEGORY.getResource())
+        .then()
+                .spec(BaseAPI.ok200())
+                .extract()
+                .response();
+    }
+
     public Response getCategoryByInvalidId(int categoryId) {
         return given()
                 .spec(BaseAPI.withPathParams(
@@ -98,4 +111,16 @@ public class CategoriesClient {
                 .response();
     }
 
+    public Response deleteCategoryById(int categoryId) {
+        return given()
+                .spec(BaseAPI.withPathParams(
+                        java.util.Map.of("id", String.valueOf(categoryId))
+                ))
+        .when()
+                .delete(APIResources.DELETE_CATEGORY.getResource())
+        .then()
+                .extract()
+                .response();
+    }
+
 }
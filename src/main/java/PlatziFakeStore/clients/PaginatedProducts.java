@@ -0,0 +1,135 @@
+package PlatziFakeStore.clients;
+
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.models.response.Product;
+import PlatziFakeStore.utils.JsonArrayReader;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * PaginatedProducts
+ * --------------------------------------------------
+ * - Lazy Iterator / Stream over the whole catalog via GET_PRODUCTS_PAGINATED
+ * - While page N is consumed, the next prefetchDepth pages are already
+ *   being fetched on virtual threads
+ * - Stops at the first short page; pages fetched past the end are discarded
+ * - Each page is read with JsonArrayReader, so only pageSize products
+ *   are held per page
+ *
+ * Usage:
+ *   try (Stream<Product> catalog = productsClient.streamAllProducts()) {
+ *       catalog.forEach(product -> ...);
+ *   }
+ *
+ * Configuration: pagination.page.size, pagination.prefetch.depth
+ */
+public final class PaginatedProducts implements Iterator<Product>, AutoCloseable {
+
+    private static final ExecutorService FETCHERS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ProductsClient client;
+    private final int pageSize;
+    private final int prefetchDepth;
+    private final Deque<CompletableFuture<List<Product>>> pending = new ArrayDeque<>();
+
+    private Iterator<Product> current = Collections.emptyIterator();
+    private int nextOffset;
+    private boolean lastPageSeen;
+
+    public PaginatedProducts(ProductsClient client, int pageSize, int prefetchDepth) {
+        if (pageSize <= 0) throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        if (prefetchDepth < 0) throw new IllegalArgumentException("prefetchDepth must not be negative: " + prefetchDepth);
+        this.client = client;
+        this.pageSize = pageSize;
+        this.prefetchDepth = prefetchDepth;
+        schedule(prefetchDepth + 1);
+    }
+
+    /** Page size and prefetch depth from the pagination.* keys in config.properties. */
+    public static PaginatedProducts fromConfig(ProductsClient client) {
+        return new PaginatedProducts(client, ConfigManager.getPaginationPageSize(), ConfigManager.getPaginationPrefetchDepth());
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (pending.isEmpty()) {
+                if (lastPageSeen) return false;
+                schedule(1); // prefetchDepth = 0: fetch on demand
+            }
+            List<Product> page = await(pending.removeFirst());
+            if (page.size() < pageSize) {
+                lastPageSeen = true;
+                cancelPending();
+            } else {
+                schedule(prefetchDepth - pending.size()); // keep prefetchDepth pages ahead of this one
+            }
+            current = page.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public Product next() {
+        if (!hasNext()) throw new NoSuchElementException("Catalog exhausted at offset " + nextOffset);
+        return current.next();
+    }
+
+    /** Sequential stream over the catalog; closing it cancels outstanding prefetches. */
+    public Stream<Product> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        lastPageSeen = true;
+        cancelPending();
+    }
+
+    private void schedule(int pages) {
+        for (int i = 0; i < pages && !lastPageSeen; i++) {
+            int offset = nextOffset;
+            nextOffset += pageSize;
+            pending.addLast(CompletableFuture.supplyAsync(() -> fetchPage(offset), FETCHERS));
+        }
+    }
+
+    private List<Product> fetchPage(int offset) {
+        List<Product> page = new ArrayList<>(pageSize);
+        try (JsonArrayReader<Product> products = JsonArrayReader.of(client.getProductsPage(offset, pageSize), Product.class)) {
+            products.forEachRemaining(page::add);
+        }
+        return page;
+    }
+
+    private void cancelPending() {
+        pending.forEach(page -> page.cancel(true));
+        pending.clear();
+    }
+
+    private static List<Product> await(CompletableFuture<List<Product>> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            // Surface the client's own failure (e.g. a status-code AssertionError)
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
@@ -6,6 +6,9 @@ import PlatziFakeStore.base.APIResources;
 import PlatziFakeStore.models.response.Product;
 import io.restassured.response.Response;
 
+import java.util.Map;
+import java.util.stream.Stream;
+
 import static io.restassured.RestAssured.given;
 
 
@@ -35,6 +38,22 @@ public class ProductsClient {
                 .response();
     }
 
+    public Response getProductsPage(int offset, int limit) {
+        return given()
+                .spec(BaseAPI.getRequestSpec())
+        .when()
+                .get(APIResources.GET_PRODUCTS_PAGINATED.withParams(Map.of("offset", offset, "limit", limit)))
+        .then()
+                .spec(BaseAPI.ok200())
+                .extract()
+                .response();
+    }
+
+    /** Lazily walks the whole catalog page by page, prefetching ahead (see PaginatedProducts). */
+    public Stream<Product> streamAllProducts() {
+        return PaginatedProducts.fromConfig(this).stream();
+    }
+
     public Response getProductById(int productId) {
         return given()
                 .spec(BaseAPI.withPathParams(
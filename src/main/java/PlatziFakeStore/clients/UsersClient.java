@@ -124,4 +124,16 @@ public class UsersClient {
                 .response();
     }
 
+    public Response deleteUserById(int userId) {
+        return given()
+                .spec(BaseAPI.withPathParams(
+                        java.util.Map.of("id", String.valueOf(userId))
+                ))
+        .when()
+                .delete(APIResources.DELETE_USER.getResource())
+        .then()
+                .extract()
+                .response();
+    }
+
 }
@@ -0,0 +1,87 @@
+package PlatziFakeStore.clients.async;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.base.ApiResponse;
+import PlatziFakeStore.base.AsyncBaseAPI;
+import PlatziFakeStore.base.ClientBackend;
+import PlatziFakeStore.clients.CategoriesClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.models.request.CreateCategoryRequest;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking twin of CategoriesClient: same endpoints, payload models and
+ * expected status codes, returning CompletableFuture<ApiResponse>.
+ * The HTTP stack follows client.backend (see ClientBackend).
+ */
+public class AsyncCategoriesClient {
+
+    private final ClientBackend backend;
+    private final CategoriesClient blockingClient = new CategoriesClient();
+
+    public AsyncCategoriesClient() {
+        this(ConfigManager.getClientBackend());
+    }
+
+    public AsyncCategoriesClient(ClientBackend backend) {
+        this.backend = backend;
+    }
+
+    public CompletableFuture<ApiResponse> getAllCategories() {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getAllCategories());
+        }
+        return AsyncBaseAPI.send(APIResources.GET_ALL_CATEGORIES)
+                .thenApply(AsyncBaseAPI.expect(200));
+    }
+
+    public CompletableFuture<ApiResponse> getCategoryById(int categoryId) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getCategoryById(categoryId));
+        }
+        return AsyncBaseAPI.send(APIResources.GET_CATEGORY_BY_ID, Map.of("id", String.valueOf(categoryId)))
+                .thenApply(AsyncBaseAPI.expect(200));
+    }
+
+    public CompletableFuture<ApiResponse> getCategoryByInvalidId(int categoryId) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getCategoryByInvalidId(categoryId));
+        }
+        return AsyncBaseAPI.send(APIResources.GET_CATEGORY_BY_ID, Map.of("id", String.valueOf(categoryId)))
+                .thenApply(AsyncBaseAPI.expect(400));
+    }
+
+    public CompletableFuture<ApiResponse> getCategoryBySlug(String categorySlug) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getCategoryBySlug(categorySlug));
+        }
+        return AsyncBaseAPI.send(APIResources.GET_CATEGORY_BY_SLUG, Map.of("slug", categorySlug))
+                .thenApply(AsyncBaseAPI.expect(200));
+    }
+
+    public CompletableFuture<ApiResponse> getCategoryByNonExistentSlug(String categorySlug) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getCategoryByNonExistentSlug(categorySlug));
+        }
+        return AsyncBaseAPI.send(APIResources.GET_CATEGORY_BY_SLUG, Map.of("slug", categorySlug))
+                .thenApply(AsyncBaseAPI.expect(400));
+    }
+
+    public CompletableFuture<ApiResponse> createCategory(CreateCategoryRequest categoryPayload) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.createCategory(categoryPayload));
+        }
+        return AsyncBaseAPI.send(APIResources.CREATE_CATEGORY, Map.of(), categoryPayload)
+                .thenApply(AsyncBaseAPI.expect(201));
+    }
+
+    public CompletableFuture<ApiResponse> updateCategoryById(int categoryId, CreateCategoryRequest updatePayload) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.updateCategoryById(categoryId, updatePayload));
+        }
+        return AsyncBaseAPI.send(APIResources.UPDATE_CATEGORY, Map.of("id", String.valueOf(categoryId)), updatePayload)
+                .thenApply(AsyncBaseAPI.expect(200));
+    }
+}
@@ -0,0 +1,111 @@
+package PlatziFakeStore.clients.async;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.base.ApiResponse;
+import PlatziFakeStore.base.AsyncBaseAPI;
+import PlatziFakeStore.base.ClientBackend;
+import PlatziFakeStore.clients.ProductsClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.models.request.CreateProductRequest;
+import PlatziFakeStore.models.response.Product;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking twin of ProductsClient: same endpoints, payload models and
+ * expected status codes, returning CompletableFuture<ApiResponse>.
+ * The HTTP stack follows client.backend (see ClientBackend).
+ */
+public class AsyncProductsClient {
+
+    private final ClientBackend backend;
+    private final ProductsClient blockingClient = new ProductsClient();
+
+    public AsyncProductsClient() {
+        this(ConfigManager.getClientBackend());
+    }
+
+    public AsyncProductsClient(ClientBackend backend) {
+        this.backend = backend;
+    }
+
+    public CompletableFuture<ApiResponse> createProduct(CreateProductRequest requestBody) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.createProduct(requestBody));
+        }
+        return AsyncBaseAPI.send(APIResources.CREATE_PRODUCT, Map.of(), requestBody)
+                .thenApply(AsyncBaseAPI.expect(201));
+    }
+
+    public CompletableFuture<ApiResponse> getAllProducts() {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getAllProducts());
+        }
+        return AsyncBaseAPI.send(APIResources.GET_ALL_PRODUCTS)
+                .thenApply(AsyncBaseAPI.expect(200));
+    }
+
+    public CompletableFuture<ApiResponse> getProductById(int productId) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getProductById(productId));
+        }
+        return AsyncBaseAPI.send(APIResources.GET_PRODUCT_BY_ID, Map.of("id", String.valueOf(productId)))
+                .thenApply(AsyncBaseAPI.expect(200));
+    }
+
+    public CompletableFuture<ApiResponse> getProductByInvalidId(int productId) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getProductByInvalidId(productId));
+        }
+        return AsyncBaseAPI.send(APIResources.GET_PRODUCT_BY_ID, Map.of("id", String.valueOf(productId)))
+                .thenApply(AsyncBaseAPI.expect(400));
+    }
+
+    public CompletableFuture<ApiResponse> getProductBySlug(String productSlug) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getProductBySlug(productSlug));
+        }
+        return AsyncBaseAPI.send(APIResources.GET_PRODUCT_BY_SLUG, Map.of("slug", productSlug))
+                .thenApply(AsyncBaseAPI.expect(200));
+    }
+
+    public CompletableFuture<ApiResponse> getProductByInvalidSlug(String productSlug) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getProductByInvalidSlug(productSlug));
+        }
+        return AsyncBaseAPI.send(APIResources.GET_PRODUCT_BY_SLUG, Map.of("slug", productSlug))
+                .thenApply(AsyncBaseAPI.expect(400));
+    }
+
+    public CompletableFuture<ApiResponse> updateProductById(int productId, Product updatePayload) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.updateProductById(productId, updatePayload));
+        }
+        return AsyncBaseAPI.send(APIResources.UPDATE_PRODUCT, Map.of("id", String.valueOf(productId)), updatePayload)
+                .thenApply(AsyncBaseAPI.expect(200));
+    }
+
+    public CompletableFuture<ApiResponse> updateProductByInvalidId(int productId, Product updatePayload) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.updateProductByInvalidId(productId, updatePayload));
+        }
+        return AsyncBaseAPI.send(APIResources.UPDATE_PRODUCT, Map.of("id", String.valueOf(productId)), updatePayload)
+                .thenApply(AsyncBaseAPI.expect(400));
+    }
+
+    public CompletableFuture<ApiResponse> deleteProductById(int productId) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.deleteProductById(productId));
+        }
+        return AsyncBaseAPI.send(APIResources.DELETE_PRODUCT, Map.of("id", String.valueOf(productId)));
+    }
+
+    public CompletableFuture<ApiResponse> deleteProductByInvalidId(int productId) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.deleteProductByInvalidId(productId));
+        }
+        return AsyncBaseAPI.send(APIResources.DELETE_PRODUCT, Map.of("id", String.valueOf(productId)))
+                .thenApply(AsyncBaseAPI.expect(400));
+    }
+}
@@ -0,0 +1,103 @@
+package PlatziFakeStore.clients.async;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.base.ApiResponse;
+import PlatziFakeStore.base.AsyncBaseAPI;
+import PlatziFakeStore.base.ClientBackend;
+import PlatziFakeStore.clients.UsersClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.models.request.CreateUserRequest;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking twin of UsersClient: same endpoints, payload models and
+ * expected status codes, returning CompletableFuture<ApiResponse>.
+ * The HTTP stack follows client.backend (see ClientBackend).
+ */
+public class AsyncUsersClient {
+
+    private final ClientBackend backend;
+    private final UsersClient blockingClient = new UsersClient();
+
+    public AsyncUsersClient() {
+        this(ConfigManager.getClientBackend());
+    }
+
+    public AsyncUsersClient(ClientBackend backend) {
+        this.backend = backend;
+    }
+
+    public CompletableFuture<ApiResponse> getAllUsers() {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getAllUsers());
+        }
+        return AsyncBaseAPI.send(APIResources.GET_ALL_USERS)
+                .thenApply(AsyncBaseAPI.expect(200));
+    }
+
+    public CompletableFuture<ApiResponse> getUserById(int userId) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getUserById(userId));
+        }
+        return AsyncBaseAPI.send(APIResources.GET_USER_BY_ID, Map.of("id", String.valueOf(userId)))
+                .thenApply(AsyncBaseAPI.expect(200));
+    }
+
+    public CompletableFuture<ApiResponse> getUserByInvalidId(int userId) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getUserByInvalidId(userId));
+        }
+        return AsyncBaseAPI.send(APIResources.GET_USER_BY_ID, Map.of("id", String.valueOf(userId)))
+                .thenApply(AsyncBaseAPI.expect(400));
+    }
+
+    public CompletableFuture<ApiResponse> getUserByIdString(String userId) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.getUserByIdString(userId));
+        }
+        return AsyncBaseAPI.send(APIResources.GET_USER_BY_ID, Map.of("id", userId))
+                .thenApply(AsyncBaseAPI.expect(400));
+    }
+
+    public CompletableFuture<ApiResponse> createUser(CreateUserRequest userPayload) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.createUser(userPayload));
+        }
+        return AsyncBaseAPI.send(APIResources.CREATE_USER, Map.of(), userPayload)
+                .thenApply(AsyncBaseAPI.expect(201));
+    }
+
+    public CompletableFuture<ApiResponse> createUserWithBadReq(CreateUserRequest userPayload) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.createUserWithBadReq(userPayload));
+        }
+        return AsyncBaseAPI.send(APIResources.CREATE_USER, Map.of(), userPayload)
+                .thenApply(AsyncBaseAPI.expect(400));
+    }
+
+    public CompletableFuture<ApiResponse> createUserWithServerError(CreateUserRequest userPayload) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.createUserWithServerError(userPayload));
+        }
+        return AsyncBaseAPI.send(APIResources.CREATE_USER, Map.of(), userPayload)
+                .thenApply(AsyncBaseAPI.expect(500));
+    }
+
+    public CompletableFuture<ApiResponse> updateUser(int userId, CreateUserRequest updatePayload) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.updateUser(userId, updatePayload));
+        }
+        return AsyncBaseAPI.send(APIResources.UPDATE_USER, Map.of("id", String.valueOf(userId)), updatePayload)
+                .thenApply(AsyncBaseAPI.expect(200));
+    }
+
+    public CompletableFuture<ApiResponse> updateUserBadRequest(int userId, CreateUserRequest updatePayload) {
+        if (backend == ClientBackend.REST_ASSURED) {
+            return AsyncBaseAPI.blocking(() -> blockingClient.updateUserBadRequest(userId, updatePayload));
+        }
+        return AsyncBaseAPI.send(APIResources.UPDATE_USER, Map.of("id", String.valueOf(userId)), updatePayload)
+                .thenApply(AsyncBaseAPI.expect(400));
+    }
+}
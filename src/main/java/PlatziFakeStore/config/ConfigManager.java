@@ -1,45 +1,76 @@
 package PlatziFakeStore.config;
 
-import java.io.FileInputStream;
+import PlatziFakeStore.base.ClientBackend;
+import PlatziFakeStore.replay.ReplayMode;
+import PlatziFakeStore.replay.ReplayTiming;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * ConfigManager
  * --------------------------------------------------
- * - Loads environment-specific properties at runtime
+ * - Loads config.properties from the classpath (falls back to
+ *   src/test/resources for tools run from the repository root);
+ *   -Dconfig.file=<path> points at any other file
  * - Supports system property overrides (Maven/CI)
- * - Provides typed getters for configuration keys
+ * - Provides typed getters for configuration keys, served from an
+ *   immutable ConfigSnapshot: each value is trimmed and parsed once
+ * - Hot reload (config.watch=true): a file watcher rebuilds the snapshot
+ *   and swaps it atomically; listeners are told about the new snapshot
  * - Fully integrated with APIResources & BaseAPI
  * - Centralized source of truth for all configuration
  *
+ * Values are read on use, so anything built after a reload (specs,
+ * schedulers, load profiles) sees the new rates and timeouts. Under Maven
+ * the classpath copy lives in target/test-classes; for soak runs point
+ * -Dconfig.file at the file you intend to edit.
+ *
  * Usage:
  *   ConfigManager.getBaseUrl()
- *   ConfigManager.getDefaultEmail()
+ *   ConfigManager.override("base.url", stubServer.getBaseUrl())
+ *   try (ConfigOverride ignored = ConfigManager.overrideScoped("cache.ttl.ms", "0")) { ... }
+ *   ConfigManager.addReloadListener(snapshot -> ...)
  *
  * Environment Switching:
  *   mvn clean test -Denv=staging
  */
 public final class ConfigManager {
 
-    private static final Properties properties = new Properties();
+    private static final String CONFIG_RESOURCE = "config.properties";
+    private static final Path FALLBACK_PATH = Path.of("src/test/resources", CONFIG_RESOURCE);
     private static final String DEFAULT_ENV = "dev"; // fallback if not provided
 
+    private static final List<Consumer<ConfigSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    private static final Source source = locateSource();
+    private static volatile ConfigSnapshot snapshot = load(1);
+
     private ConfigManager() {
         // Prevent instantiation
     }
 
     static {
-        try (InputStream input = new FileInputStream("src/test/resources/config.properties")) {
-            properties.load(input);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load configuration file: " + e.getMessage());
+        if (getBoolean("config.watch", false)) {
+            startWatcher();
         }
     }
 
 
-
     // ======================================================
     // BASE & ENVIRONMENT CONFIG
     // ======================================================
@@ -52,23 +83,463 @@ public final class ConfigManager {
     }
 
     public static boolean isRequestLoggingEnabled() {
-        return Boolean.parseBoolean(getProperty("log.request"));
+        return getBoolean("log.request");
     }
 
     public static boolean isResponseLoggingEnabled() {
-        return Boolean.parseBoolean(getProperty("log.response"));
+        return getBoolean("log.response");
     }
 
     public static int getConnectionTimeout() {
-        return Integer.parseInt(getProperty("timeout.connection"));
+        return getInt("timeout.connection");
     }
 
     public static int getReadTimeout() {
-        return Integer.parseInt(getProperty("timeout.read"));
+        return getInt("timeout.read");
     }
 
     public static long getMaxResponseTimeout() {
-        return Long.parseLong(getProperty("timeout.response"));
+        return getLong("timeout.response");
+    }
+
+    public static boolean isMetricsEnabled() {
+        return getBoolean("metrics.enabled", true);
+    }
+
+    /** DNS / connect / TLS / write / first byte / download timings (needs metrics.enabled and pool.enabled). */
+    public static boolean isPhaseMetricsEnabled() {
+        return getBoolean("metrics.phases.enabled", true);
+    }
+
+    public static Path getPhaseMetricsFile() {
+        return Path.of(getProperty("metrics.phases.file", "target/phase-latency.csv"));
+    }
+
+    /** Live Prometheus endpoint for the duration of the suite (MetricsServer). */
+    public static boolean isMetricsServerEnabled() {
+        return getBoolean("metrics.server.enabled", false);
+    }
+
+    public static String getMetricsServerHost() {
+        return getProperty("metrics.server.host", "localhost");
+    }
+
+    public static int getMetricsServerPort() {
+        return getInt("metrics.server.port", 9464);
+    }
+
+    /** Per-thread ring of recent exchanges, dumped on failure (ExchangeCapture). */
+    public static boolean isCaptureEnabled() {
+        return getBoolean("capture.enabled", true);
+    }
+
+    public static int getCaptureSize() {
+        return getInt("capture.size", 32);
+    }
+
+    /** Ring size per LoadEngine virtual user; smaller, since there can be thousands of them. */
+    public static int getCaptureLoadSize() {
+        return getInt("capture.load.size", 4);
+    }
+
+    public static int getCaptureBodyMaxBytes() {
+        return getInt("capture.body.max.bytes", 8192);
+    }
+
+    public static Path getCaptureDir() {
+        return Path.of(getProperty("capture.dir", "target/captures"));
+    }
+
+    public static ClientBackend getClientBackend() {
+        return ClientBackend.fromKey(getProperty("client.backend", "restassured"));
+    }
+
+
+    // ======================================================
+    // AUTH CONFIG
+    // ======================================================
+    public static String getAuthEmail() {
+        return getProperty("auth.email", "john@mail.com");
+    }
+
+    public static String getAuthPassword() {
+        return getProperty("auth.password", "changeme");
+    }
+
+    public static long getAuthRefreshAheadSeconds() {
+        return getLong("auth.refresh.ahead.seconds", 60L);
+    }
+
+    public static long getAuthExpirySkewSeconds() {
+        return getLong("auth.expiry.skew.seconds", 5L);
+    }
+
+    public static int getAuthPoolSize() {
+        return getInt("auth.pool.size", 100);
+    }
+
+    public static int getAuthPoolParallelism() {
+        return getInt("auth.pool.parallelism", 16);
+    }
+
+    public static long getAuthPoolSweepMillis() {
+        return getLong("auth.pool.sweep.ms", 1000L);
+    }
+
+
+    // ======================================================
+    // PAGINATION CONFIG
+    // ======================================================
+    public static int getPaginationPageSize() {
+        return getInt("pagination.page.size", 50);
+    }
+
+    public static int getPaginationPrefetchDepth() {
+        return getInt("pagination.prefetch.depth", 2);
+    }
+
+
+    // ======================================================
+    // RESPONSE CACHE CONFIG
+    // ======================================================
+    public static boolean isCacheEnabled() {
+        return getBoolean("cache.enabled", true);
+    }
+
+    public static int getCacheMaxEntries() {
+        return getInt("cache.max.entries", 500);
+    }
+
+    /** cache.ttl.<endpoint> (lower-case APIResources name), else cache.ttl.ms. */
+    public static long getCacheTtlMillis(String endpoint) {
+        return getLong("cache.ttl." + endpoint, getLong("cache.ttl.ms", 0L));
+    }
+
+    public static boolean isCoalescingEnabled() {
+        return getBoolean("coalesce.enabled", false);
+    }
+
+
+    // ======================================================
+    // RESILIENCE CONFIG (hedging, retries, retry budget)
+    // ======================================================
+    public static boolean isResilienceEnabled() {
+        return getBoolean("resilience.enabled", true);
+    }
+
+    /** Extra attempts after the first one. */
+    public static int getRetryMaxAttempts() {
+        return getInt("resilience.retry.max", 2);
+    }
+
+    public static long getRetryBackoffMillis() {
+        return getLong("resilience.retry.backoff.ms", 100L);
+    }
+
+    public static long getRetryBackoffMaxMillis() {
+        return getLong("resilience.retry.backoff.max.ms", 2000L);
+    }
+
+    public static double getRetryBudgetRatio() {
+        return getDouble("resilience.budget.ratio", 0.1);
+    }
+
+    public static long getRetryBudgetFloor() {
+        return getLong("resilience.budget.floor", 10L);
+    }
+
+    public static boolean isHedgingEnabled() {
+        return getBoolean("resilience.hedge.enabled", false);
+    }
+
+    public static double getHedgePercentile() {
+        return getDouble("resilience.hedge.percentile", 95.0);
+    }
+
+    public static long getHedgeMinDelayMillis() {
+        return getLong("resilience.hedge.min.delay.ms", 50L);
+    }
+
+    public static int getHedgeMinSamples() {
+        return getInt("resilience.hedge.min.samples", 20);
+    }
+
+
+    // ======================================================
+    // TEST ENTITY POOL CONFIG
+    // ======================================================
+    public static boolean isFixturePoolEnabled() {
+        return getBoolean("fixtures.enabled", false);
+    }
+
+    /** fixtures.pool.size.<type> (users, products, categories), else fixtures.pool.size. */
+    public static int getFixturePoolSize(String type) {
+        return getInt("fixtures.pool.size." + type, getInt("fixtures.pool.size", 10));
+    }
+
+    public static int getFixturePoolLowWater() {
+        return getInt("fixtures.pool.low.water", 3);
+    }
+
+    public static int getFixturePoolParallelism() {
+        return getInt("fixtures.pool.parallelism", 8);
+    }
+
+    public static boolean isLedgerEnabled() {
+        return getBoolean("fixtures.ledger.enabled", true);
+    }
+
+    public static Path getLedgerDir() {
+        return Path.of(getProperty("fixtures.ledger.dir", "target/entity-ledger"));
+    }
+
+    public static int getCleanupParallelism() {
+        return getInt("fixtures.cleanup.parallelism", 16);
+    }
+
+
+    // ======================================================
+    // CONNECTION POOL CONFIG
+    // ======================================================
+    public static boolean isPoolEnabled() {
+        return getBoolean("pool.enabled", true);
+    }
+
+    public static int getPoolMaxTotal() {
+        return getInt("pool.max.total", 200);
+    }
+
+    public static int getPoolMaxPerRoute() {
+        return getInt("pool.max.per.route", 20);
+    }
+
+    public static int getPoolMaxBaseRoute() {
+        return getInt("pool.max.base.route", 100);
+    }
+
+    public static long getPoolKeepAliveMillis() {
+        return getLong("pool.keepalive.ms", 30000L);
+    }
+
+    public static long getPoolIdleEvictMillis() {
+        return getLong("pool.idle.evict.ms", 10000L);
+    }
+
+    public static long getPoolTimeToLiveMillis() {
+        return getLong("pool.ttl.ms", 300000L);
+    }
+
+    /** How long a request waits for a free connection before failing (0 = forever). */
+    public static long getPoolLeaseTimeoutMillis() {
+        return getLong("pool.lease.timeout.ms", 30000L);
+    }
+
+
+    // ======================================================
+    // STAND-IN SERVER CONFIG
+    // ======================================================
+    public static boolean isStubEnabled() {
+        return getBoolean("stub.enabled", false);
+    }
+
+    public static int getStubPort() {
+        return getInt("stub.port", 0);
+    }
+
+
+    // ======================================================
+    // RECORD & REPLAY CONFIG
+    // ======================================================
+    public static ReplayMode getReplayMode() {
+        return ReplayMode.fromKey(getProperty("replay.mode", "off"));
+    }
+
+    public static Path getReplayArchive() {
+        return Path.of(getProperty("replay.archive", "target/traffic.pfsa"));
+    }
+
+    public static ReplayTiming getReplayTiming() {
+        return ReplayTiming.fromKey(getProperty("replay.timing", "fast"));
+    }
+
+    public static int getReplayPort() {
+        return getInt("replay.port", 0);
+    }
+
+
+    // ======================================================
+    // LOAD GENERATION CONFIG
+    // ======================================================
+    public static int getLoadVirtualUsers() {
+        return getInt("load.users", 100);
+    }
+
+    public static int getLoadRampUpSeconds() {
+        return getInt("load.rampup.seconds", 10);
+    }
+
+    public static int getLoadSteadyStateSeconds() {
+        return getInt("load.steady.seconds", 30);
+    }
+
+    public static int getLoadRampDownSeconds() {
+        return getInt("load.rampdown.seconds", 5);
+    }
+
+    public static long getLoadThinkTimeMillis() {
+        return getLong("load.think.ms", 0L);
+    }
+
+    public static double getArrivalRate() {
+        return getDouble("arrival.rate", 100.0);
+    }
+
+    public static int getArrivalDurationSeconds() {
+        return getInt("arrival.duration.seconds", 30);
+    }
+
+    public static int getArrivalMaxInFlight() {
+        return getInt("arrival.max.inflight", 10000);
+    }
+
+
+    // ======================================================
+    // SNAPSHOT & RELOAD
+    // ======================================================
+
+    /** The configuration currently in effect. */
+    public static ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Re-reads the file and the system properties and swaps the snapshot.
+     * A file that fails to load keeps the previous snapshot.
+     */
+    public static synchronized ConfigSnapshot reload() {
+        ConfigSnapshot next = load(snapshot.getVersion() + 1);
+        if (next == snapshot) {
+            return next;
+        }
+        snapshot = next;
+        for (Consumer<ConfigSnapshot> listener : listeners) {
+            try {
+                listener.accept(next);
+            } catch (RuntimeException e) {
+                System.err.println("Config reload listener failed: " + e);
+            }
+        }
+        return next;
+    }
+
+    /** Sets a system property override at runtime and applies it immediately. */
+    public static ConfigSnapshot override(String key, String value) {
+        System.setProperty(key, value);
+        return reload();
+    }
+
+    /** Like override(...), but closing the result restores the previous value. */
+    public static ConfigOverride overrideScoped(String key, String value) {
+        return ConfigOverride.apply(Map.of(key, value));
+    }
+
+    /** Overrides several keys with a single reload; closing the result restores them all. */
+    public static ConfigOverride overrideScoped(Map<String, String> values) {
+        return ConfigOverride.apply(values);
+    }
+
+    public static void addReloadListener(Consumer<ConfigSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeReloadListener(Consumer<ConfigSnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    /** Where the properties come from: a file (watchable) or a classpath entry inside a jar. */
+    private record Source(URL url, Path file) {
+        InputStream open() throws IOException {
+            return file != null ? Files.newInputStream(file) : url.openStream();
+        }
+
+        @Override
+        public String toString() {
+            return file != null ? file.toString() : url.toString();
+        }
+    }
+
+    private static Source locateSource() {
+        String explicit = System.getProperty("config.file");
+        if (explicit != null && !explicit.isBlank()) {
+            return new Source(null, Path.of(explicit.trim()).toAbsolutePath());
+        }
+        URL resource = ConfigManager.class.getClassLoader().getResource(CONFIG_RESOURCE);
+        if (resource != null) {
+            try {
+                Path file = "file".equals(resource.getProtocol()) ? Path.of(resource.toURI()) : null;
+                return new Source(resource, file);
+            } catch (URISyntaxException e) {
+                return new Source(resource, null);
+            }
+        }
+        if (Files.exists(FALLBACK_PATH)) {
+            return new Source(null, FALLBACK_PATH.toAbsolutePath());
+        }
+        throw new RuntimeException("Failed to load configuration file: " + CONFIG_RESOURCE
+                + " is not on the classpath and " + FALLBACK_PATH + " does not exist");
+    }
+
+    private static ConfigSnapshot load(long version) {
+        Properties fileProperties = new Properties();
+        try (InputStream input = source.open()) {
+            fileProperties.load(input);
+        } catch (IOException e) {
+            if (snapshot == null) {
+                throw new RuntimeException("Failed to load configuration file: " + e.getMessage());
+            }
+            System.err.println("Config reload from " + source + " failed, keeping version "
+                    + snapshot.getVersion() + ": " + e.getMessage());
+            return snapshot;
+        }
+        return new ConfigSnapshot(fileProperties, System.getProperties(), version);
+    }
+
+    private static void startWatcher() {
+        if (source.file() == null) {
+            System.err.println("config.watch ignored: " + source + " is not a plain file");
+            return;
+        }
+        Path file = source.file();
+        Path directory = file.getParent();
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            System.err.println("config.watch disabled, cannot watch " + directory + ": " + e.getMessage());
+            return;
+        }
+
+        Thread.ofPlatform().daemon().name("config-watcher").start(() -> {
+            try (watchService) {
+                while (true) {
+                    WatchKey key = watchService.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        changed |= file.getFileName().equals(event.context());
+                    }
+                    key.reset();
+                    if (changed) {
+                        Thread.sleep(50); // editors write in several steps; let the file settle
+                        reload();
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // Shutting down
+            } catch (IOException e) {
+                System.err.println("config-watcher stopped: " + e.getMessage());
+            }
+        });
     }
 
 
@@ -76,10 +547,38 @@ public final class ConfigManager {
     // INTERNAL HELPER
     // ======================================================
     private static String getProperty(String key) {
-        String value = System.getProperty(key, properties.getProperty(key));
-        if (value == null || value.isBlank()) {
-            throw new RuntimeException("Missing configuration key: " + key);
-        }
-        return value.trim();
+        return snapshot.getString(key);
+    }
+
+    private static String getProperty(String key, String defaultValue) {
+        return snapshot.getString(key, defaultValue);
+    }
+
+    private static int getInt(String key) {
+        return snapshot.getInt(key);
+    }
+
+    private static int getInt(String key, int defaultValue) {
+        return snapshot.getInt(key, defaultValue);
+    }
+
+    private static long getLong(String key) {
+        return snapshot.getLong(key);
+    }
+
+    private static long getLong(String key, long defaultValue) {
+        return snapshot.getLong(key, defaultValue);
+    }
+
+    private static double getDouble(String key, double defaultValue) {
+        return snapshot.getDouble(key, defaultValue);
+    }
+
+    private static boolean getBoolean(String key) {
+        return snapshot.getBoolean(key);
+    }
+
+    private static boolean getBoolean(String key, boolean defaultValue) {
+        return snapshot.getBoolean(key, defaultValue);
     }
 }
@@ -0,0 +1,52 @@
+package PlatziFakeStore.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ConfigOverride
+ * --------------------------------------------------
+ * - System property overrides that undo themselves: close() puts back the
+ *   values the keys had before (clearing the ones that were unset) and
+ *   reloads the configuration once
+ * - Created by ConfigManager.overrideScoped(...); use try-with-resources,
+ *   or keep it in a field and close it in an @After hook
+ * - Closing twice is a no-op; nested overrides of the same key must be
+ *   closed in reverse order
+ *
+ * Usage:
+ *   try (ConfigOverride ignored = ConfigManager.overrideScoped("coalesce.enabled", "true")) {
+ *       ...
+ *   }
+ */
+public final class ConfigOverride implements AutoCloseable {
+
+    private final Map<String, String> previous; // key -> value before the override, null when unset
+    private boolean closed;
+
+    private ConfigOverride(Map<String, String> previous) {
+        this.previous = previous;
+    }
+
+    static ConfigOverride apply(Map<String, String> values) {
+        Map<String, String> previous = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            previous.put(entry.getKey(), System.setProperty(entry.getKey(), entry.getValue()));
+        }
+        ConfigManager.reload();
+        return new ConfigOverride(previous);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        previous.forEach((key, value) -> {
+            if (value == null) System.clearProperty(key);
+            else System.setProperty(key, value);
+        });
+        ConfigManager.reload();
+    }
+}
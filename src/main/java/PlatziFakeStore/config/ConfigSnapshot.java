@@ -0,0 +1,119 @@
+package PlatziFakeStore.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * ConfigSnapshot
+ * --------------------------------------------------
+ * - Immutable view of the configuration at one point in time: file
+ *   properties with system property overrides applied, values trimmed,
+ *   blank values dropped
+ * - Typed reads parse a key once and memoize the result, so hot paths
+ *   (spec builds, filters) pay a map lookup, not a parse
+ * - ConfigManager swaps whole snapshots on reload; a reader holding one
+ *   never sees a half-applied change
+ */
+public final class ConfigSnapshot {
+
+    private final Map<String, String> values;
+    private final long version;
+    private final Map<String, Object> parsed = new ConcurrentHashMap<>();
+
+    ConfigSnapshot(Properties fileProperties, Properties systemProperties, long version) {
+        Map<String, String> merged = new HashMap<>();
+        put(merged, fileProperties);
+        put(merged, systemProperties);
+        this.values = Collections.unmodifiableMap(merged);
+        this.version = version;
+    }
+
+    private static void put(Map<String, String> target, Properties source) {
+        for (String key : source.stringPropertyNames()) {
+            String value = source.getProperty(key);
+            if (value != null && !value.isBlank()) {
+                target.put(key, value.trim());
+            }
+        }
+    }
+
+    /** Increases by one with every reload. */
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    /* ****************************
+     *  Typed reads
+     * ****************************/
+
+    public String getString(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            throw new RuntimeException("Missing configuration key: " + key);
+        }
+        return value;
+    }
+
+    public String getString(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key) {
+        return parse(getString(key), key, Integer.class, Integer::valueOf);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return values.containsKey(key) ? getInt(key) : defaultValue;
+    }
+
+    public long getLong(String key) {
+        return parse(getString(key), key, Long.class, Long::valueOf);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        return values.containsKey(key) ? getLong(key) : defaultValue;
+    }
+
+    public double getDouble(String key) {
+        return parse(getString(key), key, Double.class, Double::valueOf);
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        return values.containsKey(key) ? getDouble(key) : defaultValue;
+    }
+
+    public boolean getBoolean(String key) {
+        return parse(getString(key), key, Boolean.class, Boolean::valueOf);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return values.containsKey(key) ? getBoolean(key) : defaultValue;
+    }
+
+    private <T> T parse(String raw, String key, Class<T> type, Function<String, T> parser) {
+        Object cached = parsed.get(key);
+        if (type.isInstance(cached)) {
+            return type.cast(cached);
+        }
+        try {
+            T value = parser.apply(raw);
+            parsed.put(key, value);
+            return value;
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid " + type.getSimpleName() + " for configuration key " + key + ": " + raw);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigSnapshot[version: " + version + "; keys: " + values.size() + "]";
+    }
+}
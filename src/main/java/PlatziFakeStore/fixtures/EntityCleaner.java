@@ -0,0 +1,160 @@
+package PlatziFakeStore.fixtures;
+
+import PlatziFakeStore.clients.CategoriesClient;
+import PlatziFakeStore.clients.ProductsClient;
+import PlatziFakeStore.clients.UsersClient;
+import PlatziFakeStore.config.ConfigManager;
+import io.restassured.response.Response;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * EntityCleaner
+ * --------------------------------------------------
+ * - Bulk-deletes ledgered entities through the regular clients, at most
+ *   fixtures.cleanup.parallelism deletes in flight
+ * - One phase per EntityType, in declaration order (products before
+ *   the categories they belong to); deletes within a phase run in parallel
+ * - A 400 for a ledgered id means it is already gone and counts as done
+ * - cleanCurrentRun(): suite end, this run's ledger; the file is removed
+ *   once nothing is left, else kept for the next run
+ * - cleanOrphans(): suite start, ledgers of crashed or killed runs
+ *   against the same base.url; ledgers of dead in-process stand-in
+ *   servers (loopback, another port) are dropped without calls
+ *
+ * Usage:
+ *   System.out.println(EntityCleaner.cleanOrphans());
+ */
+public final class EntityCleaner {
+
+    private static final ProductsClient PRODUCTS = new ProductsClient();
+    private static final UsersClient USERS = new UsersClient();
+    private static final CategoriesClient CATEGORIES = new CategoriesClient();
+
+    private EntityCleaner() {
+        // Prevent instantiation
+    }
+
+    /** Deletes what this run created and did not delete itself. */
+    public static Report cleanCurrentRun() {
+        EntityLedger ledger = EntityLedger.currentIfOpen();
+        if (ledger == null) return new Report();
+
+        Report report = clean(ledger.liveEntities());
+        // Successful deletes went through LedgerFilter, so the ledger now lists only the failures
+        ledger.close(report.failed.sum() == 0);
+        return report;
+    }
+
+    /** Deletes what runs that are gone left behind. */
+    public static Report cleanOrphans() {
+        Report total = new Report();
+        String baseUrl = ConfigManager.getBaseUrl();
+        for (EntityLedger.Orphan orphan : EntityLedger.claimOrphans(ConfigManager.getLedgerDir())) {
+            if (baseUrl.equals(orphan.getBaseUrl())) {
+                Report report = clean(orphan.getEntities());
+                total.add(report);
+                if (report.failed.sum() == 0) orphan.discard();
+                else orphan.release();
+            } else if (isLoopback(orphan.getBaseUrl())) {
+                orphan.discard(); // its stand-in server died with the run, and the entities with it
+            } else {
+                orphan.release(); // another environment: left for a run against it
+            }
+        }
+        return total;
+    }
+
+    /** Deletes {@code entities}, type by type in EntityType order. */
+    public static Report clean(Map<EntityType, ? extends Collection<Integer>> entities) {
+        Report report = new Report();
+        Semaphore slots = new Semaphore(ConfigManager.getCleanupParallelism());
+        for (EntityType type : EntityType.values()) {
+            Collection<Integer> ids = entities.get(type);
+            if (ids == null || ids.isEmpty()) continue;
+
+            // Closing the executor waits for the phase, so the next type starts on a clean slate
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int id : ids) {
+                    executor.submit(() -> {
+                        slots.acquireUninterruptibly();
+                        try {
+                            report.record(delete(type, id));
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                }
+            }
+        }
+        return report;
+    }
+
+    /* ****************************
+     *  Deletes
+     * ****************************/
+
+    private enum Outcome { DELETED, ALREADY_GONE, FAILED }
+
+    private static Outcome delete(EntityType type, int id) {
+        try {
+            Response response = switch (type) {
+                case PRODUCT -> PRODUCTS.deleteProductById(id);
+                case USER -> USERS.deleteUserById(id);
+                case CATEGORY -> CATEGORIES.deleteCategoryById(id);
+            };
+            int status = response.getStatusCode();
+            if (status < 300) return Outcome.DELETED;
+            return status == 400 || status == 404 ? Outcome.ALREADY_GONE : Outcome.FAILED;
+        } catch (Exception | AssertionError e) { // checked ConnectException & co. too: keep the ledger
+            return Outcome.FAILED;
+        }
+    }
+
+    private static boolean isLoopback(String baseUrl) {
+        return baseUrl != null && (baseUrl.contains("://localhost") || baseUrl.contains("://127.0.0.1"));
+    }
+
+    /* ****************************
+     *  Report
+     * ****************************/
+
+    public static final class Report {
+
+        private final LongAdder deleted = new LongAdder();
+        private final LongAdder alreadyGone = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private void record(Outcome outcome) {
+            switch (outcome) {
+                case DELETED -> deleted.increment();
+                case ALREADY_GONE -> alreadyGone.increment();
+                case FAILED -> failed.increment();
+            }
+        }
+
+        private void add(Report other) {
+            deleted.add(other.deleted.sum());
+            alreadyGone.add(other.alreadyGone.sum());
+            failed.add(other.failed.sum());
+        }
+
+        public long getDeleted() { return deleted.sum(); }
+        public long getAlreadyGone() { return alreadyGone.sum(); }
+        public long getFailed() { return failed.sum(); }
+
+        public long getTotal() {
+            return getDeleted() + getAlreadyGone() + getFailed();
+        }
+
+        @Override
+        public String toString() {
+            return "[deleted: " + getDeleted() + "; already gone: " + getAlreadyGone() + "; failed: " + getFailed() + "]";
+        }
+    }
+}
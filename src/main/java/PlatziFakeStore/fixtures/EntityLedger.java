@@ -0,0 +1,328 @@
+package PlatziFakeStore.fixtures;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * EntityLedger
+ * --------------------------------------------------
+ * - Append-only file of every entity this run created ("+ PRODUCT 42")
+ *   and deleted again ("- PRODUCT 42"), one line per event, written
+ *   before the creating call returns to the test
+ * - One file per run under fixtures.ledger.dir, opened on the first
+ *   create and exclusively locked while the run is alive; the header
+ *   records the base.url the ids belong to
+ * - A file whose lock can be taken belongs to a run that is gone
+ *   (finished, crashed or killed): EntityCleaner claims it at the next
+ *   suite start and deletes what it still lists
+ * - Fed by LedgerFilter (Rest Assured clients) and AsyncBaseAPI
+ *   (java-http backend) through observe()
+ *
+ * Lines reach the OS on every write, so a JVM crash loses nothing; only
+ * a machine crash can lose the tail of the file.
+ */
+public final class EntityLedger {
+
+    private static final String SUFFIX = ".ledger";
+    private static final String BASE_URL_HEADER = "# base.url ";
+
+    private static volatile EntityLedger current;
+
+    private final Path file;
+    private final String baseUrl;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final Map<EntityType, Set<Integer>> live = new EnumMap<>(EntityType.class);
+    private boolean closed; // guarded by this
+
+    private EntityLedger(Path file, String baseUrl, FileChannel channel, FileLock lock) {
+        this.file = file;
+        this.baseUrl = baseUrl;
+        this.channel = channel;
+        this.lock = lock;
+        for (EntityType type : EntityType.values()) live.put(type, ConcurrentHashMap.newKeySet());
+    }
+
+    /* ****************************
+     *  Recording
+     * ****************************/
+
+    /**
+     * Records the outcome of one exchange if it created or deleted an
+     * entity; any other exchange is ignored. {@code body} is read only for
+     * successful creates.
+     */
+    public static void observe(APIResources endpoint, int statusCode, Map<String, ?> pathParams, Supplier<byte[]> body) {
+        if (endpoint == null || statusCode >= 300 || !ConfigManager.isLedgerEnabled()) return;
+
+        EntityType created = EntityType.createdBy(endpoint);
+        if (created != null) {
+            int id = idOf(body.get());
+            if (id > 0) current().append('+', created, id);
+            return;
+        }
+        EntityType deleted = EntityType.deletedBy(endpoint);
+        EntityLedger ledger = current;
+        if (deleted != null && ledger != null && pathParams.get("id") != null) {
+            try {
+                int id = Integer.parseInt(String.valueOf(pathParams.get("id")));
+                if (ledger.live.get(deleted).contains(id)) ledger.append('-', deleted, id);
+            } catch (NumberFormatException e) {
+                // not one of ours
+            }
+        }
+    }
+
+    /** This run's ledger, opened on first use. */
+    public static EntityLedger current() {
+        EntityLedger ledger = current;
+        if (ledger == null) {
+            synchronized (EntityLedger.class) {
+                ledger = current;
+                if (ledger == null) {
+                    ledger = open(ConfigManager.getLedgerDir(), ConfigManager.getBaseUrl());
+                    current = ledger;
+                }
+            }
+        }
+        return ledger;
+    }
+
+    /** This run's ledger if anything was created yet, else null. */
+    public static EntityLedger currentIfOpen() {
+        return current;
+    }
+
+    private static EntityLedger open(Path dir, String baseUrl) {
+        try {
+            Files.createDirectories(dir);
+            String name = Instant.now().toString().replace(':', '-') + "-" + ProcessHandle.current().pid() + SUFFIX;
+            Path file = dir.resolve(name);
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            FileLock lock = channel.lock();
+            EntityLedger ledger = new EntityLedger(file, baseUrl, channel, lock);
+            ledger.write(BASE_URL_HEADER + baseUrl + "\n");
+            return ledger;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open entity ledger in " + dir + ": " + e.getMessage(), e);
+        }
+    }
+
+    private synchronized void append(char op, EntityType type, int id) {
+        if (closed) return;
+        if (op == '+') live.get(type).add(id);
+        else live.get(type).remove(id);
+        write(op + " " + type + " " + id + "\n");
+    }
+
+    private void write(String line) {
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) channel.write(bytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write entity ledger " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static int idOf(byte[] body) {
+        try {
+            JsonNode id = JsonUtils.fromJson(body, JsonNode.class).get("id");
+            return id != null && id.canConvertToInt() ? id.asInt() : -1;
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /* ****************************
+     *  Reading
+     * ****************************/
+
+    /** Entities created by this run and not deleted yet, in cleanup order. */
+    public Map<EntityType, Set<Integer>> liveEntities() {
+        Map<EntityType, Set<Integer>> copy = new EnumMap<>(EntityType.class);
+        live.forEach((type, ids) -> copy.put(type, new LinkedHashSet<>(ids)));
+        return copy;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Releases the lock. With {@code delete} the file goes too; otherwise
+     * it stays behind for the next run to claim.
+     */
+    public void close(boolean delete) {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        synchronized (EntityLedger.class) {
+            if (current == this) current = null;
+        }
+        releaseAndMaybeDelete(file, channel, lock, delete);
+    }
+
+    /* ****************************
+     *  Orphans (ledgers of runs that are gone)
+     * ****************************/
+
+    /** A dead run's ledger, locked by this process until released. */
+    public static final class Orphan {
+
+        private final Path file;
+        private final String baseUrl;
+        private final Map<EntityType, Set<Integer>> entities;
+        private final FileChannel channel;
+        private final FileLock lock;
+
+        private Orphan(Path file, String baseUrl, Map<EntityType, Set<Integer>> entities,
+                       FileChannel channel, FileLock lock) {
+            this.file = file;
+            this.baseUrl = baseUrl;
+            this.entities = entities;
+            this.channel = channel;
+            this.lock = lock;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        /** base.url the ids belong to; null for a file without header. */
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        /** Created and never deleted, in cleanup order. */
+        public Map<EntityType, Set<Integer>> getEntities() {
+            return entities;
+        }
+
+        /** Everything listed is gone: drop the file. */
+        public void discard() {
+            releaseAndMaybeDelete(file, channel, lock, true);
+        }
+
+        /** Leave the file for a later run. */
+        public void release() {
+            releaseAndMaybeDelete(file, channel, lock, false);
+        }
+    }
+
+    /**
+     * Claims every ledger in {@code dir} whose owner is gone. Ledgers of
+     * live runs (this one included) are locked and skipped.
+     */
+    public static List<Orphan> claimOrphans(Path dir) {
+        List<Orphan> orphans = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return orphans;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : files) {
+                Orphan orphan = claim(file);
+                if (orphan != null) orphans.add(orphan);
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot list entity ledgers in " + dir + ": " + e.getMessage());
+        }
+        return orphans;
+    }
+
+    private static Orphan claim(Path file) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                channel.close(); // another process holds it: a live run
+                return null;
+            }
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            String baseUrl = null;
+            Map<EntityType, Set<Integer>> entities = new EnumMap<>(EntityType.class);
+            for (EntityType type : EntityType.values()) entities.put(type, new LinkedHashSet<>());
+            for (String line : lines) {
+                if (line.startsWith(BASE_URL_HEADER)) {
+                    baseUrl = line.substring(BASE_URL_HEADER.length()).trim();
+                } else if (line.startsWith("+ ") || line.startsWith("- ")) {
+                    replay(line, entities);
+                }
+            }
+            return new Orphan(file, baseUrl, entities, channel, lock);
+        } catch (OverlappingFileLockException e) {
+            close(channel); // locked by this JVM: the current run's own ledger
+            return null;
+        } catch (IOException e) {
+            close(channel);
+            System.err.println("Cannot claim entity ledger " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void replay(String line, Map<EntityType, Set<Integer>> entities) {
+        String[] parts = line.split(" ");
+        if (parts.length != 3) return; // torn last line of a crashed run
+        try {
+            EntityType type = EntityType.valueOf(parts[1]);
+            int id = Integer.parseInt(parts[2]);
+            if (parts[0].equals("+")) entities.get(type).add(id);
+            else entities.get(type).remove(id);
+        } catch (IllegalArgumentException e) {
+            // unknown type or torn id: skip the line
+        }
+    }
+
+    private static void releaseAndMaybeDelete(Path file, FileChannel channel, FileLock lock, boolean delete) {
+        try {
+            if (delete) Files.deleteIfExists(file); // while still locked, so no other run claims it meanwhile
+            lock.release();
+        } catch (IOException e) {
+            System.err.println("Cannot release entity ledger " + file + ": " + e.getMessage());
+        } finally {
+            close(channel);
+        }
+    }
+
+    private static void close(FileChannel channel) {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing left to do
+        }
+    }
+
+    @Override
+    public String toString() {
+        int open = live.values().stream().mapToInt(Set::size).sum();
+        return "EntityLedger[" + file + "; base.url: " + baseUrl + "; live entities: " + open + "]";
+    }
+}
@@ -0,0 +1,232 @@
+package PlatziFakeStore.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * EntityPool
+ * --------------------------------------------------
+ * - Stock of ready-made entities (users, products, categories) created
+ *   ahead of the tests, {@code parallelism} creates at a time
+ * - lease() hands an entity to exactly one caller; closing the lease puts
+ *   it back for the next test, unless the test marked it dirty (mutated:
+ *   deleted through the disposer) or deleted it itself
+ * - When stock drops below the low-water mark a background refill tops it
+ *   up to the target; an empty pool creates inline rather than block
+ * - close() deletes the remaining stock; leases returned after that are
+ *   disposed instead of recycled
+ *
+ * Usage:
+ *   try (EntityPool.Lease<Product> lease = TestEntities.products().lease()) {
+ *       productsClient.updateProductById(lease.get().getId(), update);
+ *       lease.markDirty();
+ *   }
+ */
+public final class EntityPool<T> implements AutoCloseable {
+
+    private final String name;
+    private final IntFunction<T> factory;
+    private final Consumer<T> disposer;
+    private final int target;
+    private final int lowWater;
+    private final int parallelism;
+
+    private final LinkedBlockingDeque<T> available = new LinkedBlockingDeque<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder leased = new LongAdder();
+    private final LongAdder inlineCreates = new LongAdder();
+    private final LongAdder recycled = new LongAdder();
+    private final LongAdder disposed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * @param factory  creates one entity through the API; the argument is a
+     *                 pool-wide sequence number for unique names
+     * @param disposer deletes one entity through the API
+     */
+    public EntityPool(String name, IntFunction<T> factory, Consumer<T> disposer,
+                      int target, int lowWater, int parallelism) {
+        this.name = name;
+        this.factory = factory;
+        this.disposer = disposer;
+        this.target = Math.max(0, target);
+        this.lowWater = Math.min(Math.max(0, lowWater), this.target);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /** Creates entities until the stock reaches the target; blocks until done. */
+    public EntityPool<T> fill() {
+        createInParallel(target - available.size());
+        return this;
+    }
+
+    /** Exclusive use of one entity until the lease is closed. */
+    public Lease<T> lease() {
+        if (closed) throw new IllegalStateException("EntityPool " + name + " is closed");
+        T entity = available.pollFirst();
+        if (entity == null) {
+            inlineCreates.increment();
+            entity = create(); // a RuntimeException here fails the caller's setup, as an inline create would
+        }
+        leased.increment();
+        if (available.size() < lowWater) refillInBackground();
+        return new Lease<>(this, entity);
+    }
+
+    public int available() {
+        return available.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        List<T> stock = new ArrayList<>();
+        available.drainTo(stock);
+        runInParallel(stock.size(), i -> dispose(stock.get(i)));
+    }
+
+    @Override
+    public String toString() {
+        return "EntityPool[" + name + "; available: " + available() + "/" + target
+                + "; created: " + created.sum() + "; leased: " + leased.sum()
+                + "; inline creates: " + inlineCreates.sum() + "; recycled: " + recycled.sum()
+                + "; disposed: " + disposed.sum() + "; failures: " + failures.sum() + "]";
+    }
+
+    /* ****************************
+     *  Lease
+     * ****************************/
+
+    /** One entity on loan; not thread-safe, owned by the test that took it. */
+    public static final class Lease<T> implements AutoCloseable {
+
+        private final EntityPool<T> pool;
+        private final T entity;
+        private boolean dirty;
+        private boolean deleted;
+        private boolean returned;
+
+        private Lease(EntityPool<T> pool, T entity) {
+            this.pool = pool;
+            this.entity = entity;
+        }
+
+        public T get() {
+            return entity;
+        }
+
+        /** The test changed the entity; it is deleted instead of recycled. */
+        public Lease<T> markDirty() {
+            dirty = true;
+            return this;
+        }
+
+        /** The test deleted the entity itself; it is just forgotten. */
+        public Lease<T> markDeleted() {
+            deleted = true;
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (returned) return;
+            returned = true;
+            pool.giveBack(entity, dirty, deleted);
+        }
+    }
+
+    /* ****************************
+     *  Internals
+     * ****************************/
+
+    private void giveBack(T entity, boolean dirty, boolean deleted) {
+        if (deleted) {
+            refillIfLow();
+            return;
+        }
+        if (dirty || closed) {
+            Thread.startVirtualThread(() -> dispose(entity));
+            refillIfLow();
+            return;
+        }
+        recycled.increment();
+        available.offerLast(entity);
+    }
+
+    private void refillIfLow() {
+        if (!closed && available.size() < lowWater) refillInBackground();
+    }
+
+    private void refillInBackground() {
+        if (closed || !refilling.compareAndSet(false, true)) return;
+        Thread.ofVirtual().name("entity-pool-refill-" + name).start(() -> {
+            try {
+                createInParallel(target - available.size());
+            } finally {
+                refilling.set(false);
+            }
+        });
+    }
+
+    private void createInParallel(int count) {
+        runInParallel(count, i -> {
+            if (closed) return;
+            try {
+                available.offerLast(create());
+            } catch (Exception | AssertionError e) { // checked ConnectException & co. too
+                failures.increment(); // the next lease creates inline or triggers another refill
+            }
+        });
+    }
+
+    private T create() {
+        T entity = factory.apply(sequence.getAndIncrement());
+        created.increment();
+        return entity;
+    }
+
+    private void dispose(T entity) {
+        try {
+            disposer.accept(entity);
+            disposed.increment();
+        } catch (Exception | AssertionError e) { // checked ConnectException & co. too
+            failures.increment();
+        }
+    }
+
+    private interface IndexedTask {
+        void run(int index);
+    }
+
+    /** Runs task(0..count-1) on virtual threads, at most {@code parallelism} at a time; waits for all. */
+    private void runInParallel(int count, IndexedTask task) {
+        if (count <= 0) return;
+        Semaphore slots = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                executor.submit(() -> {
+                    slots.acquireUninterruptibly();
+                    try {
+                        task.run(index);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package PlatziFakeStore.fixtures;
+
+import PlatziFakeStore.base.APIResources;
+
+/**
+ * EntityType
+ * -------------
+ * Entities the suite creates and therefore has to delete again.
+ * Declaration order is cleanup order: products first, so no category is
+ * deleted while products still point at it.
+ */
+public enum EntityType {
+    PRODUCT(APIResources.CREATE_PRODUCT, APIResources.DELETE_PRODUCT),
+    USER(APIResources.CREATE_USER, APIResources.DELETE_USER),
+    CATEGORY(APIResources.CREATE_CATEGORY, APIResources.DELETE_CATEGORY);
+
+    private static final EntityType[] VALUES = values();
+
+    private final APIResources create;
+    private final APIResources delete;
+
+    EntityType(APIResources create, APIResources delete) {
+        this.create = create;
+        this.delete = delete;
+    }
+
+    public APIResources getCreateEndpoint() {
+        return create;
+    }
+
+    public APIResources getDeleteEndpoint() {
+        return delete;
+    }
+
+    /** Type created by {@code endpoint}, or null. */
+    public static EntityType createdBy(APIResources endpoint) {
+        for (EntityType type : VALUES) {
+            if (type.create == endpoint) return type;
+        }
+        return null;
+    }
+
+    /** Type deleted by {@code endpoint}, or null. */
+    public static EntityType deletedBy(APIResources endpoint) {
+        for (EntityType type : VALUES) {
+            if (type.delete == endpoint) return type;
+        }
+        return null;
+    }
+}
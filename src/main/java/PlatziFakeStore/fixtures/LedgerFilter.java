@@ -0,0 +1,39 @@
+package PlatziFakeStore.fixtures;
+
+import PlatziFakeStore.base.APIResources;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * LedgerFilter
+ * --------------------------------------------------
+ * - Rest Assured filter that writes every successful create (POST
+ *   /products, /users/, /categories/) and delete of a recorded id to the
+ *   EntityLedger before the response reaches the client
+ * - Installed by BaseAPI when fixtures.ledger.enabled=true
+ */
+public final class LedgerFilter implements OrderedFilter {
+
+    public static final LedgerFilter INSTANCE = new LedgerFilter();
+
+    private LedgerFilter() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        APIResources endpoint = APIResources.resolve(requestSpec, ctx);
+        EntityLedger.observe(endpoint, response.getStatusCode(), requestSpec.getNamedPathParams(), response::asByteArray);
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE;
+    }
+}
@@ -0,0 +1,141 @@
+package PlatziFakeStore.fixtures;
+
+import PlatziFakeStore.clients.CategoriesClient;
+import PlatziFakeStore.clients.ProductsClient;
+import PlatziFakeStore.clients.UsersClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.models.request.CreateCategoryRequest;
+import PlatziFakeStore.models.request.CreateProductRequest;
+import PlatziFakeStore.models.request.CreateUserRequest;
+import PlatziFakeStore.models.response.Category;
+import PlatziFakeStore.models.response.Product;
+import PlatziFakeStore.models.response.Users;
+import PlatziFakeStore.utils.StreamingValidator;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * TestEntities
+ * --------------------------------------------------
+ * - Suite-wide EntityPools of users, products and categories, created
+ *   through the regular clients so they hit the same code paths as tests
+ * - warmUp() fills all three pools in parallel at suite start
+ *   (BaseTest, fixtures.enabled); shutdown() deletes what is left
+ * - With fixtures.enabled=false the pools keep no stock: a lease creates
+ *   inline, and only returned clean entities are reused
+ * - Sizes: fixtures.pool.size.<type>, else fixtures.pool.size; refill
+ *   below fixtures.pool.low.water, fixtures.pool.parallelism creates at a time
+ * - Every entity carries a per-run tag in its name, so leftovers of an
+ *   aborted run are easy to spot
+ *
+ * Usage:
+ *   EntityPool.Lease<Users> user = TestEntities.users().lease();
+ */
+public final class TestEntities {
+
+    private static final String AVATAR = "https://i.imgur.com/LDOO4Qs.jpg";
+    private static final String IMAGE = "https://placehold.co/600x400";
+    private static final String RUN_TAG = Long.toString(System.currentTimeMillis(), 36);
+    private static final Set<EntityPool<?>> STARTED = ConcurrentHashMap.newKeySet(); // pools built so far
+
+    private TestEntities() {
+        // Prevent instantiation
+    }
+
+    /* ****************************
+     *  Pools
+     * ****************************/
+
+    public static EntityPool<Users> users() {
+        return UserStock.POOL;
+    }
+
+    public static EntityPool<Product> products() {
+        return ProductStock.POOL;
+    }
+
+    public static EntityPool<Category> categories() {
+        return CategoryStock.POOL;
+    }
+
+    /** Fills every pool; the three types are created concurrently. */
+    public static void warmUp() {
+        CompletableFuture.allOf(
+                CompletableFuture.runAsync(() -> users().fill(), TestEntities::startVirtual),
+                CompletableFuture.runAsync(() -> products().fill(), TestEntities::startVirtual),
+                CompletableFuture.runAsync(() -> categories().fill(), TestEntities::startVirtual)
+        ).join();
+    }
+
+    /** Deletes the remaining stock of every pool that was used; untouched pools are never built. */
+    public static void shutdown() {
+        CompletableFuture.allOf(STARTED.stream()
+                .map(pool -> CompletableFuture.runAsync(pool::close, TestEntities::startVirtual))
+                .toArray(CompletableFuture[]::new)
+        ).join();
+    }
+
+    /** One line per pool built so far. */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        STARTED.forEach(pool -> report.append(pool).append('\n'));
+        return report.toString();
+    }
+
+    private static void startVirtual(Runnable task) {
+        Thread.startVirtualThread(task);
+    }
+
+    private static <T> EntityPool<T> pool(String type, IntFunction<T> factory, Consumer<T> disposer) {
+        EntityPool<T> pool = new EntityPool<>(type, factory, disposer,
+                ConfigManager.isFixturePoolEnabled() ? ConfigManager.getFixturePoolSize(type) : 0,
+                ConfigManager.getFixturePoolLowWater(),
+                ConfigManager.getFixturePoolParallelism());
+        STARTED.add(pool);
+        return pool;
+    }
+
+    /* ****************************
+     *  Per-type holders (pools are built on first use)
+     * ****************************/
+
+    private static final class UserStock {
+        static final UsersClient CLIENT = new UsersClient();
+        static final EntityPool<Users> POOL = pool("users",
+                i -> CLIENT.createUser(new CreateUserRequest("Pooled User " + RUN_TAG + " " + i,
+                        "pool-" + RUN_TAG + "-" + i + "@mail.com", "changeme" + i, AVATAR)).as(Users.class),
+                user -> CLIENT.deleteUserById(user.getId()));
+    }
+
+    private static final class CategoryStock {
+        static final CategoriesClient CLIENT = new CategoriesClient();
+        static final EntityPool<Category> POOL = pool("categories",
+                i -> CLIENT.createCategory(new CreateCategoryRequest("Pooled Category " + RUN_TAG + " " + i, IMAGE))
+                        .as(Category.class),
+                category -> CLIENT.deleteCategoryById(category.getId()));
+    }
+
+    private static final class ProductStock {
+        static final ProductsClient CLIENT = new ProductsClient();
+        // Pooled products hang off a seeded category, so deleting pooled categories never cascades to them
+        static final int CATEGORY_ID = seededCategoryId();
+        static final EntityPool<Product> POOL = pool("products",
+                i -> CLIENT.createProduct(new CreateProductRequest("Pooled Product " + RUN_TAG + " " + i, 10 + i,
+                        "Created by TestEntities", CATEGORY_ID, new String[]{IMAGE})).as(Product.class),
+                product -> CLIENT.deleteProductById(product.getId()));
+
+        private static int seededCategoryId() {
+            List<Category> categories = StreamingValidator.of(Category.class)
+                    .keepFirst(1)
+                    .validate(new CategoriesClient().getAllCategories())
+                    .assertMinCount(1)
+                    .getKept();
+            return categories.getFirst().getId();
+        }
+    }
+}
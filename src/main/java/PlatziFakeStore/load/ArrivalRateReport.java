@@ -0,0 +1,91 @@
+package PlatziFakeStore.load;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.metrics.LatencyHistogram;
+
+import java.time.Duration;
+
+/**
+ * ArrivalRateReport
+ * --------------------------------------------------
+ * - Result of one ConstantArrivalRateScheduler run
+ * - Response time: intended send -> completion (includes queueing)
+ * - Service time: actual send -> completion (what a closed loop sees)
+ * - The gap between the two is the queueing delay a closed-loop
+ *   expectResponseTime check hides
+ */
+public final class ArrivalRateReport {
+
+    private final APIResources endpoint;
+    private final double targetRate;
+    private final Duration elapsed;
+    private final LatencyHistogram responseTime;
+    private final LatencyHistogram serviceTime;
+    private final long errors;
+    private final int peakInFlight;
+
+    ArrivalRateReport(APIResources endpoint, double targetRate, Duration elapsed,
+                      LatencyHistogram responseTime, LatencyHistogram serviceTime, long errors, int peakInFlight) {
+        this.endpoint = endpoint;
+        this.targetRate = targetRate;
+        this.elapsed = elapsed;
+        this.responseTime = responseTime;
+        this.serviceTime = serviceTime;
+        this.errors = errors;
+        this.peakInFlight = peakInFlight;
+    }
+
+    public APIResources getEndpoint() {
+        return endpoint;
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    /** Completed requests per second over the whole run. */
+    public double getAchievedRate() {
+        return responseTime.getTotalCount() / (Math.max(elapsed.toNanos(), 1) / 1e9);
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public LatencyHistogram getResponseTime() {
+        return responseTime;
+    }
+
+    public LatencyHistogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public long getRequests() {
+        return responseTime.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s @ %.0f req/s target, %.1f req/s achieved, %d requests, %d errors, peak in-flight %d%n", endpoint.name(),
+                targetRate, getAchievedRate(), getRequests(), errors, peakInFlight)
+                + row("response time", responseTime)
+                + row("service time", serviceTime);
+    }
+
+    private static String row(String label, LatencyHistogram histogram) {
+        return String.format("  %-14s p50 %8.2f ms  p90 %8.2f ms  p99 %8.2f ms  p99.9 %8.2f ms  max %8.2f ms%n", label,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMax() / 1000.0);
+    }
+}
@@ -0,0 +1,103 @@
+package PlatziFakeStore.load;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.cache.ResponseCache;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.metrics.LatencyHistogram;
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * ConstantArrivalRateScheduler
+ * --------------------------------------------------
+ * - Open-model load: request i is due at start + i / rate, whether or
+ *   not earlier responses have come back
+ * - Response time is measured from each request's intended send time,
+ *   so a slow server shows up as queueing delay instead of silently
+ *   lowering the offered load (coordinated-omission correction)
+ * - Service time (actual send to completion) is recorded separately
+ * - Each request runs on its own virtual thread; maxInFlight bounds
+ *   memory, and any wait for a slot is charged to response time
+ * - Calls bypass the ResponseCache, so every request reaches the API
+ *
+ * Usage:
+ *   ArrivalRateReport report = new ConstantArrivalRateScheduler(2000, Duration.ofSeconds(30), 10_000)
+ *           .run(APIResources.GET_ALL_PRODUCTS, productsClient::getAllProducts);
+ */
+public final class ConstantArrivalRateScheduler {
+
+    private final double ratePerSecond;
+    private final Duration duration;
+    private final int maxInFlight;
+
+    public ConstantArrivalRateScheduler(double ratePerSecond, Duration duration, int maxInFlight) {
+        if (ratePerSecond <= 0) throw new IllegalArgumentException("ratePerSecond must be positive: " + ratePerSecond);
+        if (maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /** Builds the scheduler from the arrival.* keys in config.properties. */
+    public static ConstantArrivalRateScheduler fromConfig() {
+        return new ConstantArrivalRateScheduler(
+                ConfigManager.getArrivalRate(),
+                Duration.ofSeconds(ConfigManager.getArrivalDurationSeconds()),
+                ConfigManager.getArrivalMaxInFlight());
+    }
+
+    public ArrivalRateReport run(APIResources endpoint, Supplier<Response> call) {
+        return run(endpoint, index -> call.get());
+    }
+
+    /** Fires {@code call} at the configured rate; the argument is the request's sequence number. */
+    public ArrivalRateReport run(APIResources endpoint, IntFunction<Response> call) {
+        LatencyHistogram responseTime = new LatencyHistogram();
+        LatencyHistogram serviceTime = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        Semaphore slots = new Semaphore(maxInFlight);
+
+        long intervalNanos = Math.max(1, Math.round(1e9 / ratePerSecond));
+        long total = duration.toNanos() / intervalNanos;
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long intended = start + i * intervalNanos;
+                LoadEngine.parkUntil(intended);
+                slots.acquireUninterruptibly();
+
+                int index = (int) i;
+                executor.submit(() -> {
+                    peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    long sent = System.nanoTime();
+                    try {
+                        ResponseCache.bypass(() -> call.apply(index));
+                    } catch (Exception | AssertionError failure) {
+                        errors.increment();
+                    } finally {
+                        long done = System.nanoTime();
+                        responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(done - intended));
+                        serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(done - sent));
+                        inFlight.decrementAndGet();
+                        slots.release();
+                    }
+                });
+            }
+        }
+
+        return new ArrivalRateReport(endpoint, ratePerSecond, Duration.ofNanos(System.nanoTime() - start),
+                responseTime, serviceTime, errors.sum(), peakInFlight.get());
+    }
+}
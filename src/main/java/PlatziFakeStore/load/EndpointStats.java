@@ -0,0 +1,44 @@
+package PlatziFakeStore.load;
+
+import PlatziFakeStore.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * EndpointStats
+ * --------------------------------------------------
+ * - Latency histogram plus success / error counters for one endpoint
+ * - Shared by every virtual user; all updates are lock-free
+ */
+public final class EndpointStats {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    void recordSuccess(long micros) {
+        latency.recordValue(micros);
+        successes.increment();
+    }
+
+    void recordError(long micros) {
+        latency.recordValue(micros);
+        errors.increment();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getTotal() {
+        return successes.sum() + errors.sum();
+    }
+}
@@ -0,0 +1,94 @@
+package PlatziFakeStore.load;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.cache.ResponseCache;
+import PlatziFakeStore.capture.ExchangeCapture;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LoadEngine
+ * --------------------------------------------------
+ * - Runs a LoadScenario with thousands of concurrent virtual users,
+ *   one virtual thread each, through the existing API clients
+ * - Honours the ramp-up / steady-state / ramp-down phases of a LoadProfile
+ * - Every step is timed and recorded per APIResources endpoint
+ * - Steps bypass the ResponseCache, so every call reaches the API
+ * - Each virtual user ("virtual-user-N") keeps its own ExchangeCapture
+ *   ring, so a slow response under load dumps that user's last exchanges
+ *
+ * Usage:
+ *   LoadReport report = new LoadEngine().run(LoadProfile.fromConfig(), scenario);
+ *   System.out.println(report);
+ */
+public final class LoadEngine {
+
+    public LoadReport run(LoadProfile profile, LoadScenario scenario) {
+        Map<APIResources, EndpointStats> stats = new EnumMap<>(APIResources.class);
+        for (LoadScenario.Step step : scenario.getSteps()) {
+            stats.computeIfAbsent(step.endpoint, endpoint -> new EndpointStats());
+        }
+
+        long runStart = System.nanoTime();
+        try (ExecutorService users = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("virtual-user-", 0).factory())) {
+            for (int user = 0; user < profile.getVirtualUsers(); user++) {
+                long startAt = runStart + profile.startOffsetNanos(user);
+                long stopAt = runStart + profile.stopOffsetNanos(user);
+                users.submit(() -> runVirtualUser(scenario, stats, profile.getThinkTime(), startAt, stopAt));
+            }
+        } // close() waits for every virtual user to finish
+
+        return new LoadReport(scenario.getName(), profile.getVirtualUsers(),
+                Duration.ofNanos(System.nanoTime() - runStart), stats);
+    }
+
+    private static void runVirtualUser(LoadScenario scenario, Map<APIResources, EndpointStats> stats,
+                                       Duration thinkTime, long startAt, long stopAt) {
+        parkUntil(startAt);
+        ExchangeCapture.attach();
+        try {
+            runIterations(scenario, stats, thinkTime, stopAt);
+        } finally {
+            ExchangeCapture.detach();
+        }
+    }
+
+    private static void runIterations(LoadScenario scenario, Map<APIResources, EndpointStats> stats,
+                                      Duration thinkTime, long stopAt) {
+        int iteration = 0;
+        while (System.nanoTime() < stopAt) {
+            for (LoadScenario.Step step : scenario.getSteps()) {
+                if (System.nanoTime() >= stopAt) return;
+
+                EndpointStats endpointStats = stats.get(step.endpoint);
+                long start = System.nanoTime();
+                try {
+                    int current = iteration;
+                    ResponseCache.bypass(() -> step.call.apply(current));
+                    endpointStats.recordSuccess(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                } catch (Exception | AssertionError failure) { // response spec mismatches surface as AssertionError
+                    endpointStats.recordError(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                }
+            }
+            iteration++;
+
+            if (!thinkTime.isZero()) {
+                parkUntil(Math.min(System.nanoTime() + thinkTime.toNanos(), stopAt));
+            }
+        }
+    }
+
+    static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package PlatziFakeStore.load;
+
+import PlatziFakeStore.config.ConfigManager;
+
+import java.time.Duration;
+
+/**
+ * LoadProfile
+ * --------------------------------------------------
+ * - Describes a closed-model run: how many virtual users, and how
+ *   long the ramp-up, steady-state and ramp-down phases last
+ * - Users start linearly during ramp-up and stop linearly (last
+ *   started, first stopped) during ramp-down
+ *
+ * Usage:
+ *   LoadProfile.fromConfig()
+ *   LoadProfile.of(1000, Duration.ofSeconds(10), Duration.ofMinutes(1), Duration.ofSeconds(5))
+ */
+public final class LoadProfile {
+
+    private final int virtualUsers;
+    private final Duration rampUp;
+    private final Duration steadyState;
+    private final Duration rampDown;
+    private final Duration thinkTime;
+
+    private LoadProfile(int virtualUsers, Duration rampUp, Duration steadyState, Duration rampDown, Duration thinkTime) {
+        if (virtualUsers <= 0) {
+            throw new IllegalArgumentException("virtualUsers must be positive: " + virtualUsers);
+        }
+        this.virtualUsers = virtualUsers;
+        this.rampUp = rampUp;
+        this.steadyState = steadyState;
+        this.rampDown = rampDown;
+        this.thinkTime = thinkTime;
+    }
+
+    public static LoadProfile of(int virtualUsers, Duration rampUp, Duration steadyState, Duration rampDown) {
+        return new LoadProfile(virtualUsers, rampUp, steadyState, rampDown, Duration.ZERO);
+    }
+
+    /** Builds the profile from the load.* keys in config.properties. */
+    public static LoadProfile fromConfig() {
+        return new LoadProfile(
+                ConfigManager.getLoadVirtualUsers(),
+                Duration.ofSeconds(ConfigManager.getLoadRampUpSeconds()),
+                Duration.ofSeconds(ConfigManager.getLoadSteadyStateSeconds()),
+                Duration.ofSeconds(ConfigManager.getLoadRampDownSeconds()),
+                Duration.ofMillis(ConfigManager.getLoadThinkTimeMillis()));
+    }
+
+    /** Pause each virtual user takes between scenario iterations. */
+    public LoadProfile withThinkTime(Duration thinkTime) {
+        return new LoadProfile(virtualUsers, rampUp, steadyState, rampDown, thinkTime);
+    }
+
+    public int getVirtualUsers() {
+        return virtualUsers;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public Duration getSteadyState() {
+        return steadyState;
+    }
+
+    public Duration getRampDown() {
+        return rampDown;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    public Duration getTotalDuration() {
+        return rampUp.plus(steadyState).plus(rampDown);
+    }
+
+    /** Offset from the run start at which the given user (0-based) starts. */
+    long startOffsetNanos(int user) {
+        return rampUp.toNanos() * user / virtualUsers;
+    }
+
+    /** Offset from the run start at which the given user (0-based) stops. */
+    long stopOffsetNanos(int user) {
+        long steadyEnd = rampUp.toNanos() + steadyState.toNanos();
+        return steadyEnd + rampDown.toNanos() * (virtualUsers - user) / virtualUsers;
+    }
+}
@@ -0,0 +1,91 @@
+package PlatziFakeStore.load;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.metrics.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * LoadReport
+ * --------------------------------------------------
+ * - Result of one LoadEngine run: per-endpoint throughput, error
+ *   count and latency percentiles (milliseconds)
+ * - toString() renders a fixed-width table for console / Allure
+ */
+public final class LoadReport {
+
+    private final String scenario;
+    private final int virtualUsers;
+    private final Duration elapsed;
+    private final Map<APIResources, EndpointStats> endpoints;
+
+    LoadReport(String scenario, int virtualUsers, Duration elapsed, Map<APIResources, EndpointStats> endpoints) {
+        this.scenario = scenario;
+        this.virtualUsers = virtualUsers;
+        this.elapsed = elapsed;
+        this.endpoints = Collections.unmodifiableMap(endpoints);
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public Map<APIResources, EndpointStats> getEndpoints() {
+        return endpoints;
+    }
+
+    public EndpointStats get(APIResources endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    /** Completed requests per second for the endpoint over the whole run. */
+    public double getThroughput(APIResources endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return stats == null ? 0 : stats.getTotal() / seconds();
+    }
+
+    public long getTotalRequests() {
+        return endpoints.values().stream().mapToLong(EndpointStats::getTotal).sum();
+    }
+
+    public long getTotalErrors() {
+        return endpoints.values().stream().mapToLong(EndpointStats::getErrors).sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Scenario '%s': %d virtual users, %.1f s, %d requests, %d errors%n",
+                scenario, virtualUsers, seconds(), getTotalRequests(), getTotalErrors()));
+        sb.append(String.format("%-24s %10s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        endpoints.forEach((endpoint, stats) -> {
+            LatencyHistogram latency = stats.getLatency();
+            sb.append(String.format("%-24s %10.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.name(),
+                    getThroughput(endpoint),
+                    stats.getErrors(),
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMax())));
+        });
+        return sb.toString();
+    }
+
+    private double seconds() {
+        return Math.max(elapsed.toNanos(), 1) / 1e9;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
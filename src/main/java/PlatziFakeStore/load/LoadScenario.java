@@ -0,0 +1,67 @@
+package PlatziFakeStore.load;
+
+import PlatziFakeStore.base.APIResources;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * LoadScenario
+ * --------------------------------------------------
+ * - Ordered list of client calls one virtual user repeats per iteration
+ * - Each step is tagged with the APIResources endpoint it exercises,
+ *   which is how LoadEngine attributes latency and errors
+ * - A step fails when the client call throws (e.g. a response
+ *   specification mismatch)
+ *
+ * Usage:
+ *   ProductsClient products = new ProductsClient();
+ *   LoadScenario.named("browse")
+ *           .step(APIResources.GET_ALL_PRODUCTS, products::getAllProducts)
+ *           .step(APIResources.GET_PRODUCT_BY_ID, iteration -> products.getProductById(1 + iteration % 50));
+ */
+public final class LoadScenario {
+
+    private final String name;
+    private final List<Step> steps = new ArrayList<>();
+
+    private LoadScenario(String name) {
+        this.name = name;
+    }
+
+    public static LoadScenario named(String name) {
+        return new LoadScenario(name);
+    }
+
+    public LoadScenario step(APIResources endpoint, Supplier<Response> call) {
+        return step(endpoint, iteration -> call.get());
+    }
+
+    /** Step whose call receives the user's iteration counter (for varying ids). */
+    public LoadScenario step(APIResources endpoint, IntFunction<Response> call) {
+        steps.add(new Step(endpoint, call));
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    List<Step> getSteps() {
+        return Collections.unmodifiableList(steps);
+    }
+
+    static final class Step {
+        final APIResources endpoint;
+        final IntFunction<Response> call;
+
+        Step(APIResources endpoint, IntFunction<Response> call) {
+            this.endpoint = endpoint;
+            this.call = call;
+        }
+    }
+}
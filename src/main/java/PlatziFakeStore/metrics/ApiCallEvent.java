@@ -0,0 +1,62 @@
+package PlatziFakeStore.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ApiCallEvent
+ * --------------------------------------------------
+ * - Java Flight Recorder event for one API call: endpoint, method, URI,
+ *   status, bytes in and out, the test that made it, and (as the event
+ *   duration) its latency
+ * - Emitted by TimingFilter (Rest Assured) and AsyncBaseAPI (java.net.http),
+ *   so a recording lines calls up with GC pauses, parking and allocation
+ * - Costs next to nothing without a recording: fields are only filled
+ *   when shouldCommit() is true, and stack traces are off
+ *
+ * Usage:
+ *   mvn test -Pjfr                        # writes target/api-calls.jfr
+ *   jfr print --events PlatziFakeStore.ApiCall target/api-calls.jfr
+ */
+@Name("PlatziFakeStore.ApiCall")
+@Label("API Call")
+@Category({"Platzi Fake Store", "API"})
+@Description("One request/response exchange with the Fake Store API")
+@StackTrace(false)
+public final class ApiCallEvent extends Event {
+
+    @Label("Endpoint")
+    @Description("APIResources constant, or UNMATCHED")
+    public String endpoint;
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    @Description("HTTP status code; 0 when no response arrived")
+    public int status;
+
+    @Label("Bytes Out")
+    @DataAmount
+    public long bytesOut;
+
+    @Label("Bytes In")
+    @DataAmount
+    public long bytesIn;
+
+    @Label("Test")
+    @Description("Test method that made the call (CurrentTest)")
+    public String test;
+
+    @Label("Error")
+    @Description("Exception thrown instead of a response")
+    public String error;
+}
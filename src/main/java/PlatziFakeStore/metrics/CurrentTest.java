@@ -0,0 +1,48 @@
+package PlatziFakeStore.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * CurrentTest
+ * --------------------------------------------------
+ * - Name of the test running on the calling thread, for attributing
+ *   API calls in metrics and JFR events (ApiCallEvent)
+ * - Set and cleared around each test method by BaseTest
+ * - carryOver() hands the name to work run on another thread (async clients)
+ */
+public final class CurrentTest {
+
+    private static final ThreadLocal<String> NAME = new ThreadLocal<>();
+
+    private CurrentTest() {
+        // Prevent instantiation
+    }
+
+    public static void set(String testName) {
+        NAME.set(testName);
+    }
+
+    /** The current test, or null outside one (suite setup, benchmarks). */
+    public static String get() {
+        return NAME.get();
+    }
+
+    public static void clear() {
+        NAME.remove();
+    }
+
+    /** Wraps work handed to another thread so it runs under the caller's test name. */
+    public static <T> Supplier<T> carryOver(Supplier<T> task) {
+        String testName = NAME.get();
+        if (testName == null) return task;
+        return () -> {
+            String previous = NAME.get();
+            NAME.set(testName);
+            try {
+                return task.get();
+            } finally {
+                NAME.set(previous);
+            }
+        };
+    }
+}
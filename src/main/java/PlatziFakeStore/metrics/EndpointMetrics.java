@@ -0,0 +1,129 @@
+package PlatziFakeStore.metrics;
+
+import PlatziFakeStore.base.APIResources;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * EndpointMetrics
+ * --------------------------------------------------
+ * - Suite-wide latency registry: one LatencyHistogram per
+ *   APIResources endpoint and StatusClass
+ * - Requests that match no endpoint are kept under "UNMATCHED"
+ * - Histograms are allocated on first use and never resized, so
+ *   memory stays fixed no matter how many requests are recorded
+ * - Fed by TimingFilter, which BaseAPI attaches to every request spec
+ * - Also counts calls in flight per endpoint (gauge for MetricsServer)
+ *
+ * Usage:
+ *   EndpointMetrics.get(APIResources.GET_ALL_PRODUCTS, StatusClass.SUCCESS).getValueAtPercentile(99);
+ *   System.out.println(EndpointMetrics.report());
+ */
+public final class EndpointMetrics {
+
+    private static final APIResources[] ENDPOINTS = APIResources.values();
+    private static final StatusClass[] CLASSES = StatusClass.values();
+    private static final int UNMATCHED = ENDPOINTS.length;
+
+    private static final AtomicReferenceArray<LatencyHistogram> HISTOGRAMS =
+            new AtomicReferenceArray<>((ENDPOINTS.length + 1) * CLASSES.length);
+    private static final AtomicLongArray IN_FLIGHT = new AtomicLongArray(ENDPOINTS.length + 1);
+
+    private EndpointMetrics() {
+        // Prevent instantiation
+    }
+
+    /** Records one exchange; {@code endpoint} may be null for unknown routes. */
+    public static void record(APIResources endpoint, StatusClass statusClass, long elapsedNanos) {
+        histogram(slot(endpoint, statusClass)).recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+
+    /** Marks a call to {@code endpoint} (null for unknown routes) as sent; pair with callFinished. */
+    public static void callStarted(APIResources endpoint) {
+        IN_FLIGHT.incrementAndGet(row(endpoint));
+    }
+
+    public static void callFinished(APIResources endpoint) {
+        IN_FLIGHT.decrementAndGet(row(endpoint));
+    }
+
+    /** Calls sent to the endpoint that have not completed yet. */
+    public static long getInFlight(APIResources endpoint) {
+        return IN_FLIGHT.get(row(endpoint));
+    }
+
+    /** Histogram for the endpoint and status class; empty if nothing was recorded yet. */
+    public static LatencyHistogram get(APIResources endpoint, StatusClass statusClass) {
+        LatencyHistogram histogram = HISTOGRAMS.get(slot(endpoint, statusClass));
+        return histogram != null ? histogram : new LatencyHistogram();
+    }
+
+    /** Like get(), but null instead of a new empty histogram (exporters scanning every series). */
+    static LatencyHistogram peek(APIResources endpoint, StatusClass statusClass) {
+        return HISTOGRAMS.get(slot(endpoint, statusClass));
+    }
+
+    /** All status classes of one endpoint merged into a new histogram. */
+    public static LatencyHistogram merged(APIResources endpoint) {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (StatusClass statusClass : CLASSES) {
+            LatencyHistogram histogram = HISTOGRAMS.get(slot(endpoint, statusClass));
+            if (histogram != null) merged.add(histogram);
+        }
+        return merged;
+    }
+
+    public static void reset() {
+        for (int i = 0; i < HISTOGRAMS.length(); i++) {
+            LatencyHistogram histogram = HISTOGRAMS.get(i);
+            if (histogram != null) histogram.reset();
+        }
+    }
+
+    /** Fixed-width table of count and p50/p90/p99/p99.9/max (ms) for every recorded series. */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-24s %-6s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "status", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        for (int e = 0; e <= ENDPOINTS.length; e++) {
+            for (StatusClass statusClass : CLASSES) {
+                LatencyHistogram histogram = HISTOGRAMS.get(e * CLASSES.length + statusClass.ordinal());
+                if (histogram == null || histogram.getTotalCount() == 0) continue;
+
+                sb.append(String.format("%-24s %-6s %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                        e == UNMATCHED ? "UNMATCHED" : ENDPOINTS[e].name(),
+                        statusClass.getLabel(),
+                        histogram.getTotalCount(),
+                        histogram.getValueAtPercentile(50) / 1000.0,
+                        histogram.getValueAtPercentile(90) / 1000.0,
+                        histogram.getValueAtPercentile(99) / 1000.0,
+                        histogram.getValueAtPercentile(99.9) / 1000.0,
+                        histogram.getMax() / 1000.0));
+            }
+        }
+        return sb.toString();
+    }
+
+    // ======================================================
+    // INTERNAL HELPERS
+    // ======================================================
+    private static int slot(APIResources endpoint, StatusClass statusClass) {
+        return row(endpoint) * CLASSES.length + statusClass.ordinal();
+    }
+
+    private static int row(APIResources endpoint) {
+        return endpoint == null ? UNMATCHED : endpoint.ordinal();
+    }
+
+    private static LatencyHistogram histogram(int slot) {
+        LatencyHistogram histogram = HISTOGRAMS.get(slot);
+        if (histogram == null) {
+            HISTOGRAMS.compareAndSet(slot, null, new LatencyHistogram());
+            histogram = HISTOGRAMS.get(slot);
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,220 @@
+package PlatziFakeStore.metrics;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+
+/**
+ * HttpPhaseTimers
+ * --------------------------------------------------
+ * - Hooks for the Apache HttpClient 4.x stack under ConnectionPool that
+ *   time each phase of an exchange and add it to PhaseMetrics:
+ *     DNS                 DnsResolver given to the connection manager
+ *     CONNECT, TLS        socket factories in the scheme registry (the
+ *                         TCP connect, then the handshake and hostname check)
+ *     REQUEST_WRITE       request line, headers and body flushed
+ *     TIME_TO_FIRST_BYTE  from the flush to the parsed response head
+ *     DOWNLOAD            from the response head to the end of the body,
+ *                         which is read in full inside the exchange, so the
+ *                         phase is recorded before TimingFilter closes it
+ * - Only the pooled Rest Assured client is instrumented (pool.enabled);
+ *   the java.net.http async backend is not
+ */
+@SuppressWarnings("deprecation") // The 4.x connection API Rest Assured 5 is built on
+public final class HttpPhaseTimers {
+
+    private HttpPhaseTimers() {
+        // Prevent instantiation
+    }
+
+    public static DnsResolver dnsResolver() {
+        return new TimedDnsResolver(SystemDefaultDnsResolver.INSTANCE);
+    }
+
+    /** Same schemes as SchemeRegistryFactory.createDefault(), with timed socket factories. */
+    public static SchemeRegistry schemeRegistry() {
+        SchemeRegistry registry = new SchemeRegistry();
+        registry.register(new Scheme("http", 80, new TimedPlainSocketFactory(PlainSocketFactory.getSocketFactory())));
+        registry.register(new Scheme("https", 443, new TimedTlsSocketFactory(SSLSocketFactory.getSocketFactory())));
+        return registry;
+    }
+
+    public static HttpRequestExecutor requestExecutor() {
+        return new TimedRequestExecutor();
+    }
+
+    /* ****************************
+     *  DNS
+     * ****************************/
+
+    private static final class TimedDnsResolver implements DnsResolver {
+
+        private final DnsResolver delegate;
+
+        TimedDnsResolver(DnsResolver delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            try {
+                return delegate.resolve(host);
+            } finally {
+                PhaseMetrics.add(Phase.DNS, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /* ****************************
+     *  Connect & TLS
+     * ****************************/
+
+    private static final class TimedPlainSocketFactory implements SchemeSocketFactory {
+
+        private final SchemeSocketFactory delegate;
+
+        TimedPlainSocketFactory(SchemeSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createSocket(HttpParams params) throws IOException {
+            return delegate.createSocket(params);
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return delegate.connectSocket(socket, remoteAddress, localAddress, params);
+            } finally {
+                PhaseMetrics.add(Phase.CONNECT, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return delegate.isSecure(socket);
+        }
+    }
+
+    /**
+     * Connects in plain TCP first, then layers TLS on top, so the two are
+     * timed apart (SSLSocketFactory.connectSocket would do both at once).
+     */
+    private static final class TimedTlsSocketFactory implements SchemeLayeredSocketFactory {
+
+        private final SSLSocketFactory delegate;
+        private final SchemeSocketFactory plain = PlainSocketFactory.getSocketFactory();
+
+        TimedTlsSocketFactory(SSLSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createSocket(HttpParams params) throws IOException {
+            return plain.createSocket(params);
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException {
+            long start = System.nanoTime();
+            Socket connected;
+            try {
+                connected = plain.connectSocket(socket, remoteAddress, localAddress, params);
+            } finally {
+                PhaseMetrics.add(Phase.CONNECT, System.nanoTime() - start);
+            }
+
+            String host = remoteAddress instanceof HttpInetSocketAddress target
+                    ? target.getHttpHost().getHostName()
+                    : remoteAddress.getHostName();
+            start = System.nanoTime();
+            try {
+                return delegate.createLayeredSocket(connected, host, remoteAddress.getPort(), params);
+            } finally {
+                PhaseMetrics.add(Phase.TLS, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return delegate.createLayeredSocket(socket, target, port, params);
+            } finally {
+                PhaseMetrics.add(Phase.TLS, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return delegate.isSecure(socket);
+        }
+    }
+
+    /* ****************************
+     *  Write, first byte, download
+     * ****************************/
+
+    private static final class TimedRequestExecutor extends HttpRequestExecutor {
+
+        @Override
+        protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws IOException, HttpException {
+            long start = System.nanoTime();
+            try {
+                return super.doSendRequest(request, conn, context);
+            } finally {
+                PhaseMetrics.add(Phase.REQUEST_WRITE, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws HttpException, IOException {
+            long start = System.nanoTime();
+            HttpResponse response;
+            try {
+                response = super.doReceiveResponse(request, conn, context);
+            } finally {
+                PhaseMetrics.add(Phase.TIME_TO_FIRST_BYTE, System.nanoTime() - start);
+            }
+            HttpEntity entity = response.getEntity();
+            if (entity != null && entity.isStreaming()) {
+                // Rest Assured reads bodies lazily, often after the exchange has ended
+                start = System.nanoTime();
+                try {
+                    response.setEntity(new BufferedHttpEntity(entity));
+                } finally {
+                    PhaseMetrics.add(Phase.DOWNLOAD, System.nanoTime() - start);
+                }
+            }
+            return response;
+        }
+    }
+}
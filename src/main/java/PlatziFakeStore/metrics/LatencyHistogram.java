@@ -0,0 +1,135 @@
+package PlatziFakeStore.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram
+ * --------------------------------------------------
+ * - HDR-style log-linear histogram of latencies in microseconds
+ * - 128 linear sub-buckets per power of two: < 1% relative error
+ * - Fixed memory (2,048 counters, ~16 KB) covering 0 µs .. ~19 h
+ * - Lock-free: recording is a single atomic increment, so any
+ *   number of threads can record into the same instance
+ *
+ * Usage:
+ *   histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(elapsed));
+ *   histogram.getValueAtPercentile(99.0);
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;        // 128
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;        // 64
+    private static final int MAX_SHIFT = 30;                                 // 2^36 µs ~ 19 h
+    private static final int BUCKETS = SUB_BUCKET_COUNT + MAX_SHIFT * SUB_BUCKET_HALF;
+
+    /** Largest value the histogram resolves; larger samples are clamped. */
+    public static final long HIGHEST_TRACKABLE_VALUE = highestEquivalentValue(BUCKETS - 1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalSum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /** Records one sample, in microseconds. Negative values count as zero. */
+    public void recordValue(long micros) {
+        long value = Math.max(0, Math.min(micros, HIGHEST_TRACKABLE_VALUE));
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalSum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.sum();
+        return count == 0 ? 0 : (double) totalSum.sum() / count;
+    }
+
+    /** Sum of all recorded values, in microseconds. */
+    public long getTotalSum() {
+        return totalSum.sum();
+    }
+
+    /**
+     * Value at the given percentile (0..100), reported as the highest
+     * value equivalent to the bucket it falls into.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = snapshotCounts();
+        long count = 0;
+        for (long c : snapshot) count += c;
+        if (count == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /** Adds every sample of {@code other} into this histogram. */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) counts.addAndGet(i, c);
+        }
+        totalCount.add(other.totalCount.sum());
+        totalSum.add(other.totalSum.sum());
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        totalCount.reset();
+        totalSum.reset();
+        max.set(0);
+    }
+
+    // ======================================================
+    // BUCKET ACCESS (exporters)
+    // ======================================================
+    public static int bucketCount() {
+        return BUCKETS;
+    }
+
+    public long countAtBucket(int index) {
+        return counts.get(index);
+    }
+
+    /** Highest value that maps to the given bucket. */
+    public static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long top = SUB_BUCKET_HALF + (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF;
+        return ((top + 1) << shift) - 1;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int top = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (top - SUB_BUCKET_HALF);
+    }
+
+    private long[] snapshotCounts() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) snapshot[i] = counts.get(i);
+        return snapshot;
+    }
+}
@@ -0,0 +1,96 @@
+package PlatziFakeStore.metrics;
+
+import PlatziFakeStore.config.ConfigManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * MetricsServer
+ * --------------------------------------------------
+ * - Embedded HTTP endpoint serving PrometheusExporter.scrape() at
+ *   /metrics while tests or load runs are in progress, so a local
+ *   Prometheus (or curl) can watch a soak test live
+ * - JDK HttpServer with one virtual thread per scrape
+ * - Started by BaseTest when metrics.server.enabled=true, on
+ *   metrics.server.host:metrics.server.port
+ *
+ * Usage:
+ *   try (MetricsServer server = MetricsServer.start("localhost", 9464)) { ... }
+ *   curl http://localhost:9464/metrics
+ */
+public final class MetricsServer implements AutoCloseable {
+
+    public static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private MetricsServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /** Starts on metrics.server.host / metrics.server.port. */
+    public static MetricsServer fromConfig() {
+        return start(ConfigManager.getMetricsServerHost(), ConfigManager.getMetricsServerPort());
+    }
+
+    /** Starts a server on the given host and port (0 picks a free one). */
+    public static MetricsServer start(String host, int port) {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(host, port), 16);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            httpServer.createContext(PATH, MetricsServer::handle);
+            httpServer.setExecutor(executor);
+            httpServer.start();
+            return new MetricsServer(httpServer, executor);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start MetricsServer on " + host + ":" + port + ": " + e.getMessage(), e);
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + getPort() + PATH;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET") && !exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = PrometheusExporter.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package PlatziFakeStore.metrics;
+
+/**
+ * Phase
+ * --------------------------------------------------
+ * - The steps of one HTTP exchange, as timed by HttpPhaseTimers
+ * - DNS, CONNECT and TLS only happen when a new connection is opened;
+ *   a pooled keep-alive connection skips straight to REQUEST_WRITE
+ */
+public enum Phase {
+    DNS("dns"),
+    CONNECT("connect"),
+    TLS("tls"),
+    REQUEST_WRITE("write"),
+    TIME_TO_FIRST_BYTE("ttfb"),
+    DOWNLOAD("download");
+
+    private final String label;
+
+    Phase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,181 @@
+package PlatziFakeStore.metrics;
+
+import PlatziFakeStore.base.APIResources;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * PhaseMetrics
+ * --------------------------------------------------
+ * - Suite-wide per-phase latency registry: one LatencyHistogram per
+ *   APIResources endpoint and Phase (DNS, connect, TLS, request write,
+ *   time to first byte, download)
+ * - The HTTP layer (HttpPhaseTimers) does not know which endpoint it is
+ *   serving, so TimingFilter opens an exchange on the calling thread,
+ *   the timers add to it, and the filter records it under the endpoint
+ * - A phase that happens several times in one exchange (retries) is
+ *   summed; a phase that does not happen (reused connection) is not
+ *   recorded, so its count is the number of exchanges that paid for it
+ *
+ * Usage:
+ *   PhaseMetrics.get(APIResources.GET_ALL_PRODUCTS, Phase.TIME_TO_FIRST_BYTE).getValueAtPercentile(99);
+ *   System.out.println(PhaseMetrics.report());
+ *   PhaseMetrics.exportCsv(Path.of("target/phase-latency.csv"));
+ */
+public final class PhaseMetrics {
+
+    private static final APIResources[] ENDPOINTS = APIResources.values();
+    private static final Phase[] PHASES = Phase.values();
+    private static final int UNMATCHED = ENDPOINTS.length;
+
+    private static final AtomicReferenceArray<LatencyHistogram> HISTOGRAMS =
+            new AtomicReferenceArray<>((ENDPOINTS.length + 1) * PHASES.length);
+
+    private static final ThreadLocal<Exchange> CURRENT = new ThreadLocal<>();
+
+    private PhaseMetrics() {
+        // Prevent instantiation
+    }
+
+    /* ****************************
+     *  Exchange (per thread)
+     * ****************************/
+
+    /** Starts collecting phases for the exchange the calling thread is about to send. */
+    public static void begin() {
+        CURRENT.set(new Exchange());
+    }
+
+    /** Records the collected phases under {@code endpoint} (null for unknown routes) and stops collecting. */
+    public static void end(APIResources endpoint) {
+        Exchange exchange = CURRENT.get();
+        CURRENT.remove();
+        if (exchange == null) return;
+        for (Phase phase : PHASES) {
+            if (exchange.counts.get(phase.ordinal()) > 0) {
+                histogram(slot(endpoint, phase)).recordValue(
+                        TimeUnit.NANOSECONDS.toMicros(exchange.nanos.get(phase.ordinal())));
+            }
+        }
+    }
+
+    /** Adds to the calling thread's exchange; ignored outside one (e.g. calls not made through BaseAPI). */
+    public static void add(Phase phase, long nanos) {
+        Exchange exchange = CURRENT.get();
+        if (exchange != null) {
+            exchange.nanos.addAndGet(phase.ordinal(), nanos);
+            exchange.counts.incrementAndGet(phase.ordinal());
+        }
+    }
+
+    /** Wraps work handed to another thread so its phases land in the caller's exchange. */
+    public static <T> Supplier<T> carryOver(Supplier<T> task) {
+        Exchange exchange = CURRENT.get();
+        if (exchange == null) return task;
+        return () -> {
+            Exchange previous = CURRENT.get();
+            CURRENT.set(exchange);
+            try {
+                return task.get();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /* ****************************
+     *  Registry
+     * ****************************/
+
+    /** Histogram for the endpoint and phase; empty if nothing was recorded yet. */
+    public static LatencyHistogram get(APIResources endpoint, Phase phase) {
+        LatencyHistogram histogram = HISTOGRAMS.get(slot(endpoint, phase));
+        return histogram != null ? histogram : new LatencyHistogram();
+    }
+
+    public static void reset() {
+        for (int i = 0; i < HISTOGRAMS.length(); i++) {
+            LatencyHistogram histogram = HISTOGRAMS.get(i);
+            if (histogram != null) histogram.reset();
+        }
+    }
+
+    /** Fixed-width table of count, mean and p50/p90/p99/max (ms) for every recorded endpoint and phase. */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-24s %-8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "phase", "count", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        forEachRecorded((name, phase, histogram) -> sb.append(String.format("%-24s %-8s %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, phase.getLabel(), histogram.getTotalCount(),
+                histogram.getMean() / 1000.0,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMax() / 1000.0)));
+        return sb.toString();
+    }
+
+    /** Same numbers as report(), one CSV row per endpoint and phase. */
+    public static void exportCsv(Path file) {
+        StringBuilder csv = new StringBuilder("endpoint,phase,count,mean_ms,p50_ms,p90_ms,p99_ms,max_ms\n");
+        forEachRecorded((name, phase, histogram) -> csv.append(String.format(Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                name, phase.getLabel(), histogram.getTotalCount(),
+                histogram.getMean() / 1000.0,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMax() / 1000.0)));
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            Files.writeString(file, csv, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export phase latencies to " + file, e);
+        }
+    }
+
+    // ======================================================
+    // INTERNAL HELPERS
+    // ======================================================
+    private interface RowConsumer {
+        void accept(String endpoint, Phase phase, LatencyHistogram histogram);
+    }
+
+    private static void forEachRecorded(RowConsumer row) {
+        for (int e = 0; e <= ENDPOINTS.length; e++) {
+            for (Phase phase : PHASES) {
+                LatencyHistogram histogram = HISTOGRAMS.get(e * PHASES.length + phase.ordinal());
+                if (histogram == null || histogram.getTotalCount() == 0) continue;
+                row.accept(e == UNMATCHED ? "UNMATCHED" : ENDPOINTS[e].name(), phase, histogram);
+            }
+        }
+    }
+
+    private static int slot(APIResources endpoint, Phase phase) {
+        int row = endpoint == null ? UNMATCHED : endpoint.ordinal();
+        return row * PHASES.length + phase.ordinal();
+    }
+
+    private static LatencyHistogram histogram(int slot) {
+        LatencyHistogram histogram = HISTOGRAMS.get(slot);
+        if (histogram == null) {
+            HISTOGRAMS.compareAndSet(slot, null, new LatencyHistogram());
+            histogram = HISTOGRAMS.get(slot);
+        }
+        return histogram;
+    }
+
+    /** Phase totals of one exchange; atomic because a hedged attempt may still be adding when it is recorded. */
+    private static final class Exchange {
+        private final AtomicLongArray nanos = new AtomicLongArray(PHASES.length);
+        private final AtomicLongArray counts = new AtomicLongArray(PHASES.length);
+    }
+}
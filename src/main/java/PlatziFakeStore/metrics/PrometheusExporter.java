@@ -0,0 +1,193 @@
+package PlatziFakeStore.metrics;
+
+import PlatziFakeStore.auth.TokenManager;
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.base.ConnectionPool;
+import PlatziFakeStore.config.ConfigManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * PrometheusExporter
+ * --------------------------------------------------
+ * - Renders the live suite metrics in the Prometheus text format (0.0.4):
+ *     platzi_requests_total{endpoint,status}          counter
+ *     platzi_request_errors_total{endpoint}           counter (5xx and no response)
+ *     platzi_requests_in_flight{endpoint}             gauge
+ *     platzi_request_duration_seconds{endpoint}       histogram
+ *     platzi_pool_connections{state}, platzi_pool_max_connections
+ *     platzi_auth_cached_tokens, platzi_auth_logins_total, platzi_auth_refreshes_total
+ * - Read straight from EndpointMetrics, ConnectionPool and TokenManager at
+ *   scrape time; nothing is kept between scrapes
+ * - Histogram buckets are folded from LatencyHistogram's fine-grained
+ *   buckets, so they carry the same < 1% error
+ */
+public final class PrometheusExporter {
+
+    /** Upper bounds of the exported latency buckets, in seconds. */
+    private static final double[] BUCKET_SECONDS = {
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    /** Exported bucket of every LatencyHistogram bucket (BUCKET_SECONDS.length for +Inf). */
+    private static final int[] FOLD = new int[LatencyHistogram.bucketCount()];
+
+    static {
+        for (int i = 0; i < FOLD.length; i++) {
+            double seconds = LatencyHistogram.highestEquivalentValue(i) / 1_000_000.0;
+            int bucket = 0;
+            while (bucket < BUCKET_SECONDS.length && seconds > BUCKET_SECONDS[bucket]) bucket++;
+            FOLD[i] = bucket;
+        }
+    }
+
+    private static final APIResources[] ENDPOINTS = APIResources.values();
+    private static final StatusClass[] CLASSES = StatusClass.values();
+
+    private PrometheusExporter() {
+        // Prevent instantiation
+    }
+
+    public static String scrape() {
+        StringBuilder out = new StringBuilder(16_384);
+        requests(out);
+        errors(out);
+        inFlight(out);
+        durations(out);
+        pool(out);
+        auth(out);
+        return out.toString();
+    }
+
+    /* ****************************
+     *  Requests
+     * ****************************/
+
+    private static void requests(StringBuilder out) {
+        header(out, "platzi_requests_total", "counter", "Completed API calls by endpoint and status class.");
+        for (int e = 0; e <= ENDPOINTS.length; e++) {
+            APIResources endpoint = endpointAt(e);
+            for (StatusClass statusClass : CLASSES) {
+                LatencyHistogram histogram = EndpointMetrics.peek(endpoint, statusClass);
+                if (histogram == null || histogram.getTotalCount() == 0) continue;
+                out.append("platzi_requests_total{endpoint=\"").append(name(endpoint))
+                        .append("\",status=\"").append(statusClass.getLabel()).append("\"} ")
+                        .append(histogram.getTotalCount()).append('\n');
+            }
+        }
+    }
+
+    private static void errors(StringBuilder out) {
+        header(out, "platzi_request_errors_total", "counter", "API calls answered with a 5xx or not answered at all.");
+        for (int e = 0; e <= ENDPOINTS.length; e++) {
+            APIResources endpoint = endpointAt(e);
+            long errors = count(endpoint, StatusClass.SERVER_ERROR) + count(endpoint, StatusClass.NETWORK_ERROR);
+            if (errors == 0 && !recorded(endpoint)) continue;
+            out.append("platzi_request_errors_total{endpoint=\"").append(name(endpoint)).append("\"} ")
+                    .append(errors).append('\n');
+        }
+    }
+
+    private static void inFlight(StringBuilder out) {
+        header(out, "platzi_requests_in_flight", "gauge", "API calls sent and not completed yet.");
+        for (int e = 0; e <= ENDPOINTS.length; e++) {
+            APIResources endpoint = endpointAt(e);
+            long inFlight = EndpointMetrics.getInFlight(endpoint);
+            if (inFlight == 0 && !recorded(endpoint)) continue;
+            out.append("platzi_requests_in_flight{endpoint=\"").append(name(endpoint)).append("\"} ")
+                    .append(inFlight).append('\n');
+        }
+    }
+
+    private static void durations(StringBuilder out) {
+        header(out, "platzi_request_duration_seconds", "histogram", "API call latency, all status classes.");
+        long[] buckets = new long[BUCKET_SECONDS.length + 1];
+        for (int e = 0; e <= ENDPOINTS.length; e++) {
+            APIResources endpoint = endpointAt(e);
+            Arrays.fill(buckets, 0);
+            long sumMicros = 0;
+            boolean any = false;
+            for (StatusClass statusClass : CLASSES) {
+                LatencyHistogram histogram = EndpointMetrics.peek(endpoint, statusClass);
+                if (histogram == null || histogram.getTotalCount() == 0) continue;
+                any = true;
+                sumMicros += histogram.getTotalSum();
+                for (int i = 0; i < FOLD.length; i++) {
+                    long c = histogram.countAtBucket(i);
+                    if (c != 0) buckets[FOLD[i]] += c;
+                }
+            }
+            if (!any) continue;
+
+            String labels = "endpoint=\"" + name(endpoint) + "\"";
+            long cumulative = 0;
+            for (int b = 0; b < buckets.length; b++) {
+                cumulative += buckets[b];
+                out.append("platzi_request_duration_seconds_bucket{").append(labels).append(",le=\"")
+                        .append(b < BUCKET_SECONDS.length ? number(BUCKET_SECONDS[b]) : "+Inf").append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            out.append("platzi_request_duration_seconds_sum{").append(labels).append("} ")
+                    .append(number(sumMicros / 1_000_000.0)).append('\n');
+            out.append("platzi_request_duration_seconds_count{").append(labels).append("} ")
+                    .append(cumulative).append('\n');
+        }
+    }
+
+    /* ****************************
+     *  Pool & auth
+     * ****************************/
+
+    private static void pool(StringBuilder out) {
+        if (!ConfigManager.isPoolEnabled()) return;
+        PoolStats stats = ConnectionPool.stats();
+        header(out, "platzi_pool_connections", "gauge", "Pooled connections by state (pending = callers waiting).");
+        out.append("platzi_pool_connections{state=\"leased\"} ").append(stats.getLeased()).append('\n');
+        out.append("platzi_pool_connections{state=\"available\"} ").append(stats.getAvailable()).append('\n');
+        out.append("platzi_pool_connections{state=\"pending\"} ").append(stats.getPending()).append('\n');
+        header(out, "platzi_pool_max_connections", "gauge", "Connection pool size limit.");
+        out.append("platzi_pool_max_connections ").append(stats.getMax()).append('\n');
+    }
+
+    private static void auth(StringBuilder out) {
+        header(out, "platzi_auth_cached_tokens", "gauge", "Credentials with a cached access token.");
+        out.append("platzi_auth_cached_tokens ").append(TokenManager.getCachedTokenCount()).append('\n');
+        header(out, "platzi_auth_logins_total", "counter", "Calls to /auth/login.");
+        out.append("platzi_auth_logins_total ").append(TokenManager.getLoginCount()).append('\n');
+        header(out, "platzi_auth_refreshes_total", "counter", "Successful calls to /auth/refresh-token.");
+        out.append("platzi_auth_refreshes_total ").append(TokenManager.getRefreshCount()).append('\n');
+    }
+
+    // ======================================================
+    // INTERNAL HELPERS
+    // ======================================================
+    private static void header(StringBuilder out, String metric, String type, String help) {
+        out.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+    }
+
+    private static APIResources endpointAt(int index) {
+        return index < ENDPOINTS.length ? ENDPOINTS[index] : null;
+    }
+
+    private static String name(APIResources endpoint) {
+        return endpoint == null ? "UNMATCHED" : endpoint.name();
+    }
+
+    private static long count(APIResources endpoint, StatusClass statusClass) {
+        LatencyHistogram histogram = EndpointMetrics.peek(endpoint, statusClass);
+        return histogram == null ? 0 : histogram.getTotalCount();
+    }
+
+    private static boolean recorded(APIResources endpoint) {
+        for (StatusClass statusClass : CLASSES) {
+            if (count(endpoint, statusClass) > 0) return true;
+        }
+        return false;
+    }
+
+    private static String number(double value) {
+        return String.format(Locale.ROOT, "%s", value);
+    }
+}
@@ -0,0 +1,33 @@
+package PlatziFakeStore.metrics;
+
+/**
+ * StatusClass
+ * --------------------------------------------------
+ * - Groups HTTP status codes (1xx..5xx) for per-endpoint metrics
+ * - NETWORK_ERROR covers exchanges that never produced a status
+ */
+public enum StatusClass {
+    INFORMATIONAL("1xx"),
+    SUCCESS("2xx"),
+    REDIRECTION("3xx"),
+    CLIENT_ERROR("4xx"),
+    SERVER_ERROR("5xx"),
+    NETWORK_ERROR("error");
+
+    private static final StatusClass[] BY_HUNDREDS = {NETWORK_ERROR, INFORMATIONAL, SUCCESS, REDIRECTION, CLIENT_ERROR, SERVER_ERROR};
+
+    private final String label;
+
+    StatusClass(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static StatusClass of(int statusCode) {
+        int hundreds = statusCode / 100;
+        return hundreds >= 0 && hundreds < BY_HUNDREDS.length ? BY_HUNDREDS[hundreds] : NETWORK_ERROR;
+    }
+}
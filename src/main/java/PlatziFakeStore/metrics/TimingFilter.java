@@ -0,0 +1,86 @@
+package PlatziFakeStore.metrics;
+
+import PlatziFakeStore.base.APIResources;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * TimingFilter
+ * --------------------------------------------------
+ * - Rest Assured filter that times every exchange and records it in
+ *   EndpointMetrics under the resolved APIResources endpoint
+ * - Runs first among the network-facing filters, so the time includes
+ *   every filter after it (retries and hedges included); ResponseCache
+ *   hits and RequestCoalescer followers never reach it
+ * - Exchanges that throw (connect/read failures) are recorded as
+ *   NETWORK_ERROR and the exception is rethrown unchanged
+ * - Also opens the PhaseMetrics exchange the HTTP layer adds its
+ *   per-phase timings to, and records it under the same endpoint
+ * - Emits an ApiCallEvent per exchange when a JFR recording is running
+ */
+public final class TimingFilter implements OrderedFilter {
+
+    public static final TimingFilter INSTANCE = new TimingFilter();
+
+    private TimingFilter() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        APIResources endpoint = APIResources.resolve(requestSpec, ctx);
+        ApiCallEvent event = new ApiCallEvent();
+        EndpointMetrics.callStarted(endpoint);
+        PhaseMetrics.begin();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            EndpointMetrics.record(endpoint, StatusClass.of(response.getStatusCode()), System.nanoTime() - start);
+            commit(event, endpoint, requestSpec, response, null);
+            return response;
+        } catch (Throwable e) { // Rest Assured rethrows ConnectException & co. unwrapped
+            EndpointMetrics.record(endpoint, StatusClass.NETWORK_ERROR, System.nanoTime() - start);
+            commit(event, endpoint, requestSpec, null, e);
+            throw e;
+        } finally {
+            PhaseMetrics.end(endpoint);
+            EndpointMetrics.callFinished(endpoint);
+        }
+    }
+
+    private static void commit(ApiCallEvent event, APIResources endpoint, FilterableRequestSpecification requestSpec,
+                               Response response, Throwable failure) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.endpoint = endpoint == null ? "UNMATCHED" : endpoint.name();
+        event.method = requestSpec.getMethod();
+        event.uri = requestSpec.getURI();
+        event.bytesOut = bodySize(requestSpec.getBody());
+        event.test = CurrentTest.get();
+        if (response != null) {
+            event.status = response.getStatusCode();
+            event.bytesIn = response.asByteArray().length;
+        } else {
+            event.error = failure.toString();
+        }
+        event.commit();
+    }
+
+    private static long bodySize(Object body) {
+        if (body == null) return 0;
+        if (body instanceof byte[] bytes) return bytes.length;
+        return String.valueOf(body).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 2; // just inside ResponseCache and RequestCoalescer
+    }
+}
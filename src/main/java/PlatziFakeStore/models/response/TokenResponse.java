@@ -1,8 +1,10 @@
 package PlatziFakeStore.models.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+@JsonIgnoreProperties(ignoreUnknown = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class TokenResponse {
     //TODO : Complete the class
@@ -11,6 +13,10 @@ public class TokenResponse {
     @JsonProperty("refresh_token")
     private String refreshToken;
 
+    public TokenResponse() {
+        // Default constructor
+    }
+
     public TokenResponse(String accessToken, String refreshToken) {
         this.accessToken = accessToken;
         this.refreshToken = refreshToken;
@@ -0,0 +1,28 @@
+package PlatziFakeStore.replay;
+
+import java.util.Map;
+
+/**
+ * One archived request/response pair.
+ *
+ * @param startedAt       epoch millis the request was sent
+ * @param durationNanos   time until the response was complete
+ * @param path            path and query relative to the base URL, e.g. "/products/5"
+ * @param responseHeaders response headers worth replaying (Content-Type, ETag, ...)
+ */
+public record RecordedExchange(long startedAt, long durationNanos, String method, String path,
+                               String requestContentType, byte[] requestBody,
+                               int status, Map<String, String> responseHeaders, byte[] responseBody) {
+
+    public RecordedExchange {
+        requestContentType = requestContentType == null ? "" : requestContentType;
+        requestBody = requestBody == null ? new byte[0] : requestBody;
+        responseHeaders = Map.copyOf(responseHeaders);
+        responseBody = responseBody == null ? new byte[0] : responseBody;
+    }
+
+    /** Lookup key of the replay server: method and path, not the body. */
+    public String key() {
+        return method + " " + path;
+    }
+}
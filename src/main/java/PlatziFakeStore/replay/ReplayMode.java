@@ -0,0 +1,29 @@
+package PlatziFakeStore.replay;
+
+/**
+ * ReplayMode
+ * --------------------------------------------------
+ * - OFF: talk to base.url as usual
+ * - RECORD: append every Rest Assured exchange to replay.archive (TrafficRecorder)
+ * - REPLAY: serve the suite from replay.archive (ReplayServer), no network
+ *
+ * Selected with replay.mode=off | record | replay
+ */
+public enum ReplayMode {
+    OFF("off"),
+    RECORD("record"),
+    REPLAY("replay");
+
+    private final String key;
+
+    ReplayMode(String key) {
+        this.key = key;
+    }
+
+    public static ReplayMode fromKey(String key) {
+        for (ReplayMode mode : values()) {
+            if (mode.key.equalsIgnoreCase(key.trim())) return mode;
+        }
+        throw new RuntimeException("Unknown replay.mode: " + key + " (expected off, record or replay)");
+    }
+}
@@ -0,0 +1,205 @@
+package PlatziFakeStore.replay;
+
+import PlatziFakeStore.config.ConfigManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ReplayServer
+ * --------------------------------------------------
+ * - Serves the responses of a TrafficArchive back, so the suite reruns
+ *   with the recorded data and no network (replay.mode=replay)
+ * - Requests are matched on method + path + query, not on body or
+ *   headers; repeated requests get the recorded responses in recorded
+ *   order, and the last one again once they run out, so a GET before
+ *   and after an update sees both versions
+ * - FAST answers at once; RECORDED waits each response's recorded
+ *   duration first (replay.timing)
+ * - A recorded ETag answers a matching If-None-Match with 304, so
+ *   ResponseCache revalidates against the archive as it did live
+ * - Anything not in the archive gets a 404 naming the missing request
+ *
+ * Only part of the suite replays cleanly. Bodies are not matched, so a
+ * request carrying values a test generates per run (timestamps in names
+ * and emails) is answered with what the recording run sent back. Tests
+ * that assert such an echo, e.g. that a created user has the new email,
+ * fail on replay and need a live or stand-in server. Read-only tests and
+ * tests that only check status codes and shapes replay cleanly.
+ *
+ * Usage:
+ *   ReplayServer server = ReplayServer.start(0, TrafficArchive.read(path), ReplayTiming.FAST);
+ *   ConfigManager.override("base.url", server.getBaseUrl());
+ */
+public final class ReplayServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Replies> replies;
+    private final ReplayTiming timing;
+    private final LongAdder served = new LongAdder();
+    private final LongAdder missed = new LongAdder();
+
+    private ReplayServer(HttpServer server, ExecutorService executor, Map<String, Replies> replies, ReplayTiming timing) {
+        this.server = server;
+        this.executor = executor;
+        this.replies = replies;
+        this.timing = timing;
+    }
+
+    /** Serves replay.archive on replay.port with replay.timing. */
+    public static ReplayServer fromConfig() {
+        return start(ConfigManager.getReplayPort(), TrafficArchive.read(ConfigManager.getReplayArchive()),
+                ConfigManager.getReplayTiming());
+    }
+
+    public static ReplayServer start(int port, List<RecordedExchange> exchanges, ReplayTiming timing) {
+        Map<String, List<RecordedExchange>> byKey = new HashMap<>();
+        for (RecordedExchange exchange : exchanges) {
+            byKey.computeIfAbsent(exchange.key(), key -> new ArrayList<>()).add(exchange);
+        }
+        Map<String, Replies> replies = new HashMap<>(byKey.size() * 2);
+        byKey.forEach((key, recorded) -> replies.put(key, new Replies(List.copyOf(recorded))));
+
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", port), 4096);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            ReplayServer replay = new ReplayServer(httpServer, executor, Map.copyOf(replies), timing);
+            httpServer.createContext("/", replay::handle);
+            httpServer.setExecutor(executor);
+            httpServer.start();
+            return replay;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start ReplayServer on port " + port + ": " + e.getMessage(), e);
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** Base URL to use in place of ConfigManager.getBaseUrl(); archived paths are relative to it. */
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort();
+    }
+
+    /** Requests answered from the archive. */
+    public long getServedCount() {
+        return served.sum();
+    }
+
+    /** Requests the archive had no response for. */
+    public long getMissedCount() {
+        return missed.sum();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    // ======================================================
+    // INTERNAL HELPERS
+    // ======================================================
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            String query = exchange.getRequestURI().getRawQuery();
+            String key = exchange.getRequestMethod() + " " + exchange.getRequestURI().getRawPath()
+                    + (query == null ? "" : "?" + query);
+
+            Replies recorded = replies.get(key);
+            if (recorded == null) {
+                missed.increment();
+                byte[] body = ("{\"message\":\"No recorded response for " + key.replace("\"", "'")
+                        + "\",\"statusCode\":404}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+                exchange.sendResponseHeaders(404, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+                return;
+            }
+
+            served.increment();
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            RecordedExchange reply = recorded.next(ifNoneMatch);
+            if (timing == ReplayTiming.RECORDED) {
+                sleep(reply.durationNanos());
+            }
+            reply.responseHeaders().forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+
+            if (ifNoneMatch != null && ifNoneMatch.equals(etagOf(reply))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            byte[] body = reply.responseBody();
+            exchange.sendResponseHeaders(reply.status(), body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        }
+    }
+
+    private static String etagOf(RecordedExchange reply) {
+        for (Map.Entry<String, String> header : reply.responseHeaders().entrySet()) {
+            if (header.getKey().equalsIgnoreCase("ETag")) return header.getValue();
+        }
+        return null;
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Recorded responses of one request, handed out in order; the last one
+     * repeats. A revalidation of the response last handed out does not
+     * move on: the recorder skipped those 304s, so they have no entry.
+     */
+    private static final class Replies {
+
+        private final List<RecordedExchange> recorded;
+        private int next;
+
+        Replies(List<RecordedExchange> recorded) {
+            this.recorded = recorded;
+        }
+
+        synchronized RecordedExchange next(String ifNoneMatch) {
+            if (ifNoneMatch != null && next > 0) {
+                RecordedExchange last = recorded.get(next - 1);
+                if (ifNoneMatch.equals(etagOf(last))) return last;
+            }
+            RecordedExchange reply = recorded.get(Math.min(next, recorded.size() - 1));
+            next = Math.min(next + 1, recorded.size());
+            return reply;
+        }
+    }
+}
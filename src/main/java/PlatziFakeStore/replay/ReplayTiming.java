@@ -0,0 +1,28 @@
+package PlatziFakeStore.replay;
+
+/**
+ * ReplayTiming
+ * --------------------------------------------------
+ * - FAST: archived exchanges are served / sent as fast as possible
+ * - RECORDED: each response waits its recorded duration (ReplayServer),
+ *   each request is sent at its recorded offset (TrafficReplayer)
+ *
+ * Selected with replay.timing=fast | recorded
+ */
+public enum ReplayTiming {
+    FAST("fast"),
+    RECORDED("recorded");
+
+    private final String key;
+
+    ReplayTiming(String key) {
+        this.key = key;
+    }
+
+    public static ReplayTiming fromKey(String key) {
+        for (ReplayTiming timing : values()) {
+            if (timing.key.equalsIgnoreCase(key.trim())) return timing;
+        }
+        throw new RuntimeException("Unknown replay.timing: " + key + " (expected fast or recorded)");
+    }
+}
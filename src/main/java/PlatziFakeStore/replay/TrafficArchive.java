@@ -0,0 +1,239 @@
+package PlatziFakeStore.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * TrafficArchive
+ * --------------------------------------------------
+ * - Compact, append-only binary file of RecordedExchanges
+ * - Layout: 8-byte magic "PFSTRAF1", then records of
+ *     int length | byte flags | payload | int CRC32(flags + payload)
+ *   where the payload is the exchange in DataOutput form, deflated
+ *   (flags = 1) when that makes it smaller; JSON bodies shrink 5-10x
+ * - Each record goes out in one write, so several runs can append to
+ *   the same archive; a record cut short by a crash (bad length or CRC)
+ *   ends the read, everything before it is kept
+ *
+ * Usage:
+ *   try (TrafficArchive.Writer writer = TrafficArchive.append(path)) { writer.write(exchange); }
+ *   List<RecordedExchange> exchanges = TrafficArchive.read(path);
+ */
+public final class TrafficArchive {
+
+    private static final byte[] MAGIC = "PFSTRAF1".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_RECORD_BYTES = 64 * 1024 * 1024;
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    private TrafficArchive() {
+        // Prevent instantiation
+    }
+
+    /* ****************************
+     *  Writing
+     * ****************************/
+
+    /** Opens {@code file} for appending, creating it (and its directory) when missing. */
+    public static Writer append(Path file) {
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            if (channel.size() == 0) {
+                channel.write(ByteBuffer.wrap(MAGIC));
+            } else {
+                checkMagic(file);
+            }
+            return new Writer(file, channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open traffic archive " + file, e);
+        }
+    }
+
+    /** Appends records to one archive; safe for concurrent writers. */
+    public static final class Writer implements AutoCloseable {
+
+        private final Path file;
+        private final FileChannel channel;
+        private long written;
+
+        private Writer(Path file, FileChannel channel) {
+            this.file = file;
+            this.channel = channel;
+        }
+
+        public synchronized void write(RecordedExchange exchange) {
+            try {
+                channel.write(ByteBuffer.wrap(encode(exchange)));
+                written++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to append to traffic archive " + file, e);
+            }
+        }
+
+        /** Records written through this writer. */
+        public synchronized long getWritten() {
+            return written;
+        }
+
+        @Override
+        public synchronized void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close traffic archive " + file, e);
+            }
+        }
+    }
+
+    /* ****************************
+     *  Reading
+     * ****************************/
+
+    /** Every complete record, in the order written. */
+    public static List<RecordedExchange> read(Path file) {
+        List<RecordedExchange> exchanges = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            byte[] magic = in.readNBytes(MAGIC.length);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new RuntimeException("Not a traffic archive: " + file);
+            }
+            while (true) {
+                byte[] lengthBytes = in.readNBytes(4);
+                if (lengthBytes.length < 4) break;
+                int length = ByteBuffer.wrap(lengthBytes).getInt();
+                if (length < 1 || length > MAX_RECORD_BYTES) break;
+
+                byte[] record = in.readNBytes(length);
+                byte[] crcBytes = in.readNBytes(4);
+                if (record.length < length || crcBytes.length < 4) break;
+                if (ByteBuffer.wrap(crcBytes).getInt() != crc(record)) break;
+                exchanges.add(decode(record));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read traffic archive " + file, e);
+        }
+        return exchanges;
+    }
+
+    // ======================================================
+    // INTERNAL HELPERS
+    // ======================================================
+    private static byte[] encode(RecordedExchange exchange) throws IOException {
+        byte[] payload = payload(exchange);
+        byte[] deflated = deflate(payload);
+        boolean compress = deflated.length < payload.length;
+        byte[] body = compress ? deflated : payload;
+
+        byte[] record = new byte[1 + body.length];
+        record[0] = compress ? DEFLATED : RAW;
+        System.arraycopy(body, 0, record, 1, body.length);
+
+        return ByteBuffer.allocate(4 + record.length + 4)
+                .putInt(record.length)
+                .put(record)
+                .putInt(crc(record))
+                .array();
+    }
+
+    private static byte[] payload(RecordedExchange exchange) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + exchange.responseBody().length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(exchange.startedAt());
+            out.writeLong(exchange.durationNanos());
+            out.writeUTF(exchange.method());
+            out.writeUTF(exchange.path());
+            out.writeUTF(exchange.requestContentType());
+            writeBytes(out, exchange.requestBody());
+            out.writeShort(exchange.status());
+            out.writeShort(exchange.responseHeaders().size());
+            for (Map.Entry<String, String> header : exchange.responseHeaders().entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeUTF(header.getValue());
+            }
+            writeBytes(out, exchange.responseBody());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static RecordedExchange decode(byte[] record) throws IOException {
+        InputStream payload = new ByteArrayInputStream(record, 1, record.length - 1);
+        if (record[0] == DEFLATED) {
+            payload = new InflaterInputStream(payload);
+        }
+        try (DataInputStream in = new DataInputStream(payload)) {
+            long startedAt = in.readLong();
+            long durationNanos = in.readLong();
+            String method = in.readUTF();
+            String path = in.readUTF();
+            String requestContentType = in.readUTF();
+            byte[] requestBody = readBytes(in);
+            int status = in.readUnsignedShort();
+            int headerCount = in.readUnsignedShort();
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (int i = 0; i < headerCount; i++) {
+                headers.put(in.readUTF(), in.readUTF());
+            }
+            byte[] responseBody = readBytes(in);
+            return new RecordedExchange(startedAt, durationNanos, method, path, requestContentType, requestBody,
+                    status, headers, responseBody);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static byte[] deflate(byte[] payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length / 2 + 16);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(payload);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int crc(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    private static void checkMagic(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            if (!Arrays.equals(in.readNBytes(MAGIC.length), MAGIC)) {
+                throw new RuntimeException("Not a traffic archive, refusing to append: " + file);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package PlatziFakeStore.replay;
+
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * TrafficRecorder
+ * --------------------------------------------------
+ * - Rest Assured filter that appends every exchange made through the
+ *   BaseAPI spec (ProductsClient, UsersClient, CategoriesClient, ...)
+ *   to the TrafficArchive at replay.archive
+ * - Installed by BaseAPI when replay.mode=record; the archive is opened
+ *   on the first exchange and closed by close() at the end of the suite
+ * - Sits inside ResponseCache, TimingFilter and CaptureFilter and outside
+ *   ResilienceFilter: cache hits are not recorded, and a retried call is
+ *   recorded once, with the response the test finally got
+ * - 304 answers to the cache's own revalidations are skipped; the 200
+ *   that filled the cache is already in the archive
+ * - Stored: method, path and query, request content type and body,
+ *   status, response headers and body. Request headers (Authorization
+ *   included) and connection-level response headers are not
+ * - /auth/* bodies are redacted before they are written: "password"
+ *   fields become "<redacted>" and JWTs lose their signature, so a
+ *   replayed token still decodes (TokenManager reads its exp claim)
+ *   but is useless against a real server. Other bodies are stored as
+ *   the API sent them, including the fake store's user passwords in
+ *   /users responses
+ */
+public final class TrafficRecorder implements OrderedFilter {
+
+    public static final TrafficRecorder INSTANCE = new TrafficRecorder();
+
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "content-length", "date");
+
+    private static final String REDACTED = "<redacted>";
+    private static final Pattern JWT = Pattern.compile("[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+");
+
+    private static volatile TrafficArchive.Writer writer;
+
+    private TrafficRecorder() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long durationNanos = System.nanoTime() - start;
+
+        if (response.getStatusCode() == 304 && requestSpec.getHeaders().hasHeaderWithName("If-None-Match")) {
+            return response;
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header header : response.getHeaders()) {
+            if (!SKIPPED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                headers.putIfAbsent(header.getName(), header.getValue());
+            }
+        }
+        String path = relativePath(requestSpec.getURI());
+        writer().write(new RecordedExchange(startedAt, durationNanos, requestSpec.getMethod(),
+                path, requestSpec.getContentType(), redact(path, bytesOf(requestSpec.getBody())),
+                response.getStatusCode(), headers, redact(path, response.asByteArray())));
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 4; // just inside CaptureFilter
+    }
+
+    /** Exchanges appended since the archive was opened; 0 when nothing was recorded. */
+    public static long getRecordedCount() {
+        TrafficArchive.Writer current = writer;
+        return current == null ? 0 : current.getWritten();
+    }
+
+    /** Closes the archive; the next recorded exchange opens it again (appending). */
+    public static synchronized void close() {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    // ======================================================
+    // INTERNAL HELPERS
+    // ======================================================
+    private static TrafficArchive.Writer writer() {
+        TrafficArchive.Writer current = writer;
+        if (current == null) {
+            synchronized (TrafficRecorder.class) {
+                if (writer == null) {
+                    writer = TrafficArchive.append(ConfigManager.getReplayArchive());
+                }
+                current = writer;
+            }
+        }
+        return current;
+    }
+
+    /** "http://host/api/v1/products/5?x=1" -> "/products/5?x=1" when base.url is "http://host/api/v1". */
+    static String relativePath(String uri) {
+        String baseUrl = ConfigManager.getBaseUrl();
+        if (uri.startsWith(baseUrl)) {
+            String path = uri.substring(baseUrl.length());
+            return path.isEmpty() || path.charAt(0) != '/' ? "/" + path : path;
+        }
+        URI parsed = URI.create(uri);
+        return parsed.getRawQuery() == null ? parsed.getRawPath() : parsed.getRawPath() + "?" + parsed.getRawQuery();
+    }
+
+    /** Credentials out of /auth/* bodies; a body that is not JSON is dropped rather than stored. */
+    static byte[] redact(String path, byte[] body) {
+        if (body == null || body.length == 0 || !path.startsWith("/auth/")) return body;
+        try {
+            JsonNode json = JsonUtils.mapper().readTree(body);
+            redact(json);
+            return JsonUtils.mapper().writeValueAsBytes(json);
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    private static void redact(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            for (Map.Entry<String, JsonNode> field : object.properties()) {
+                JsonNode value = field.getValue();
+                if (field.getKey().equalsIgnoreCase("password")) {
+                    field.setValue(TextNode.valueOf(REDACTED));
+                } else if (value.isTextual() && JWT.matcher(value.textValue()).matches()) {
+                    String token = value.textValue();
+                    field.setValue(TextNode.valueOf(token.substring(0, token.lastIndexOf('.') + 1) + REDACTED));
+                } else {
+                    redact(value);
+                }
+            }
+        } else if (node != null && node.isArray()) {
+            node.forEach(TrafficRecorder::redact);
+        }
+    }
+
+    private static byte[] bytesOf(Object body) {
+        if (body == null) return null;
+        if (body instanceof byte[] bytes) return bytes;
+        return String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+    }
+}
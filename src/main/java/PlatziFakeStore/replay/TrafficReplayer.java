@@ -0,0 +1,153 @@
+package PlatziFakeStore.replay;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TrafficReplayer
+ * --------------------------------------------------
+ * - Sends the requests of a TrafficArchive to another base URL (a local
+ *   build, a staging box) and compares each status with the recorded one
+ * - FAST sends everything as fast as maxInFlight allows; RECORDED keeps
+ *   the recorded spacing, so a production-shaped trace arrives with its
+ *   original bursts and gaps
+ * - Bodies are not compared: ids and timestamps differ between servers
+ *
+ * Authorization is not archived, so calls that needed a token come back
+ * 401 unless the target lets them through.
+ *
+ * Usage:
+ *   TrafficReplayer.Result result = TrafficReplayer.replay(
+ *           TrafficArchive.read(path), "http://localhost:3000/api/v1", ReplayTiming.RECORDED, 200);
+ *   System.out.println(result);
+ */
+public final class TrafficReplayer {
+
+    private TrafficReplayer() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @param baseUrl     target the archived paths are resolved against, e.g. "http://localhost:3000/api/v1"
+     * @param maxInFlight requests allowed to be outstanding at once
+     */
+    public static Result replay(List<RecordedExchange> exchanges, String baseUrl, ReplayTiming timing, int maxInFlight) {
+        List<RecordedExchange> ordered = new ArrayList<>(exchanges);
+        ordered.sort(Comparator.comparingLong(RecordedExchange::startedAt));
+
+        Semaphore inFlight = new Semaphore(Math.max(1, maxInFlight));
+        LongAdder mismatches = new LongAdder();
+        LongAdder failures = new LongAdder();
+        List<CompletableFuture<?>> pending = new ArrayList<>(ordered.size());
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            long firstStartedAt = ordered.isEmpty() ? 0 : ordered.get(0).startedAt();
+
+            for (RecordedExchange exchange : ordered) {
+                if (timing == ReplayTiming.RECORDED) {
+                    waitUntil(start + TimeUnit.MILLISECONDS.toNanos(exchange.startedAt() - firstStartedAt));
+                }
+                acquire(inFlight);
+                pending.add(client.sendAsync(request(baseUrl, exchange), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, failure) -> {
+                            inFlight.release();
+                            if (failure != null) {
+                                failures.increment();
+                            } else if (response.statusCode() != exchange.status()) {
+                                mismatches.increment();
+                            }
+                        }));
+            }
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                    .exceptionally(failure -> null)
+                    .join();
+        }
+        return new Result(ordered.size(), mismatches.sum(), failures.sum(), System.nanoTime() - start);
+    }
+
+    // ======================================================
+    // INTERNAL HELPERS
+    // ======================================================
+    private static HttpRequest request(String baseUrl, RecordedExchange exchange) {
+        byte[] body = exchange.requestBody();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + exchange.path()))
+                .timeout(Duration.ofSeconds(30))
+                .method(exchange.method(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        if (!exchange.requestContentType().isEmpty()) {
+            builder.header("Content-Type", exchange.requestContentType());
+        }
+        return builder.build();
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while pacing the replay", e);
+            }
+        }
+    }
+
+    private static void acquire(Semaphore inFlight) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for an in-flight slot", e);
+        }
+    }
+
+    /** Outcome of one replay. */
+    public static final class Result {
+
+        private final long sent;
+        private final long statusMismatches;
+        private final long failures;
+        private final long elapsedNanos;
+
+        Result(long sent, long statusMismatches, long failures, long elapsedNanos) {
+            this.sent = sent;
+            this.statusMismatches = statusMismatches;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getSent() { return sent; }
+
+        /** Responses whose status differs from the recorded one. */
+        public long getStatusMismatches() { return statusMismatches; }
+
+        /** Requests that got no response (connect failure, timeout). */
+        public long getFailures() { return failures; }
+
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+        @Override
+        public String toString() {
+            return "[sent: " + sent + "; status mismatches: " + statusMismatches + "; failures: " + failures
+                    + "; elapsed ms: " + getElapsedMillis() + "]";
+        }
+    }
+}
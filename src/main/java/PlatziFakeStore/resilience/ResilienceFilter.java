@@ -0,0 +1,302 @@
+package PlatziFakeStore.resilience;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.metrics.EndpointMetrics;
+import PlatziFakeStore.metrics.LatencyHistogram;
+import PlatziFakeStore.metrics.PhaseMetrics;
+import PlatziFakeStore.metrics.StatusClass;
+import io.restassured.RestAssured;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ResilienceFilter
+ * --------------------------------------------------
+ * - Hedging (GET only): when the reply is slower than the endpoint's
+ *   observed p95 (resilience.hedge.percentile over EndpointMetrics), a
+ *   second identical GET is sent and whichever usable reply arrives
+ *   first is returned; the other one is drained and discarded
+ * - Retries (idempotent methods only: GET, HEAD, OPTIONS, PUT, DELETE)
+ *   on connection failures, 429, 502, 503 and 504, with exponential
+ *   backoff and full jitter
+ * - Every retry and hedge is paid from one suite-wide RetryBudget, so
+ *   a struggling server is not hit with multiples of the normal load
+ * - POST is never repeated: a lost reply may still have created something
+ * - Replies that are retried or lose a hedge are read to the end before
+ *   they are dropped; an unread body keeps its pooled connection leased
+ *
+ * Installed last in the chain by BaseAPI (resilience.enabled). The first
+ * attempt goes down the chain; a FilterContext can only be advanced once,
+ * so retries and hedges go out as standalone requests with the same client
+ * config, headers and body. TimingFilter records what the test saw,
+ * retries and hedges included.
+ *
+ * Usage:
+ *   System.out.println(ResilienceFilter.stats());
+ */
+public final class ResilienceFilter implements OrderedFilter {
+
+    public static final ResilienceFilter INSTANCE = new ResilienceFilter();
+
+    private static final Set<String> IDEMPOTENT = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    private static final Set<Integer> RETRYABLE_STATUS = Set.of(429, 502, 503, 504);
+
+    private static final RetryBudget BUDGET = new RetryBudget(
+            ConfigManager.getRetryBudgetRatio(), ConfigManager.getRetryBudgetFloor());
+    private static final ExecutorService ATTEMPTS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final LongAdder HEDGES_SENT = new LongAdder();
+    private static final LongAdder HEDGES_WON = new LongAdder();
+    private static final LongAdder RETRIES = new LongAdder();
+
+    private ResilienceFilter() {
+    }
+
+    /* ****************************
+     *  Filter
+     * ****************************/
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String method = requestSpec.getMethod().toUpperCase(Locale.ROOT);
+        if (!IDEMPOTENT.contains(method)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        BUDGET.recordRequest();
+        APIResources endpoint = APIResources.resolve(requestSpec, ctx);
+        int maxRetries = ConfigManager.getRetryMaxAttempts();
+
+        for (int attempt = 0; ; attempt++) {
+            Response response = null;
+            Exception failure = null;
+            try {
+                if (attempt > 0) {
+                    response = sendCopy(requestSpec);
+                } else if (method.equals("GET")) {
+                    response = hedged(endpoint, requestSpec, responseSpec, ctx);
+                } else {
+                    response = ctx.next(requestSpec, responseSpec);
+                }
+                if (!RETRYABLE_STATUS.contains(response.getStatusCode())) {
+                    return response;
+                }
+            } catch (Exception e) { // Rest Assured rethrows ConnectException & co. unwrapped
+                failure = e;
+            }
+
+            if (attempt >= maxRetries || !BUDGET.tryAcquire()) {
+                if (failure != null) throw rethrow(failure);
+                return response;
+            }
+            RETRIES.increment();
+            if (response != null) discard(response);
+            backOff(attempt);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE; // must be last: ctx.next() from here goes straight to the wire
+    }
+
+    /* ****************************
+     *  Hedging
+     * ****************************/
+
+    private static Response hedged(APIResources endpoint, FilterableRequestSpecification requestSpec,
+                                   FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        long delayMillis = hedgeDelayMillis(endpoint);
+        if (delayMillis < 0) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        CompletableFuture<Response> primary = CompletableFuture.supplyAsync(
+                PhaseMetrics.carryOver(() -> ctx.next(requestSpec, responseSpec)), ATTEMPTS);
+        try {
+            return primary.get(delayMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Slower than usual: hedge below
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for " + requestSpec.getURI(), e);
+        }
+
+        if (!BUDGET.tryAcquire()) {
+            return join(primary);
+        }
+        HEDGES_SENT.increment();
+        CompletableFuture<Response> hedge = CompletableFuture.supplyAsync(() -> sendCopy(requestSpec), ATTEMPTS);
+        CompletableFuture<Response> first = firstUsable(primary, hedge);
+        first.whenComplete((chosen, failure) -> {
+            for (CompletableFuture<Response> attempt : List.of(primary, hedge)) {
+                attempt.thenAccept(response -> {
+                    if (response != chosen) discard(response);
+                });
+            }
+        });
+        Response winner = join(first);
+        if (hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.join() == winner) {
+            HEDGES_WON.increment(); // counted here, so the stats are current when the caller gets the reply
+        }
+        return winner;
+    }
+
+    /** -1 when hedging is off or the endpoint has too few samples for a meaningful percentile. */
+    private static long hedgeDelayMillis(APIResources endpoint) {
+        if (endpoint == null || !ConfigManager.isHedgingEnabled()) return -1;
+        LatencyHistogram latencies = EndpointMetrics.get(endpoint, StatusClass.SUCCESS);
+        if (latencies.getTotalCount() < ConfigManager.getHedgeMinSamples()) return -1;
+        long percentileMillis = TimeUnit.MICROSECONDS.toMillis(
+                latencies.getValueAtPercentile(ConfigManager.getHedgePercentile()));
+        return Math.max(ConfigManager.getHedgeMinDelayMillis(), percentileMillis);
+    }
+
+    /** Same request, outside the filter chain (no cache, no coalescing, no second timing). */
+    private static Response sendCopy(FilterableRequestSpecification requestSpec) {
+        RequestSpecification copy = RestAssured.given()
+                .config(requestSpec.getConfig())
+                .headers(requestSpec.getHeaders())
+                .urlEncodingEnabled(false); // getURI() is already encoded
+        if (requestSpec.getBody() != null) {
+            copy.body((Object) requestSpec.getBody());
+        }
+        return copy.request(requestSpec.getMethod(), requestSpec.getURI());
+    }
+
+    /**
+     * First reply that is not a 5xx; when both are unusable, the primary's
+     * outcome, so the retry logic sees the original failure.
+     */
+    private static CompletableFuture<Response> firstUsable(CompletableFuture<Response> primary,
+                                                           CompletableFuture<Response> hedge) {
+        CompletableFuture<Response> winner = new CompletableFuture<>();
+        AtomicInteger unusable = new AtomicInteger();
+        for (CompletableFuture<Response> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((response, failure) -> {
+                if (failure == null && response.getStatusCode() < 500) {
+                    winner.complete(response);
+                } else if (unusable.incrementAndGet() == 2) {
+                    primary.whenComplete((original, originalFailure) -> {
+                        if (originalFailure != null) winner.completeExceptionally(originalFailure);
+                        else winner.complete(original);
+                    });
+                }
+            });
+        }
+        return winner;
+    }
+
+    /* ****************************
+     *  Helpers
+     * ****************************/
+
+    /** Full jitter: uniform in [0, min(max, base * 2^attempt)]. */
+    private static void backOff(int attempt) {
+        long base = ConfigManager.getRetryBackoffMillis();
+        long cap = Math.min(ConfigManager.getRetryBackoffMaxMillis(), base << Math.min(attempt, 20));
+        long sleep = ThreadLocalRandom.current().nextLong(cap + 1);
+        try {
+            Thread.sleep(sleep);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during retry backoff", e);
+        }
+    }
+
+    /** Reads a reply nobody will see, so its connection goes back to the pool. */
+    private static void discard(Response response) {
+        try {
+            response.asByteArray();
+        } catch (Exception e) { // a broken body is dropped with its connection
+        }
+    }
+
+    private static Response join(CompletableFuture<Response> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /** Throws {@code cause} unchanged, checked exceptions included, as Rest Assured itself does. */
+    private static RuntimeException rethrow(Throwable cause) {
+        throw ResilienceFilter.<RuntimeException>unchecked(cause);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> T unchecked(Throwable cause) throws T {
+        throw (T) cause;
+    }
+
+    /* ****************************
+     *  Stats
+     * ****************************/
+
+    public static Stats stats() {
+        return new Stats(HEDGES_SENT.sum(), HEDGES_WON.sum(), RETRIES.sum(), BUDGET.getSpent(), BUDGET.getDenied());
+    }
+
+    /** Zeroes the counters and refills the budget. */
+    public static void resetStats() {
+        HEDGES_SENT.reset();
+        HEDGES_WON.reset();
+        RETRIES.reset();
+        BUDGET.reset();
+    }
+
+    /** Point-in-time counter values. */
+    public static final class Stats {
+
+        private final long hedgesSent;
+        private final long hedgesWon;
+        private final long retries;
+        private final long budgetSpent;
+        private final long budgetDenied;
+
+        Stats(long hedgesSent, long hedgesWon, long retries, long budgetSpent, long budgetDenied) {
+            this.hedgesSent = hedgesSent;
+            this.hedgesWon = hedgesWon;
+            this.retries = retries;
+            this.budgetSpent = budgetSpent;
+            this.budgetDenied = budgetDenied;
+        }
+
+        public long getHedgesSent() { return hedgesSent; }
+        public long getHedgesWon() { return hedgesWon; }
+        public long getRetries() { return retries; }
+        public long getBudgetSpent() { return budgetSpent; }
+
+        /** Retries and hedges skipped because the budget was used up. */
+        public long getBudgetDenied() { return budgetDenied; }
+
+        @Override
+        public String toString() {
+            return "[hedges sent: " + hedgesSent + "; hedges won: " + hedgesWon + "; retries: " + retries
+                    + "; budget spent: " + budgetSpent + "; budget denied: " + budgetDenied + "]";
+        }
+    }
+}
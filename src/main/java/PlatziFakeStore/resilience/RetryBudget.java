@@ -0,0 +1,66 @@
+package PlatziFakeStore.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RetryBudget
+ * --------------------------------------------------
+ * - Suite-wide cap on extra requests (retries and hedges): at any time
+ *   at most {@code floor + ratio * requests} may have been spent
+ * - The ratio bounds amplification when the server is struggling: with
+ *   0.1, a fully failing server sees at most ~10% more traffic, not 3x
+ * - The floor lets a short suite still retry its first few failures
+ * - Lock-free; one CAS per extra request
+ */
+public final class RetryBudget {
+
+    private final double ratio;
+    private final long floor;
+    private final LongAdder requests = new LongAdder();
+    private final AtomicLong spent = new AtomicLong();
+    private final LongAdder denied = new LongAdder();
+
+    public RetryBudget(double ratio, long floor) {
+        this.ratio = Math.max(0, ratio);
+        this.floor = Math.max(0, floor);
+    }
+
+    /** Called once per original request; earns {@code ratio} tokens. */
+    public void recordRequest() {
+        requests.increment();
+    }
+
+    /** Takes one token for a retry or hedge; false when the budget is used up. */
+    public boolean tryAcquire() {
+        long allowed = floor + (long) (ratio * requests.sum());
+        while (true) {
+            long current = spent.get();
+            if (current >= allowed) {
+                denied.increment();
+                return false;
+            }
+            if (spent.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public long getSpent() {
+        return spent.get();
+    }
+
+    public long getDenied() {
+        return denied.sum();
+    }
+
+    public long getRemaining() {
+        return Math.max(0, floor + (long) (ratio * requests.sum()) - spent.get());
+    }
+
+    public void reset() {
+        requests.reset();
+        spent.set(0);
+        denied.reset();
+    }
+}
@@ -0,0 +1,13 @@
+package PlatziFakeStore.snapshot;
+
+import PlatziFakeStore.models.response.Category;
+
+/**
+ * Read-only category as held by SnapshotStore.
+ */
+public record CategoryRecord(int id, String name, String slug, String image) {
+
+    static CategoryRecord of(Category category) {
+        return new CategoryRecord(category.getId(), category.getName(), category.getSlug(), category.getImage());
+    }
+}
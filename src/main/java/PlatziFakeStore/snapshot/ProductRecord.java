@@ -0,0 +1,23 @@
+package PlatziFakeStore.snapshot;
+
+import PlatziFakeStore.models.response.Product;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only product as held by SnapshotStore. The nested category is
+ * reduced to its id (-1 when missing); look it up in the category
+ * snapshot when more is needed. {@code images} is null when the API sent none.
+ */
+public record ProductRecord(int id, String title, String slug, double price, String description,
+                            int categoryId, List<String> images) {
+
+    static ProductRecord of(Product product) {
+        return new ProductRecord(product.getId() == null ? -1 : product.getId(),
+                product.getTitle(), product.getSlug(), product.getPrice(), product.getDescription(),
+                product.getCategory() == null ? -1 : product.getCategory().getId(),
+                product.getImages() == null ? null : Collections.unmodifiableList(new ArrayList<>(product.getImages())));
+    }
+}
@@ -0,0 +1,94 @@
+package PlatziFakeStore.snapshot;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Snapshot
+ * --------------------------------------------------
+ * - One collection as fetched at a point in time, in API order
+ * - Immutable: the list, every index and every element (records) are
+ *   read-only, so any number of tests can read it concurrently without
+ *   locks or copies
+ * - Indexed by id and, where the type has them, by slug and category id;
+ *   indexes are built once when the snapshot is taken
+ */
+public final class Snapshot<T> {
+
+    private final List<T> all;
+    private final Map<Integer, T> byId;
+    private final Map<String, T> bySlug;
+    private final Map<Integer, List<T>> byCategory;
+    private final Instant fetchedAt;
+
+    private Snapshot(List<T> all, Map<Integer, T> byId, Map<String, T> bySlug,
+                     Map<Integer, List<T>> byCategory, Instant fetchedAt) {
+        this.all = all;
+        this.byId = byId;
+        this.bySlug = bySlug;
+        this.byCategory = byCategory;
+        this.fetchedAt = fetchedAt;
+    }
+
+    /**
+     * @param slug     null when the type has no slug
+     * @param category null when the type has no category
+     */
+    static <T> Snapshot<T> of(List<T> items, ToIntFunction<T> id, Function<T, String> slug, ToIntFunction<T> category) {
+        Map<Integer, T> byId = new HashMap<>(items.size() * 2);
+        Map<String, T> bySlug = new HashMap<>();
+        Map<Integer, List<T>> byCategory = new HashMap<>();
+
+        for (T item : items) {
+            byId.putIfAbsent(id.applyAsInt(item), item);
+            if (slug != null && slug.apply(item) != null) {
+                bySlug.putIfAbsent(slug.apply(item), item);
+            }
+            if (category != null) {
+                byCategory.computeIfAbsent(category.applyAsInt(item), key -> new ArrayList<>()).add(item);
+            }
+        }
+
+        Map<Integer, List<T>> frozenCategories = new HashMap<>(byCategory.size() * 2);
+        byCategory.forEach((key, members) -> frozenCategories.put(key, List.copyOf(members)));
+        return new Snapshot<>(List.copyOf(items), Map.copyOf(byId), Map.copyOf(bySlug),
+                Map.copyOf(frozenCategories), Instant.now());
+    }
+
+    /** Every element, in the order the API returned them. */
+    public List<T> getAll() {
+        return all;
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    public Optional<T> byId(int id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public Optional<T> bySlug(String slug) {
+        return Optional.ofNullable(bySlug.get(slug));
+    }
+
+    /** Elements of one category; empty when there are none (or the type has no category). */
+    public List<T> byCategory(int categoryId) {
+        return byCategory.getOrDefault(categoryId, List.of());
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Snapshot[elements: " + all.size() + "; fetched at: " + fetchedAt + "]";
+    }
+}
@@ -0,0 +1,132 @@
+package PlatziFakeStore.snapshot;
+
+import PlatziFakeStore.clients.CategoriesClient;
+import PlatziFakeStore.clients.ProductsClient;
+import PlatziFakeStore.clients.UsersClient;
+import PlatziFakeStore.models.response.Category;
+import PlatziFakeStore.models.response.Product;
+import PlatziFakeStore.models.response.Users;
+import PlatziFakeStore.utils.JsonArrayReader;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * SnapshotStore
+ * --------------------------------------------------
+ * - Suite-wide read-only copies of /users, /products and /categories:
+ *   each collection is fetched once, on first use, and then shared by
+ *   every test that only checks invariants over it
+ * - Elements are streamed off the response (JsonArrayReader) straight
+ *   into compact records; the response models are not kept
+ * - Concurrent first callers wait for a single fetch
+ * - The data is as of the fetch: tests that need to see their own writes
+ *   must call the API, not the store
+ *
+ * Usage:
+ *   for (UserRecord user : SnapshotStore.users().getAll()) { ... }
+ *   ProductRecord product = SnapshotStore.products().bySlug(slug).orElseThrow();
+ */
+public final class SnapshotStore {
+
+    private static final LongAdder FETCHES = new LongAdder();
+
+    private static final Slot<UserRecord> USERS = new Slot<>(() -> Snapshot.of(
+            read(new UsersClient().getAllUsers(), Users.class, UserRecord::of),
+            UserRecord::id, null, null));
+
+    private static final Slot<ProductRecord> PRODUCTS = new Slot<>(() -> Snapshot.of(
+            read(new ProductsClient().getAllProducts(), Product.class, ProductRecord::of),
+            ProductRecord::id, ProductRecord::slug, ProductRecord::categoryId));
+
+    private static final Slot<CategoryRecord> CATEGORIES = new Slot<>(() -> Snapshot.of(
+            read(new CategoriesClient().getAllCategories(), Category.class, CategoryRecord::of),
+            CategoryRecord::id, CategoryRecord::slug, null));
+
+    private SnapshotStore() {
+        // Prevent instantiation
+    }
+
+    public static Snapshot<UserRecord> users() {
+        return USERS.get();
+    }
+
+    public static Snapshot<ProductRecord> products() {
+        return PRODUCTS.get();
+    }
+
+    public static Snapshot<CategoryRecord> categories() {
+        return CATEGORIES.get();
+    }
+
+    /** Drops every snapshot; the next read fetches again. */
+    public static void clear() {
+        USERS.clear();
+        PRODUCTS.clear();
+        CATEGORIES.clear();
+    }
+
+    /** Collections fetched so far (at most one per collection between clears). */
+    public static long getFetchCount() {
+        return FETCHES.sum();
+    }
+
+    private static <M, R> List<R> read(Response response, Class<M> model, Function<M, R> toRecord) {
+        List<R> records = new ArrayList<>();
+        try (JsonArrayReader<M> elements = JsonArrayReader.of(response, model)) {
+            while (elements.hasNext()) {
+                records.add(toRecord.apply(elements.next()));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Lazily filled, clearable holder; one fetch even when many tests ask at once.
+     * Guarded by a ReentrantLock, not synchronized: virtual threads waiting on a
+     * monitor pin their carriers, which can starve the in-process stand-in server
+     * (also on virtual threads) that has to answer the fetch.
+     */
+    private static final class Slot<T> {
+
+        private final Supplier<Snapshot<T>> fetch;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Snapshot<T> value;
+
+        Slot(Supplier<Snapshot<T>> fetch) {
+            this.fetch = fetch;
+        }
+
+        Snapshot<T> get() {
+            Snapshot<T> snapshot = value;
+            if (snapshot == null) {
+                lock.lock();
+                try {
+                    snapshot = value;
+                    if (snapshot == null) {
+                        snapshot = fetch.get();
+                        FETCHES.increment();
+                        value = snapshot;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return snapshot;
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                value = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
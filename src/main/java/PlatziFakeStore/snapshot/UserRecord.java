@@ -0,0 +1,15 @@
+package PlatziFakeStore.snapshot;
+
+import PlatziFakeStore.models.response.Users;
+
+/**
+ * Read-only user as held by SnapshotStore: the fields invariant checks
+ * need, nothing settable. The password is deliberately not kept.
+ */
+public record UserRecord(int id, String email, String name, String role, String avatar) {
+
+    static UserRecord of(Users user) {
+        return new UserRecord(user.getId() == null ? -1 : user.getId(),
+                user.getEmail(), user.getName(), user.getRole(), user.getAvatar());
+    }
+}
@@ -0,0 +1,84 @@
+package PlatziFakeStore.stub;
+
+import PlatziFakeStore.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * FakeStoreAuth
+ * --------------------------------------------------
+ * - Issues and verifies HS256 JWTs for the stand-in /auth routes
+ * - Payload carries "sub", "iat" and "exp" like the EscuelaJS tokens
+ * - Signing key is random per server instance
+ */
+final class FakeStoreAuth {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final byte[] secret = new byte[32];
+    private final long accessTtlSeconds;
+    private final long refreshTtlSeconds;
+
+    FakeStoreAuth(long accessTtlSeconds, long refreshTtlSeconds) {
+        new SecureRandom().nextBytes(secret);
+        this.accessTtlSeconds = accessTtlSeconds;
+        this.refreshTtlSeconds = refreshTtlSeconds;
+    }
+
+    Map<String, String> issueTokens(int userId) {
+        Map<String, String> tokens = new LinkedHashMap<>();
+        tokens.put("access_token", sign(userId, accessTtlSeconds));
+        tokens.put("refresh_token", sign(userId, refreshTtlSeconds));
+        return tokens;
+    }
+
+    /** Returns the subject of a valid, unexpired token, or -1. */
+    int verify(String token) {
+        if (token == null) return -1;
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot < 0 || lastDot <= firstDot) return -1;
+
+        byte[] expected = hmac(token.substring(0, lastDot));
+        byte[] actual;
+        try {
+            actual = DECODER.decode(token.substring(lastDot + 1));
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        if (!MessageDigest.isEqual(expected, actual)) return -1;
+
+        JsonNode payload = JsonUtils.fromJson(DECODER.decode(token.substring(firstDot + 1, lastDot)), JsonNode.class);
+        if (payload.path("exp").asLong() <= Instant.now().getEpochSecond()) return -1;
+        return payload.path("sub").asInt(-1);
+    }
+
+    private String sign(int userId, long ttlSeconds) {
+        long now = Instant.now().getEpochSecond();
+        String payload = "{\"sub\":" + userId + ",\"iat\":" + now + ",\"exp\":" + (now + ttlSeconds) + "}";
+        String unsigned = HEADER + "." + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return unsigned + "." + ENCODER.encodeToString(hmac(unsigned));
+    }
+
+    private byte[] hmac(String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package PlatziFakeStore.stub;
+
+import PlatziFakeStore.models.response.Category;
+import PlatziFakeStore.models.response.Product;
+import PlatziFakeStore.models.response.Users;
+import PlatziFakeStore.utils.JsonUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * FakeStoreData
+ * --------------------------------------------------
+ * - In-memory catalog backing FakeStoreServer
+ * - Seeded with EscuelaJS-shaped categories, products and users
+ * - Entities are replaced (never mutated) on write, so readers need no locks
+ * - Slugs and emails are indexed; a lookup finds the lowest id carrying
+ *   the key, as a scan in id order would
+ * - Renaming a category also replaces the copy embedded in its products
+ * - Caches the serialized GET_ALL_* bodies until the next write; each
+ *   body is tagged with the collection's write version, so one built
+ *   while a write raced it is never served from the cache
+ */
+public final class FakeStoreData {
+
+    private static final String[] CATEGORY_NAMES = {"Clothes", "Electronics", "Furniture", "Shoes", "Miscellaneous"};
+    private static final String[] ADJECTIVES = {"Classic", "Modern", "Sleek", "Rustic", "Vintage", "Elegant", "Compact", "Premium"};
+    private static final String[][] NOUNS = {
+            {"Jacket", "Hoodie", "T-Shirt"},
+            {"Headphones", "Smartwatch", "Laptop"},
+            {"Armchair", "Desk", "Lamp"},
+            {"Sneakers", "Boots", "Sandals"},
+            {"Backpack", "Sunglasses", "Water Bottle"}
+    };
+
+    private final ConcurrentNavigableMap<Integer, Category> categories = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<Integer, Product> products = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<Integer, Users> users = new ConcurrentSkipListMap<>();
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+
+    private final Index categorySlugs = new Index();
+    private final Index productSlugs = new Index();
+    private final Index userEmails = new Index(); // lower-cased: emails match case-insensitively
+
+    private final AtomicInteger categorySequence = new AtomicInteger();
+    private final AtomicInteger productSequence = new AtomicInteger();
+    private final AtomicInteger userSequence = new AtomicInteger();
+
+    private final AtomicLong categoriesVersion = new AtomicLong(); // bumped after every write
+    private final AtomicLong productsVersion = new AtomicLong();
+    private final AtomicLong usersVersion = new AtomicLong();
+
+    private volatile Serialized categoriesJson;
+    private volatile Serialized productsJson;
+    private volatile Serialized usersJson;
+
+    public FakeStoreData(int productCount, int userCount) {
+        seed(productCount, userCount);
+    }
+
+    // ======================================================
+    // CATEGORIES
+    // ======================================================
+    public byte[] allCategoriesJson() {
+        Serialized json = serialize(categoriesJson, categoriesVersion, categories.values());
+        categoriesJson = json;
+        return json.bytes();
+    }
+
+    public Category category(int id) {
+        return categories.get(id);
+    }
+
+    public Category categoryBySlug(String slug) {
+        return categorySlugs.first(slug, categories, Category::getSlug);
+    }
+
+    public Category createCategory(String name, String image) {
+        Category category = newCategory(categorySequence.incrementAndGet(), name, image);
+        categories.put(category.getId(), category);
+        categorySlugs.add(category.getSlug(), category.getId());
+        categoriesVersion.incrementAndGet();
+        return category;
+    }
+
+    public Category updateCategory(int id, String name, String image) {
+        Category current = categories.get(id);
+        if (current == null) return null;
+
+        Category updated = newCategory(id, name != null ? name : current.getName(), image != null ? image : current.getImage());
+        updated.setCreationAt(current.getCreationAt());
+        categories.put(id, updated);
+        categorySlugs.replace(current.getSlug(), updated.getSlug(), id);
+        for (Product product : products.values()) {
+            if (product.getCategory().getId() == id) {
+                products.computeIfPresent(product.getId(), (productId, latest) ->
+                        latest.getCategory().getId() == id ? withCategory(latest, updated) : latest);
+            }
+        }
+        categoriesVersion.incrementAndGet();
+        productsVersion.incrementAndGet();
+        return updated;
+    }
+
+    public boolean deleteCategory(int id) {
+        Category removed = categories.remove(id);
+        if (removed != null) {
+            categorySlugs.remove(removed.getSlug(), id);
+            for (Product product : products.values()) {
+                if (product.getCategory().getId() == id && products.remove(product.getId(), product)) {
+                    productSlugs.remove(product.getSlug(), product.getId());
+                }
+            }
+            categoriesVersion.incrementAndGet();
+            productsVersion.incrementAndGet();
+        }
+        return removed != null;
+    }
+
+    // ======================================================
+    // PRODUCTS
+    // ======================================================
+    public byte[] allProductsJson() {
+        Serialized json = serialize(productsJson, productsVersion, products.values());
+        productsJson = json;
+        return json.bytes();
+    }
+
+    public List<Product> productsPage(int offset, int limit) {
+        List<Product> page = new ArrayList<>(Math.max(0, Math.min(limit, products.size())));
+        int index = 0;
+        for (Product product : products.values()) {
+            if (page.size() >= limit) break;
+            if (index++ >= offset) page.add(product);
+        }
+        return page;
+    }
+
+    public List<Product> productsInCategory(int categoryId) {
+        List<Product> inCategory = new ArrayList<>();
+        for (Product product : products.values()) {
+            if (product.getCategory().getId() == categoryId) inCategory.add(product);
+        }
+        return inCategory;
+    }
+
+    public Product product(int id) {
+        return products.get(id);
+    }
+
+    public Product productBySlug(String slug) {
+        return productSlugs.first(slug, products, Product::getSlug);
+    }
+
+    public List<Product> relatedProducts(Product product) {
+        List<Product> related = new ArrayList<>();
+        for (Product candidate : products.values()) {
+            if (related.size() >= 5) break;
+            if (!candidate.getId().equals(product.getId())
+                    && candidate.getCategory().getId() == product.getCategory().getId()) {
+                related.add(candidate);
+            }
+        }
+        return related;
+    }
+
+    public Product createProduct(String title, double price, String description, Category category, List<String> images) {
+        Product product = newProduct(productSequence.incrementAndGet(), title, price, description, category, images);
+        products.put(product.getId(), product);
+        productSlugs.add(product.getSlug(), product.getId());
+        productsVersion.incrementAndGet();
+        return product;
+    }
+
+    public Product updateProduct(int id, String title, Double price, String description, Category category, List<String> images) {
+        Product current = products.get(id);
+        if (current == null) return null;
+
+        Product updated = newProduct(id,
+                title != null ? title : current.getTitle(),
+                price != null ? price : current.getPrice(),
+                description != null ? description : current.getDescription(),
+                category != null ? category : current.getCategory(),
+                images != null ? images : current.getImages());
+        updated.setCreationAt(current.getCreationAt());
+        products.put(id, updated);
+        productSlugs.replace(current.getSlug(), updated.getSlug(), id);
+        productsVersion.incrementAndGet();
+        return updated;
+    }
+
+    public boolean deleteProduct(int id) {
+        Product removed = products.remove(id);
+        if (removed != null) {
+            productSlugs.remove(removed.getSlug(), id);
+            productsVersion.incrementAndGet();
+        }
+        return removed != null;
+    }
+
+    // ======================================================
+    // USERS
+    // ======================================================
+    public byte[] allUsersJson() {
+        Serialized json = serialize(usersJson, usersVersion, users.values());
+        usersJson = json;
+        return json.bytes();
+    }
+
+    public Users user(int id) {
+        return users.get(id);
+    }
+
+    public Users userByEmail(String email) {
+        return userEmails.first(emailKey(email), users, user -> emailKey(user.getEmail()));
+    }
+
+    public Users createUser(String name, String email, String password, String avatar, String role) {
+        String now = Instant.now().toString();
+        Users user = new Users(userSequence.incrementAndGet(), email, password, name, role, avatar, now, now);
+        users.put(user.getId(), user);
+        userEmails.add(emailKey(email), user.getId());
+        usersVersion.incrementAndGet();
+        return user;
+    }
+
+    public Users updateUser(int id, String name, String email, String password, String avatar, String role) {
+        Users current = users.get(id);
+        if (current == null) return null;
+
+        Users updated = new Users(id,
+                email != null ? email : current.getEmail(),
+                password != null ? password : current.getPassword(),
+                name != null ? name : current.getName(),
+                role != null ? role : current.getRole(),
+                avatar != null ? avatar : current.getAvatar(),
+                current.getCreationAt(),
+                Instant.now().toString());
+        users.put(id, updated);
+        userEmails.replace(emailKey(current.getEmail()), emailKey(updated.getEmail()), id);
+        usersVersion.incrementAndGet();
+        return updated;
+    }
+
+    public boolean deleteUser(int id) {
+        Users removed = users.remove(id);
+        if (removed != null) {
+            userEmails.remove(emailKey(removed.getEmail()), id);
+            usersVersion.incrementAndGet();
+        }
+        return removed != null;
+    }
+
+    // ======================================================
+    // FILES
+    // ======================================================
+    public void putFile(String name, byte[] content) {
+        files.put(name, content);
+    }
+
+    public byte[] file(String name) {
+        return files.get(name);
+    }
+
+    // ======================================================
+    // INTERNAL HELPERS
+    // ======================================================
+
+    /** A GET_ALL_* body and the write version of the collection it was built from. */
+    private record Serialized(long version, byte[] bytes) {
+    }
+
+    /**
+     * The cached body while no write has happened since, else a new one. The
+     * version is read before serializing: a body that races a write carries
+     * the old version and is rebuilt by the next reader.
+     */
+    private static Serialized serialize(Serialized cached, AtomicLong version, Collection<?> values) {
+        long current = version.get();
+        if (cached != null && cached.version() == current) return cached;
+        return new Serialized(current, JsonUtils.toJsonBytes(new ArrayList<>(values)));
+    }
+
+    /**
+     * Key -> ids of the entities carrying it. Sets are only changed inside
+     * compute(), so an add never lands in a set that was just dropped.
+     * Lookups re-check the entity, since a write may be half applied.
+     */
+    private static final class Index {
+
+        private final Map<String, NavigableSet<Integer>> ids = new ConcurrentHashMap<>();
+
+        void add(String key, int id) {
+            if (key == null) return;
+            ids.compute(key, (k, set) -> {
+                NavigableSet<Integer> target = set != null ? set : new ConcurrentSkipListSet<>();
+                target.add(id);
+                return target;
+            });
+        }
+
+        void remove(String key, int id) {
+            if (key == null) return;
+            ids.computeIfPresent(key, (k, set) -> {
+                set.remove(id);
+                return set.isEmpty() ? null : set;
+            });
+        }
+
+        void replace(String oldKey, String newKey, int id) {
+            if (Objects.equals(oldKey, newKey)) return;
+            add(newKey, id);
+            remove(oldKey, id);
+        }
+
+        <T> T first(String key, Map<Integer, T> entities, Function<T, String> keyOf) {
+            if (key == null) return null;
+            NavigableSet<Integer> set = ids.get(key);
+            if (set == null) return null;
+            for (Integer id : set) {
+                T entity = entities.get(id);
+                if (entity != null && key.equals(keyOf.apply(entity))) return entity;
+            }
+            return null;
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+
+    public static String slugify(String value) {
+        return value.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+    }
+
+    private void seed(int productCount, int userCount) {
+        for (String name : CATEGORY_NAMES) {
+            createCategory(name, "https://i.imgur.com/" + slugify(name) + ".jpeg");
+        }
+
+        for (int i = 0; i < productCount; i++) {
+            int categoryIndex = i % CATEGORY_NAMES.length;
+            String[] nouns = NOUNS[categoryIndex];
+            String title = ADJECTIVES[i % ADJECTIVES.length] + " " + nouns[(i / CATEGORY_NAMES.length) % nouns.length] + " " + (i + 1);
+            Category category = categories.get(1 + categoryIndex);
+            createProduct(title,
+                    10 + (i * 7) % 490,
+                    "A " + title.toLowerCase(Locale.ROOT) + " from the " + category.getName() + " collection.",
+                    category,
+                    List.of("https://i.imgur.com/" + slugify(title) + "-1.jpeg",
+                            "https://i.imgur.com/" + slugify(title) + "-2.jpeg"));
+        }
+
+        createUser("John", "john@mail.com", "changeme", "https://i.imgur.com/LDOO4Qs.jpg", "customer");
+        createUser("Maria", "maria@mail.com", "12345", "https://i.imgur.com/DTfowdu.jpg", "customer");
+        createUser("Admin", "admin@mail.com", "admin123", "https://i.imgur.com/yhW6Yw1.jpg", "admin");
+        for (int i = 3; i < userCount; i++) {
+            createUser("User " + (i + 1), "user" + (i + 1) + "@mail.com", "pass" + (i + 1),
+                    "https://i.pravatar.cc/150?u=" + (i + 1), i % 10 == 0 ? "admin" : "customer");
+        }
+    }
+
+    private static Category newCategory(int id, String name, String image) {
+        String now = Instant.now().toString();
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        category.setSlug(slugify(name));
+        category.setImage(image);
+        category.setCreationAt(now);
+        category.setUpdatedAt(now);
+        return category;
+    }
+
+    /** Copy of {@code product} embedding {@code category}; timestamps are kept, as the API does. */
+    private static Product withCategory(Product product, Category category) {
+        Product copy = new Product();
+        copy.setId(product.getId());
+        copy.setTitle(product.getTitle());
+        copy.setSlug(product.getSlug());
+        copy.setPrice(product.getPrice());
+        copy.setDescription(product.getDescription());
+        copy.setCategory(category);
+        copy.setImages(product.getImages());
+        copy.setCreationAt(product.getCreationAt());
+        copy.setUpdatedAt(product.getUpdatedAt());
+        return copy;
+    }
+
+    private static Product newProduct(int id, String title, double price, String description, Category category, List<String> images) {
+        String now = Instant.now().toString();
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle(title);
+        product.setSlug(slugify(title));
+        product.setPrice(price);
+        product.setDescription(description);
+        product.setCategory(category);
+        product.setImages(List.copyOf(images));
+        product.setCreationAt(now);
+        product.setUpdatedAt(now);
+        return product;
+    }
+}
@@ -0,0 +1,477 @@
+package PlatziFakeStore.stub;
+
+import PlatziFakeStore.models.response.Category;
+import PlatziFakeStore.models.response.Product;
+import PlatziFakeStore.models.response.Users;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * FakeStoreRouter
+ * --------------------------------------------------
+ * - Maps every route in APIResources onto FakeStoreData
+ * - Reproduces EscuelaJS status codes and validation messages
+ *   (e.g. 400 for unknown ids, 201 for creates, "true" for deletes)
+ * - Stateless apart from the data store; safe for concurrent use
+ */
+final class FakeStoreRouter {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern ALPHANUMERIC = Pattern.compile("^[A-Za-z0-9]+$");
+
+    private final String apiRoot;
+    private final FakeStoreData data;
+    private final FakeStoreAuth auth;
+
+    FakeStoreRouter(String apiRoot, FakeStoreData data, FakeStoreAuth auth) {
+        this.apiRoot = apiRoot;
+        this.data = data;
+        this.auth = auth;
+    }
+
+    StubResponse route(StubRequest request) {
+        String[] segments = segments(request.path());
+        if (segments.length == 0) return notFound(request);
+
+        return switch (segments[0]) {
+            case "products" -> products(request, segments);
+            case "categories" -> categories(request, segments);
+            case "users" -> users(request, segments);
+            case "auth" -> auth(request, segments);
+            case "files" -> files(request, segments);
+            default -> notFound(request);
+        };
+    }
+
+    // ======================================================
+    // PRODUCTS
+    // ======================================================
+    private StubResponse products(StubRequest request, String[] segments) {
+        String method = request.method();
+
+        if (segments.length == 1) {
+            if (method.equals("GET")) {
+                String offset = request.queryParam("offset");
+                String limit = request.queryParam("limit");
+                if (offset == null && limit == null) return StubResponse.rawJson(200, data.allProductsJson());
+                return StubResponse.json(200, data.productsPage(parseOr(offset, 0), parseOr(limit, Integer.MAX_VALUE)));
+            }
+            if (method.equals("POST")) return createProduct(request);
+            return notFound(request);
+        }
+
+        if (segments[1].equals("slug") && segments.length >= 3) {
+            Product product = data.productBySlug(segments[2]);
+            if (!method.equals("GET") || segments.length > 4) return notFound(request);
+            if (product == null) return StubResponse.entityNotFound(fullPath(request), "Product", "{ slug: \"" + segments[2] + "\" }");
+            if (segments.length == 4) {
+                return segments[3].equals("related") ? StubResponse.json(200, data.relatedProducts(product)) : notFound(request);
+            }
+            return StubResponse.json(200, product);
+        }
+
+        Integer id = parseId(segments[1]);
+        if (id == null) return numericExpected();
+
+        if (segments.length == 3) {
+            if (!segments[2].equals("related") || !method.equals("GET")) return notFound(request);
+            Product product = data.product(id);
+            if (product == null) return StubResponse.entityNotFound(fullPath(request), "Product", "{ id: " + id + " }");
+            return StubResponse.json(200, data.relatedProducts(product));
+        }
+        if (segments.length > 3) return notFound(request);
+
+        switch (method) {
+            case "GET": {
+                Product product = data.product(id);
+                return product == null
+                        ? StubResponse.entityNotFound(fullPath(request), "Product", "{ id: " + id + " }")
+                        : StubResponse.json(200, product);
+            }
+            case "PUT": {
+                JsonNode body = request.json();
+                List<String> errors = new ArrayList<>();
+                validateProduct(body, errors, false);
+                if (!errors.isEmpty()) return StubResponse.validation(errors);
+
+                Category category = null;
+                if (body.hasNonNull("categoryId")) {
+                    category = data.category(body.get("categoryId").asInt());
+                    if (category == null) return StubResponse.entityNotFound(fullPath(request), "Category", "{ id: " + body.get("categoryId").asInt() + " }");
+                }
+                Product updated = data.updateProduct(id,
+                        text(body, "title"),
+                        body.hasNonNull("price") ? body.get("price").asDouble() : null,
+                        text(body, "description"),
+                        category,
+                        body.has("images") ? strings(body.get("images")) : null);
+                return updated == null
+                        ? StubResponse.entityNotFound(fullPath(request), "Product", "{ id: " + id + " }")
+                        : StubResponse.json(200, updated);
+            }
+            case "DELETE":
+                return data.deleteProduct(id)
+                        ? StubResponse.text(200, "true")
+                        : StubResponse.entityNotFound(fullPath(request), "Product", "{ id: " + id + " }");
+            default:
+                return notFound(request);
+        }
+    }
+
+    private StubResponse createProduct(StubRequest request) {
+        JsonNode body = request.json();
+        List<String> errors = new ArrayList<>();
+        validateProduct(body, errors, true);
+        if (!errors.isEmpty()) return StubResponse.validation(errors);
+
+        int categoryId = body.get("categoryId").asInt();
+        Category category = data.category(categoryId);
+        if (category == null) return StubResponse.entityNotFound(fullPath(request), "Category", "{ id: " + categoryId + " }");
+
+        Product product = data.createProduct(text(body, "title"), body.get("price").asDouble(),
+                text(body, "description"), category, strings(body.get("images")));
+        return StubResponse.json(201, product);
+    }
+
+    private static void validateProduct(JsonNode body, List<String> errors, boolean required) {
+        if (required || body.has("title")) {
+            if (isBlank(text(body, "title"))) errors.add("title should not be empty");
+        }
+        if (required || body.has("price")) {
+            if (!body.path("price").isNumber() || body.get("price").asDouble() <= 0) errors.add("price must be a positive number");
+        }
+        if (required || body.has("description")) {
+            if (isBlank(text(body, "description"))) errors.add("description should not be empty");
+        }
+        if (required || body.has("categoryId")) {
+            if (!body.path("categoryId").isNumber()) errors.add("categoryId must be a number conforming to the specified constraints");
+        }
+        if (required || body.has("images")) {
+            JsonNode images = body.path("images");
+            if (!images.isArray() || images.isEmpty()) {
+                errors.add("images must contain at least 1 elements");
+            } else {
+                for (JsonNode image : images) {
+                    if (!isUrl(image.asText())) {
+                        errors.add("each value in images must be a URL address");
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    // ======================================================
+    // CATEGORIES
+    // ======================================================
+    private StubResponse categories(StubRequest request, String[] segments) {
+        String method = request.method();
+
+        if (segments.length == 1) {
+            if (method.equals("GET")) return StubResponse.rawJson(200, data.allCategoriesJson());
+            if (method.equals("POST")) {
+                JsonNode body = request.json();
+                List<String> errors = validateCategory(body, true);
+                if (!errors.isEmpty()) return StubResponse.validation(errors);
+                return StubResponse.json(201, data.createCategory(text(body, "name"), text(body, "image")));
+            }
+            return notFound(request);
+        }
+
+        if (segments[1].equals("slug") && segments.length == 3 && method.equals("GET")) {
+            Category category = data.categoryBySlug(segments[2]);
+            return category == null
+                    ? StubResponse.entityNotFound(fullPath(request), "Category", "{ slug: \"" + segments[2] + "\" }")
+                    : StubResponse.json(200, category);
+        }
+
+        Integer id = parseId(segments[1]);
+        if (id == null) return numericExpected();
+        if (segments.length == 3 && segments[2].equals("products") && method.equals("GET")) {
+            return data.category(id) == null
+                    ? StubResponse.entityNotFound(fullPath(request), "Category", "{ id: " + id + " }")
+                    : StubResponse.json(200, data.productsInCategory(id));
+        }
+        if (segments.length > 2) return notFound(request);
+
+        switch (method) {
+            case "GET": {
+                Category category = data.category(id);
+                return category == null
+                        ? StubResponse.entityNotFound(fullPath(request), "Category", "{ id: " + id + " }")
+                        : StubResponse.json(200, category);
+            }
+            case "PUT": {
+                JsonNode body = request.json();
+                List<String> errors = validateCategory(body, false);
+                if (!errors.isEmpty()) return StubResponse.validation(errors);
+                Category updated = data.updateCategory(id, text(body, "name"), text(body, "image"));
+                return updated == null
+                        ? StubResponse.entityNotFound(fullPath(request), "Category", "{ id: " + id + " }")
+                        : StubResponse.json(200, updated);
+            }
+            case "DELETE":
+                return data.deleteCategory(id)
+                        ? StubResponse.text(200, "true")
+                        : StubResponse.entityNotFound(fullPath(request), "Category", "{ id: " + id + " }");
+            default:
+                return notFound(request);
+        }
+    }
+
+    private static List<String> validateCategory(JsonNode body, boolean required) {
+        List<String> errors = new ArrayList<>();
+        if ((required || body.has("name")) && isBlank(text(body, "name"))) errors.add("name should not be empty");
+        if ((required || body.has("image")) && !isUrl(text(body, "image"))) errors.add("image must be a URL address");
+        return errors;
+    }
+
+    // ======================================================
+    // USERS
+    // ======================================================
+    private StubResponse users(StubRequest request, String[] segments) {
+        String method = request.method();
+
+        if (segments.length == 1) {
+            if (method.equals("GET")) return StubResponse.rawJson(200, data.allUsersJson());
+            if (method.equals("POST")) {
+                JsonNode body = request.json();
+                List<String> errors = validateUser(body, true);
+                if (!errors.isEmpty()) return StubResponse.validation(errors);
+                Users user = data.createUser(text(body, "name"), text(body, "email"), text(body, "password"),
+                        text(body, "avatar"), body.hasNonNull("role") ? text(body, "role") : "customer");
+                return StubResponse.json(201, user);
+            }
+            return notFound(request);
+        }
+
+        Integer id = parseId(segments[1]);
+        if (id == null) return numericExpected();
+        if (segments.length > 2) return notFound(request);
+
+        switch (method) {
+            case "GET": {
+                Users user = data.user(id);
+                return user == null
+                        ? StubResponse.entityNotFound(fullPath(request), "User", "{ id: " + id + " }")
+                        : StubResponse.json(200, user);
+            }
+            case "PUT": {
+                JsonNode body = request.json();
+                List<String> errors = validateUser(body, false);
+                if (!errors.isEmpty()) return StubResponse.validation(errors);
+                Users updated = data.updateUser(id, text(body, "name"), text(body, "email"), text(body, "password"),
+                        text(body, "avatar"), text(body, "role"));
+                return updated == null
+                        ? StubResponse.entityNotFound(fullPath(request), "User", "{ id: " + id + " }")
+                        : StubResponse.json(200, updated);
+            }
+            case "DELETE":
+                return data.deleteUser(id)
+                        ? StubResponse.text(200, "true")
+                        : StubResponse.entityNotFound(fullPath(request), "User", "{ id: " + id + " }");
+            default:
+                return notFound(request);
+        }
+    }
+
+    private static List<String> validateUser(JsonNode body, boolean required) {
+        List<String> errors = new ArrayList<>();
+        if ((required || body.has("name")) && isBlank(text(body, "name"))) {
+            errors.add("name should not be empty");
+        }
+        if (required || body.has("email")) {
+            String email = text(body, "email");
+            if (email == null || !EMAIL.matcher(email).matches()) errors.add("email must be an email");
+        }
+        if (required || body.has("password")) {
+            String password = text(body, "password");
+            if (password == null || password.length() < 4) errors.add("password must be longer than or equal to 4 characters");
+            if (password == null || !ALPHANUMERIC.matcher(password).matches()) errors.add("password must contain only letters and numbers");
+        }
+        if ((required || body.has("avatar")) && !isUrl(text(body, "avatar"))) {
+            errors.add("avatar must be a URL address");
+        }
+        return errors;
+    }
+
+    // ======================================================
+    // AUTH
+    // ======================================================
+    private StubResponse auth(StubRequest request, String[] segments) {
+        if (segments.length != 2) return notFound(request);
+        String method = request.method();
+
+        switch (segments[1]) {
+            case "login": {
+                if (!method.equals("POST")) return notFound(request);
+                JsonNode body = request.json();
+                Users user = text(body, "email") == null ? null : data.userByEmail(text(body, "email"));
+                if (user == null || !user.getPassword().equals(text(body, "password"))) {
+                    return StubResponse.error(401, "Unauthorized", "Unauthorized");
+                }
+                return StubResponse.json(201, auth.issueTokens(user.getId()));
+            }
+            case "refresh-token": {
+                if (!method.equals("POST")) return notFound(request);
+                int userId = auth.verify(text(request.json(), "refreshToken"));
+                if (userId < 0 || data.user(userId) == null) return StubResponse.error(401, "Unauthorized", "Unauthorized");
+                return StubResponse.json(201, auth.issueTokens(userId));
+            }
+            case "profile": {
+                if (!method.equals("GET")) return notFound(request);
+                String authorization = request.header("Authorization");
+                String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+                int userId = auth.verify(token);
+                Users user = userId < 0 ? null : data.user(userId);
+                return user == null ? StubResponse.error(401, "Unauthorized", "Unauthorized") : StubResponse.json(200, user);
+            }
+            default:
+                return notFound(request);
+        }
+    }
+
+    // ======================================================
+    // FILES
+    // ======================================================
+    private StubResponse files(StubRequest request, String[] segments) {
+        if (segments.length != 2) return notFound(request);
+
+        if (segments[1].equals("upload") && request.method().equals("POST")) {
+            String originalName = "upload.bin";
+            byte[] content = request.body();
+            String contentType = request.header("Content-Type");
+            if (contentType != null && contentType.startsWith("multipart/form-data")) {
+                String[] part = firstMultipartFile(request.body(), contentType);
+                if (part == null) return StubResponse.error(400, "Bad Request", "File is required");
+                originalName = part[0];
+                content = part[1].getBytes(StandardCharsets.ISO_8859_1);
+            }
+
+            int dot = originalName.lastIndexOf('.');
+            String fileName = UUID.randomUUID().toString().replace("-", "").substring(0, 16) + (dot < 0 ? "" : originalName.substring(dot));
+            data.putFile(fileName, content);
+            return StubResponse.json(201, Map.of(
+                    "originalname", originalName,
+                    "filename", fileName,
+                    "location", request.header("Host") == null
+                            ? apiRoot + "/files/" + fileName
+                            : "http://" + request.header("Host") + apiRoot + "/files/" + fileName));
+        }
+
+        if (request.method().equals("GET")) {
+            byte[] content = data.file(segments[1]);
+            return content == null
+                    ? StubResponse.error(404, "Not Found", "File not found")
+                    : new StubResponse(200, "application/octet-stream", content);
+        }
+        return notFound(request);
+    }
+
+    /** Returns {filename, content} of the first file part, decoded as ISO-8859-1 to keep bytes intact. */
+    private static String[] firstMultipartFile(byte[] body, String contentType) {
+        int b = contentType.indexOf("boundary=");
+        if (b < 0) return null;
+        String boundary = "--" + contentType.substring(b + 9).replace("\"", "");
+        String raw = new String(body, StandardCharsets.ISO_8859_1);
+
+        int start = raw.indexOf(boundary);
+        while (start >= 0) {
+            int headersEnd = raw.indexOf("\r\n\r\n", start);
+            int next = raw.indexOf(boundary, start + boundary.length());
+            if (headersEnd < 0 || next < 0) return null;
+
+            String headers = raw.substring(start, headersEnd);
+            int fn = headers.indexOf("filename=\"");
+            if (fn >= 0) {
+                String name = headers.substring(fn + 10, headers.indexOf('"', fn + 10));
+                return new String[]{name, raw.substring(headersEnd + 4, next - 2)};
+            }
+            start = next;
+        }
+        return null;
+    }
+
+    // ======================================================
+    // INTERNAL HELPERS
+    // ======================================================
+    private StubResponse notFound(StubRequest request) {
+        return StubResponse.error(404, "Not Found", "Cannot " + request.method() + " " + fullPath(request));
+    }
+
+    private static StubResponse numericExpected() {
+        return StubResponse.error(400, "Bad Request", "Validation failed (numeric string is expected)");
+    }
+
+    private String fullPath(StubRequest request) {
+        return apiRoot + request.path();
+    }
+
+    /** Non-empty segments of {@code path}: "//products/5/" -> ["products", "5"]. Hand-rolled, no regex per request. */
+    private static String[] segments(String path) {
+        int count = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) != '/' && (i == 0 || path.charAt(i - 1) == '/')) count++;
+        }
+        String[] segments = new String[count];
+        int n = 0;
+        int start = -1;
+        for (int i = 0; i <= path.length(); i++) {
+            boolean slash = i == path.length() || path.charAt(i) == '/';
+            if (slash && start >= 0) {
+                segments[n++] = path.substring(start, i);
+                start = -1;
+            } else if (!slash && start < 0) {
+                start = i;
+            }
+        }
+        return segments;
+    }
+
+    private static Integer parseId(String value) {
+        if (value.isEmpty() || value.length() > 9) return null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(Character.isDigit(c) || (i == 0 && c == '-' && value.length() > 1))) return null;
+        }
+        return Integer.parseInt(value);
+    }
+
+    private static int parseOr(String value, int fallback) {
+        if (value == null) return fallback;
+        Integer parsed = parseId(value);
+        return parsed == null || parsed < 0 ? fallback : parsed;
+    }
+
+    private static String text(JsonNode body, String field) {
+        JsonNode node = body.get(field);
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    private static List<String> strings(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        if (array != null) array.forEach(node -> values.add(node.asText()));
+        return values;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static boolean isUrl(String value) {
+        if (value == null) return false;
+        try {
+            URI uri = URI.create(value);
+            return ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) && uri.getHost() != null;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
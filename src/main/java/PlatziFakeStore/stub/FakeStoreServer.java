@@ -0,0 +1,225 @@
+package PlatziFakeStore.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.CRC32;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * FakeStoreServer
+ * --------------------------------------------------
+ * - Embedded stand-in for the EscuelaJS API (products, categories,
+ *   users, auth, files) served from memory
+ * - JDK HttpServer with one virtual thread per exchange, so thousands
+ *   of concurrent keep-alive connections cost no platform threads
+ * - Lets load runs and benchmarks measure the framework, not the remote API
+ * - GET 200s carry a weak ETag and answer If-None-Match with 304, as the
+ *   real (Express) backend does
+ * - Faults can be queued per route (failNext, delayNext) and requests are
+ *   counted per route, for tests of retries, hedging and error paths
+ *
+ * Usage:
+ *   FakeStoreServer server = FakeStoreServer.start(0);
+ *   ConfigManager.override("base.url", server.getBaseUrl());
+ *   ...
+ *   server.stop();
+ */
+public final class FakeStoreServer implements AutoCloseable {
+
+    public static final String API_ROOT = "/api/v1";
+
+    private static final int DEFAULT_PRODUCTS = 50;
+    private static final int DEFAULT_USERS = 20;
+    private static final long ACCESS_TOKEN_TTL_SECONDS = 3600;
+    private static final long REFRESH_TOKEN_TTL_SECONDS = 36000;
+
+    static {
+        // Headers and body are written separately; without TCP_NODELAY every
+        // keep-alive exchange stalls on Nagle + delayed ACK (~40 ms).
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final FakeStoreRouter router;
+    private final FakeStoreData data;
+    private final Map<String, Queue<Fault>> faults = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+
+    private FakeStoreServer(HttpServer server, ExecutorService executor, FakeStoreData data) {
+        this.server = server;
+        this.executor = executor;
+        this.data = data;
+        this.router = new FakeStoreRouter(API_ROOT, data, new FakeStoreAuth(ACCESS_TOKEN_TTL_SECONDS, REFRESH_TOKEN_TTL_SECONDS));
+    }
+
+    /** Starts a server on the given port (0 picks a free one) with the default seed data. */
+    public static FakeStoreServer start(int port) {
+        return start(port, new FakeStoreData(DEFAULT_PRODUCTS, DEFAULT_USERS));
+    }
+
+    public static FakeStoreServer start(int port, FakeStoreData data) {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", port), 4096);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            FakeStoreServer fakeStore = new FakeStoreServer(httpServer, executor, data);
+
+            httpServer.createContext(API_ROOT, fakeStore::handle);
+            httpServer.setExecutor(executor);
+            httpServer.start();
+            return fakeStore;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start FakeStoreServer on port " + port + ": " + e.getMessage(), e);
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** Base URL to use in place of ConfigManager.getBaseUrl(). */
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort() + API_ROOT;
+    }
+
+    public FakeStoreData getData() {
+        return data;
+    }
+
+    /* ****************************
+     *  Fault injection
+     * ****************************/
+
+    /**
+     * Answers the next {@code times} requests to {@code method path} with
+     * {@code status} instead of routing them.
+     *
+     * @param path path below API_ROOT with the query, e.g. "/products/1"
+     */
+    public void failNext(String method, String path, int status, int times) {
+        queue(method, path, new Fault(status, 0), times);
+    }
+
+    /** Routes the next {@code times} requests to {@code method path} as usual and holds each answer for {@code delayMillis}. */
+    public void delayNext(String method, String path, long delayMillis, int times) {
+        queue(method, path, new Fault(0, delayMillis), times);
+    }
+
+    /** Requests received for {@code method path} (faulted ones included). */
+    public long getRequestCount(String method, String path) {
+        LongAdder count = requestCounts.get(key(method, path));
+        return count == null ? 0 : count.sum();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    // ======================================================
+    // INTERNAL HELPERS
+    // ======================================================
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+
+            String path = exchange.getRequestURI().getRawPath().substring(API_ROOT.length());
+            StubRequest request = new StubRequest(exchange.getRequestMethod(), path.isEmpty() ? "/" : path,
+                    exchange.getRequestURI().getRawQuery(), exchange.getRequestHeaders()::getFirst, body);
+
+            String query = exchange.getRequestURI().getRawQuery();
+            String key = key(request.method(), request.path() + (query == null ? "" : "?" + query));
+            requestCounts.computeIfAbsent(key, k -> new LongAdder()).increment();
+            Queue<Fault> queued = faults.get(key);
+            Fault fault = queued == null ? null : queued.poll();
+
+            StubResponse response;
+            if (fault != null && fault.status() > 0) {
+                response = StubResponse.error(fault.status(), "Injected Fault", "Injected by failNext");
+            } else {
+                try {
+                    response = router.route(request);
+                } catch (RuntimeException e) {
+                    response = StubResponse.error(500, "Internal Server Error", e.getMessage());
+                }
+            }
+            if (fault != null && fault.delayMillis() > 0) {
+                sleep(fault.delayMillis()); // the answer is computed, then held: a slow network, not a slow read
+            }
+            if ("GET".equals(request.method()) && response.status() == 200) {
+                String etag = etag(response.body());
+                exchange.getResponseHeaders().set("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    response = new StubResponse(304, response.contentType(), new byte[0]);
+                }
+            }
+            send(exchange, response);
+        }
+    }
+
+    private void queue(String method, String path, Fault fault, int times) {
+        Queue<Fault> queued = faults.computeIfAbsent(key(method, path), k -> new ConcurrentLinkedQueue<>());
+        for (int i = 0; i < times; i++) {
+            queued.add(fault);
+        }
+    }
+
+    private static String key(String method, String path) {
+        return method.toUpperCase(Locale.ROOT) + " " + path;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Status to answer with instead of routing (0 = route), after a delay (0 = none). */
+    private record Fault(int status, long delayMillis) {
+    }
+
+    /** Weak validator in the Express format: W/"<length>-<checksum>". */
+    private static String etag(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return "W/\"" + Integer.toHexString(body.length) + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+    private static void send(HttpExchange exchange, StubResponse response) throws IOException {
+        byte[] body = response.body();
+        if (response.status() != 304) {
+            exchange.getResponseHeaders().set("Content-Type", response.contentType());
+        }
+        exchange.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
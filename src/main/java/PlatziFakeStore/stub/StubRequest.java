@@ -0,0 +1,83 @@
+package PlatziFakeStore.stub;
+
+import PlatziFakeStore.utils.JsonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * StubRequest
+ * --------------------------------------------------
+ * - Transport-neutral view of one request handled by FakeStoreRouter
+ * - Path is relative to the API root (e.g. "/products/5")
+ * - Lazily parses the JSON body and query string
+ */
+final class StubRequest {
+
+    private final String method;
+    private final String path;
+    private final String rawQuery;
+    private final Function<String, String> headers;
+    private final byte[] body;
+
+    private Map<String, String> query;
+    private JsonNode json;
+
+    StubRequest(String method, String path, String rawQuery, Function<String, String> headers, byte[] body) {
+        this.method = method;
+        this.path = path;
+        this.rawQuery = rawQuery;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    String method() {
+        return method;
+    }
+
+    String path() {
+        return path;
+    }
+
+    String header(String name) {
+        return headers.apply(name);
+    }
+
+    byte[] body() {
+        return body;
+    }
+
+    String queryParam(String name) {
+        if (query == null) {
+            query = new HashMap<>();
+            if (rawQuery != null && !rawQuery.isEmpty()) {
+                for (String pair : rawQuery.split("&")) {
+                    int eq = pair.indexOf('=');
+                    String key = eq < 0 ? pair : pair.substring(0, eq);
+                    String value = eq < 0 ? "" : pair.substring(eq + 1);
+                    query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return query.get(name);
+    }
+
+    /** Parsed JSON body; a MissingNode when the body is empty or not JSON. */
+    JsonNode json() {
+        if (json == null) {
+            try {
+                json = body.length == 0 ? MissingNode.getInstance() : JsonUtils.mapper().readTree(body);
+            } catch (IOException e) {
+                json = MissingNode.getInstance();
+            }
+            if (json == null) json = MissingNode.getInstance();
+        }
+        return json;
+    }
+}
@@ -0,0 +1,81 @@
+package PlatziFakeStore.stub;
+
+import PlatziFakeStore.utils.JsonUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * StubResponse
+ * --------------------------------------------------
+ * - Status, content type and body produced by FakeStoreRouter
+ * - Error factories mirror the EscuelaJS (NestJS) error payloads
+ */
+final class StubResponse {
+
+    static final String JSON = "application/json; charset=utf-8";
+
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+
+    StubResponse(int status, String contentType, byte[] body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    static StubResponse json(int status, Object payload) {
+        return new StubResponse(status, JSON, JsonUtils.toJsonBytes(payload));
+    }
+
+    static StubResponse rawJson(int status, byte[] json) {
+        return new StubResponse(status, JSON, json);
+    }
+
+    static StubResponse text(int status, String text) {
+        return new StubResponse(status, JSON, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 400 raised by TypeORM when an entity lookup fails. */
+    static StubResponse entityNotFound(String path, String entity, Object criteria) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("path", path);
+        payload.put("timestamp", Instant.now().toString());
+        payload.put("name", "EntityNotFoundError");
+        payload.put("message", "Could not find any entity of type \"" + entity + "\" matching: " + criteria);
+        return json(400, payload);
+    }
+
+    /** 400 raised by class-validator; messages are returned as an array. */
+    static StubResponse validation(List<String> messages) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("message", messages);
+        payload.put("error", "Bad Request");
+        payload.put("statusCode", 400);
+        return json(400, payload);
+    }
+
+    static StubResponse error(int status, String error, String message) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("message", message);
+        payload.put("error", error);
+        payload.put("statusCode", status);
+        return json(status, payload);
+    }
+
+    int status() {
+        return status;
+    }
+
+    String contentType() {
+        return contentType;
+    }
+
+    byte[] body() {
+        return body;
+    }
+}
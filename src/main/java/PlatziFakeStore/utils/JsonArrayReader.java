@@ -0,0 +1,110 @@
+package PlatziFakeStore.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.restassured.response.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * JsonArrayReader
+ * --------------------------------------------------
+ * - Reads a top-level JSON array one element at a time with Jackson's
+ *   streaming JsonParser; only the current element is materialized
+ * - Replaces response.jsonPath().getList("", X.class), which builds a
+ *   Groovy tree and then a full List
+ * - Uses the shared JsonUtils mapper configuration (unknown fields ignored)
+ *
+ * Usage:
+ *   try (JsonArrayReader<Product> products = JsonArrayReader.of(response, Product.class)) {
+ *       while (products.hasNext()) { Product product = products.next(); ... }
+ *   }
+ *
+ *   try (Stream<Users> users = JsonArrayReader.of(response, Users.class).stream()) { ... }
+ */
+public final class JsonArrayReader<T> implements Iterator<T>, Closeable {
+
+    private final JsonParser parser;
+    private final ObjectReader reader;
+    private final Class<T> type;
+    private JsonToken current;
+    private int index;
+
+    private JsonArrayReader(InputStream json, Class<T> type) {
+        this.type = type;
+        this.reader = JsonUtils.mapper().readerFor(type);
+        try {
+            this.parser = JsonUtils.mapper().getFactory().createParser(json);
+            JsonToken first = parser.nextToken();
+            if (first != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new RuntimeException("Expected a JSON array of " + type.getSimpleName() + " but found " + first);
+            }
+            this.current = parser.nextToken();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open JSON array of " + type.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    public static <T> JsonArrayReader<T> of(InputStream json, Class<T> type) {
+        return new JsonArrayReader<>(json, type);
+    }
+
+    public static <T> JsonArrayReader<T> of(byte[] json, Class<T> type) {
+        return new JsonArrayReader<>(new ByteArrayInputStream(json), type);
+    }
+
+    public static <T> JsonArrayReader<T> of(Response response, Class<T> type) {
+        return new JsonArrayReader<>(response.asInputStream(), type);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return current != null && current != JsonToken.END_ARRAY;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more " + type.getSimpleName() + " elements after index " + (index - 1));
+        }
+        try {
+            T element = reader.readValue(parser);
+            index++;
+            current = parser.nextToken();
+            return element;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + type.getSimpleName() + " at index " + index + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Number of elements returned so far. */
+    public int getIndex() {
+        return index;
+    }
+
+    /** Sequential stream over the remaining elements; closing the stream closes the parser. */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close JSON parser: " + e.getMessage(), e);
+        }
+    }
+}
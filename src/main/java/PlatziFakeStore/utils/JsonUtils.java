@@ -1,8 +1,60 @@
 package PlatziFakeStore.utils;
 
-public class JsonUtils {
-}
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * JsonUtils
+ * --------------------------------------------------
+ * - Shares a single, pre-configured Jackson ObjectMapper
+ * - Provides (de)serialization helpers for models and raw payloads
+ */
+public final class JsonUtils {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
+    private JsonUtils() {
+        // Prevent instantiation
+    }
 
+    /** Shared mapper; thread-safe once configured. */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
 
+    public static byte[] toJsonBytes(Object value) {
+        try {
+            return MAPPER.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize " + value.getClass().getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
 
+    public static String toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize " + value.getClass().getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    public static <T> T fromJson(byte[] json, Class<T> type) {
+        try {
+            return MAPPER.readValue(json, type);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize " + type.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    public static <T> T fromJson(String json, Class<T> type) {
+        try {
+            return MAPPER.readValue(json, type);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize " + type.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package PlatziFakeStore.utils;
+
+import io.restassured.response.Response;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * StreamingValidator
+ * --------------------------------------------------
+ * - Checks every element of a JSON array response against named rules
+ *   as it streams past (JsonArrayReader); the list is never built
+ * - Keeps only what the caller asks for: the first N elements
+ *   (keepFirst) and the first violation messages
+ * - A rule that throws (e.g. NPE on a missing field) counts as a violation
+ * - Also runs over elements already in memory (e.g. SnapshotStore records),
+ *   with the same rules and messages
+ *
+ * Usage:
+ *   StreamingValidator.Result<Users> result = StreamingValidator.of(Users.class)
+ *           .rule("email contains @", user -> user.getEmail().contains("@"))
+ *           .keepFirst(5)
+ *           .validate(response);
+ *   result.assertValid();
+ *   int firstId = result.getKept().get(0).getId();
+ */
+public final class StreamingValidator<T> {
+
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+
+    private final Class<T> type;
+    private final List<String> descriptions = new ArrayList<>();
+    private final List<Predicate<? super T>> checks = new ArrayList<>();
+    private int keepFirst;
+
+    private StreamingValidator(Class<T> type) {
+        this.type = type;
+    }
+
+    public static <T> StreamingValidator<T> of(Class<T> type) {
+        return new StreamingValidator<>(type);
+    }
+
+    public StreamingValidator<T> rule(String description, Predicate<? super T> check) {
+        descriptions.add(description);
+        checks.add(check);
+        return this;
+    }
+
+    /** Retains the first {@code count} elements in the result (e.g. to pick ids for later tests). */
+    public StreamingValidator<T> keepFirst(int count) {
+        this.keepFirst = count;
+        return this;
+    }
+
+    public Result<T> validate(Response response) {
+        return validate(JsonArrayReader.of(response, type));
+    }
+
+    public Result<T> validate(byte[] json) {
+        return validate(JsonArrayReader.of(json, type));
+    }
+
+    public Result<T> validate(InputStream json) {
+        return validate(JsonArrayReader.of(json, type));
+    }
+
+    /** Same rules over elements already in memory, e.g. {@code SnapshotStore.users().getAll()}. */
+    public Result<T> validate(Iterable<? extends T> elements) {
+        return validate(elements.iterator());
+    }
+
+    private Result<T> validate(JsonArrayReader<T> elements) {
+        try (elements) {
+            return validate((Iterator<T>) elements);
+        }
+    }
+
+    private Result<T> validate(Iterator<? extends T> elements) {
+        List<T> kept = new ArrayList<>(keepFirst);
+        List<String> messages = new ArrayList<>();
+        long violations = 0;
+        int count = 0;
+
+        while (elements.hasNext()) {
+            T element = elements.next();
+            for (int rule = 0; rule < checks.size(); rule++) {
+                String failure = check(rule, element);
+                if (failure == null) continue;
+                violations++;
+                if (messages.size() < MAX_REPORTED_VIOLATIONS) {
+                    messages.add(type.getSimpleName() + " #" + count + ": " + failure);
+                }
+            }
+            if (kept.size() < keepFirst) {
+                kept.add(element);
+            }
+            count++;
+        }
+        return new Result<>(type, count, violations, messages, kept);
+    }
+
+    /** Returns null when the rule passes, otherwise what went wrong. */
+    private String check(int rule, T element) {
+        try {
+            return checks.get(rule).test(element) ? null : descriptions.get(rule);
+        } catch (RuntimeException e) {
+            return descriptions.get(rule) + " (" + e.getClass().getSimpleName() + ")";
+        }
+    }
+
+    /* ****************************
+     *  Result
+     * ****************************/
+
+    public static final class Result<T> {
+
+        private final Class<T> type;
+        private final int count;
+        private final long violations;
+        private final List<String> messages;
+        private final List<T> kept;
+
+        private Result(Class<T> type, int count, long violations, List<String> messages, List<T> kept) {
+            this.type = type;
+            this.count = count;
+            this.violations = violations;
+            this.messages = Collections.unmodifiableList(messages);
+            this.kept = Collections.unmodifiableList(kept);
+        }
+
+        /** Number of elements streamed. */
+        public int getCount() {
+            return count;
+        }
+
+        /** Total rule failures (all of them, not only the reported ones). */
+        public long getViolationCount() {
+            return violations;
+        }
+
+        /** The first violation messages, capped to keep failure output readable. */
+        public List<String> getViolations() {
+            return messages;
+        }
+
+        /** The first N elements requested with keepFirst. */
+        public List<T> getKept() {
+            return kept;
+        }
+
+        public boolean isValid() {
+            return violations == 0;
+        }
+
+        /** Fails with a summary of the first violations. */
+        public Result<T> assertValid() {
+            if (violations > 0) {
+                throw new AssertionError(violations + " rule violation(s) across " + count + " "
+                        + type.getSimpleName() + " element(s):\n  " + String.join("\n  ", messages));
+            }
+            return this;
+        }
+
+        public Result<T> assertMinCount(int minimum) {
+            if (count < minimum) {
+                throw new AssertionError("Expected at least " + minimum + " " + type.getSimpleName()
+                        + " element(s) but streamed " + count);
+            }
+            return this;
+        }
+    }
+}
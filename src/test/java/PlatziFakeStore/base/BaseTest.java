@@ -2,12 +2,33 @@ package PlatziFakeStore.base;
 
 
 import PlatziFakeStore.auth.TokenManager;
+import PlatziFakeStore.cache.RequestCoalescer;
+import PlatziFakeStore.cache.ResponseCache;
+import PlatziFakeStore.capture.ExchangeCapture;
 import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.fixtures.EntityCleaner;
+import PlatziFakeStore.fixtures.TestEntities;
+import PlatziFakeStore.metrics.CurrentTest;
+import PlatziFakeStore.metrics.EndpointMetrics;
+import PlatziFakeStore.metrics.MetricsServer;
+import PlatziFakeStore.metrics.PhaseMetrics;
+import PlatziFakeStore.replay.ReplayMode;
+import PlatziFakeStore.replay.ReplayServer;
+import PlatziFakeStore.replay.TrafficRecorder;
+import PlatziFakeStore.resilience.ResilienceFilter;
+import PlatziFakeStore.snapshot.SnapshotStore;
+import PlatziFakeStore.stub.FakeStoreServer;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
 
 import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
 
 /**
  * BaseTest
@@ -18,6 +39,150 @@ import java.io.File;
 public abstract class BaseTest {
 // TODO : Edit file
 
+    private static FakeStoreServer stubServer;
+    private static MetricsServer metricsServer;
+    private static ReplayServer replayServer;
+
+    /**
+     * Starts the in-process EscuelaJS stand-in when stub.enabled=true
+     * and points base.url at it for the rest of the suite.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void startStubServer() {
+        if (ConfigManager.isStubEnabled() && stubServer == null) {
+            stubServer = FakeStoreServer.start(ConfigManager.getStubPort());
+            ConfigManager.override("base.url", stubServer.getBaseUrl());
+            System.out.println("✅ Stand-in server running at " + stubServer.getBaseUrl());
+        }
+    }
+
+    /**
+     * Serves the suite from replay.archive when replay.mode=replay, in
+     * place of base.url (and of the stand-in, when both are on).
+     */
+    @BeforeSuite(alwaysRun = true, dependsOnMethods = "startStubServer")
+    public void startReplayServer() {
+        if (ConfigManager.getReplayMode() == ReplayMode.REPLAY && replayServer == null) {
+            replayServer = ReplayServer.fromConfig();
+            ConfigManager.override("base.url", replayServer.getBaseUrl());
+            System.out.println("⏪ Replaying " + ConfigManager.getReplayArchive() + " at " + replayServer.getBaseUrl());
+        }
+    }
+
+    /** Serves live Prometheus metrics for the whole suite when metrics.server.enabled=true. */
+    @BeforeSuite(alwaysRun = true)
+    public void startMetricsServer() {
+        if (ConfigManager.isMetricsServerEnabled() && metricsServer == null) {
+            metricsServer = MetricsServer.fromConfig();
+            System.out.println("📈 Live metrics at " + metricsServer.getUrl());
+        }
+    }
+
+    /**
+     * Deletes what crashed or killed runs left behind (their entity
+     * ledgers), before anything lists products, users or categories.
+     */
+    @BeforeSuite(alwaysRun = true, dependsOnMethods = "startReplayServer")
+    public void cleanUpOrphanedEntities() {
+        if (ConfigManager.isLedgerEnabled()) {
+            EntityCleaner.Report report = EntityCleaner.cleanOrphans();
+            if (report.getTotal() > 0) {
+                System.out.println("🧹 Orphaned entities from earlier runs: " + report);
+            }
+        }
+    }
+
+    /**
+     * Creates the pooled users, products and categories up front, in
+     * parallel, so test setup leases instead of creating.
+     */
+    @BeforeSuite(alwaysRun = true, dependsOnMethods = "cleanUpOrphanedEntities")
+    public void warmUpTestEntities() {
+        if (ConfigManager.isFixturePoolEnabled()) {
+            TestEntities.warmUp();
+            System.out.print("✅ Test entities ready:\n" + TestEntities.report());
+        }
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void releaseTestEntities() {
+        String report = TestEntities.report();
+        if (!report.isEmpty()) {
+            System.out.print("🧪 Test entities:\n" + report);
+            TestEntities.shutdown();
+        }
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void printLatencyReport() {
+        if (ConfigManager.isMetricsEnabled()) {
+            System.out.println("📊 Latency per endpoint:");
+            System.out.print(EndpointMetrics.report());
+        }
+        if (ConfigManager.isMetricsEnabled() && ConfigManager.isPhaseMetricsEnabled()) {
+            System.out.println("🔬 Latency per endpoint and phase:");
+            System.out.print(PhaseMetrics.report());
+            PhaseMetrics.exportCsv(ConfigManager.getPhaseMetricsFile());
+        }
+        if (ConfigManager.isCacheEnabled()) {
+            System.out.println("🗄 Response cache: " + ResponseCache.stats());
+        }
+        System.out.println("📸 Collections fetched for snapshots: " + SnapshotStore.getFetchCount());
+        if (ConfigManager.isCoalescingEnabled()) {
+            System.out.println("🔗 Coalesced GETs: " + RequestCoalescer.stats());
+        }
+        if (ConfigManager.isPoolEnabled()) {
+            System.out.println("🔌 Connection pool: " + ConnectionPool.stats());
+        }
+        if (ConfigManager.isResilienceEnabled()) {
+            System.out.println("🛡 Hedges and retries: " + ResilienceFilter.stats());
+        }
+        if (ExchangeCapture.getDumpCount() > 0) {
+            System.out.println("📼 Exchange captures written to " + ConfigManager.getCaptureDir().toAbsolutePath()
+                    + ": " + ExchangeCapture.getDumpCount());
+        }
+    }
+
+    /** Deletes every entity this run created and did not delete itself. */
+    @AfterSuite(alwaysRun = true, dependsOnMethods = "releaseTestEntities")
+    public void cleanUpCreatedEntities() {
+        if (ConfigManager.isLedgerEnabled()) {
+            System.out.println("🧹 Entities created by this run: " + EntityCleaner.cleanCurrentRun());
+        }
+    }
+
+    @AfterSuite(alwaysRun = true, dependsOnMethods = "cleanUpCreatedEntities")
+    public void stopStubServer() {
+        if (stubServer != null) {
+            stubServer.stop();
+            stubServer = null;
+        }
+    }
+
+    /** Closes the record-mode archive and stops the replay server, after the last API call. */
+    @AfterSuite(alwaysRun = true, dependsOnMethods = "cleanUpCreatedEntities")
+    public void stopTrafficReplay() {
+        if (TrafficRecorder.getRecordedCount() > 0) {
+            System.out.println("⏺ Exchanges recorded to " + ConfigManager.getReplayArchive().toAbsolutePath()
+                    + ": " + TrafficRecorder.getRecordedCount());
+        }
+        TrafficRecorder.close();
+        if (replayServer != null) {
+            System.out.println("⏪ Replayed exchanges: " + replayServer.getServedCount()
+                    + " (not in the archive: " + replayServer.getMissedCount() + ")");
+            replayServer.stop();
+            replayServer = null;
+        }
+    }
+
+    @AfterSuite(alwaysRun = true, dependsOnMethods = "stopStubServer")
+    public void stopMetricsServer() {
+        if (metricsServer != null) {
+            metricsServer.stop();
+            metricsServer = null;
+        }
+    }
+
     @BeforeSuite(alwaysRun = true) // Runs before all tests in the suite
     public void cleanAllureResults() {
         File allureResults = new File("allure-results");
@@ -55,6 +220,38 @@ public abstract class BaseTest {
         BaseAPI.ok200();
     }
 
+    /** Names the running test for ApiCallEvent and other per-call attribution. */
+    @BeforeMethod(alwaysRun = true)
+    public void markCurrentTest(Method method) {
+        CurrentTest.set(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void unmarkCurrentTest() {
+        CurrentTest.clear();
+    }
+
+    /** Each test's capture starts empty, so a dump shows only its own exchanges. */
+    @BeforeMethod(alwaysRun = true)
+    public void clearCapturedExchanges() {
+        ExchangeCapture.clear();
+    }
+
+    /**
+     * Writes the exchanges of a failed test to capture.dir and the Allure
+     * report (the test's teardown step).
+     */
+    @AfterMethod(alwaysRun = true)
+    public void dumpCapturedExchanges(ITestResult result) {
+        if (result.getStatus() == ITestResult.FAILURE) {
+            Path file = ExchangeCapture.dump(result.getMethod().getQualifiedName(),
+                    "failed: " + result.getMethod().getQualifiedName() + ": " + result.getThrowable());
+            if (file != null) {
+                System.out.println("📼 Last exchanges of " + result.getName() + ": " + file);
+            }
+        }
+    }
+
     /**
      * Executes after each test class.
      * Clears cached specs if configuration may change between tests.
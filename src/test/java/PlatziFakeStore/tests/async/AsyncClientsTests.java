@@ -0,0 +1,89 @@
+package PlatziFakeStore.tests.async;
+
+import PlatziFakeStore.base.ApiResponse;
+import PlatziFakeStore.base.AsyncBaseAPI;
+import PlatziFakeStore.base.BaseTest;
+import PlatziFakeStore.base.ClientBackend;
+import PlatziFakeStore.clients.async.AsyncCategoriesClient;
+import PlatziFakeStore.clients.async.AsyncProductsClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.models.response.Category;
+import PlatziFakeStore.models.response.Product;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Async clients on the non-blocking java.net.http backend.
+ * - Many requests in flight from a single test thread
+ * - Same status / content-type / response-time expectations as the sync clients
+ * - Product ids come from the live catalog, never assumed
+ * - The shared client is rebuilt on a config reload
+ */
+public class AsyncClientsTests extends BaseTest {
+
+    private final AsyncProductsClient productsClient = new AsyncProductsClient(ClientBackend.JAVA_HTTP);
+    private final AsyncCategoriesClient categoriesClient = new AsyncCategoriesClient(ClientBackend.JAVA_HTTP);
+    private List<Integer> productIds;
+
+    @BeforeClass
+    public void setup() {
+        super.setup();
+        productIds = productsClient.getAllProducts().join().asList(Product.class).stream()
+                .limit(10)
+                .map(Product::getId)
+                .toList();
+        Assert.assertFalse(productIds.isEmpty(), "Catalog should contain at least one product");
+    }
+
+    @Test
+    public void testFanOutProductLookups() {
+        List<CompletableFuture<Product>> lookups = productIds.stream()
+                .map(id -> productsClient.getProductById(id).thenApply(response -> response.as(Product.class)))
+                .toList();
+
+        CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).join();
+
+        for (int i = 0; i < lookups.size(); i++) {
+            Product product = lookups.get(i).join();
+            Assert.assertEquals(product.getId(), productIds.get(i), "Product id mismatch");
+            Assert.assertNotNull(product.getTitle(), "Product title should not be null");
+        }
+    }
+
+    @Test
+    public void testCategoriesAndProductsConcurrently() {
+        CompletableFuture<ApiResponse> categories = categoriesClient.getAllCategories();
+        CompletableFuture<ApiResponse> products = productsClient.getAllProducts();
+
+        List<Category> categoryList = categories.join().asList(Category.class);
+        List<Product> productList = products.join().asList(Product.class);
+
+        Assert.assertFalse(categoryList.isEmpty(), "Category list should not be empty");
+        Assert.assertFalse(productList.isEmpty(), "Product list should not be empty");
+    }
+
+    @Test
+    public void testConfigReloadRebuildsTheClient() {
+        HttpClient before = AsyncBaseAPI.getHttpClient();
+
+        ConfigManager.reload();
+
+        Assert.assertNotSame(AsyncBaseAPI.getHttpClient(), before, "A reload should pick up new timeouts");
+    }
+
+    @Test
+    public void testUnexpectedStatusFailsTheFuture() {
+        ApiResponse notFound = productsClient.getProductByInvalidId(999999).join();
+        Assert.assertEquals(notFound.getStatusCode(), 400, "Invalid id should return 400");
+
+        CompletionException failure = Assert.expectThrows(CompletionException.class,
+                () -> productsClient.getProductById(999999).join());
+        Assert.assertTrue(failure.getCause() instanceof AssertionError, "Expected a status-code assertion failure");
+    }
+}
@@ -0,0 +1,90 @@
+package PlatziFakeStore.tests.auth;
+
+import PlatziFakeStore.auth.TokenManager;
+import PlatziFakeStore.base.BaseTest;
+import PlatziFakeStore.clients.AuthClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.models.request.LoginRequest;
+import PlatziFakeStore.models.response.TokenResponse;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * /auth routes and the TokenManager cache in front of them.
+ * - Login, profile and refresh round trips
+ * - Concurrent callers share one login per credential
+ * - Single-threaded: the login counter is global, so the tests of this
+ *   class must not overlap each other
+ */
+@Test(singleThreaded = true)
+public class AuthTests extends BaseTest {
+
+    private final AuthClient authClient = new AuthClient();
+
+    @Test
+    public void testLoginReturnsAccessAndRefreshTokens() {
+        TokenResponse tokens = authClient
+                .login(new LoginRequest(ConfigManager.getAuthEmail(), ConfigManager.getAuthPassword()))
+                .as(TokenResponse.class);
+
+        Assert.assertNotNull(tokens.getAccessToken(), "access_token missing");
+        Assert.assertNotNull(tokens.getRefreshToken(), "refresh_token missing");
+        Assert.assertTrue(TokenManager.expiryOf(tokens.getAccessToken()) > System.currentTimeMillis(),
+                "access_token should carry a future exp claim");
+    }
+
+    @Test
+    public void testLoginWithWrongPasswordIsRejected() {
+        Response response = authClient.loginWithInvalidCredentials(
+                new LoginRequest(ConfigManager.getAuthEmail(), "definitely-not-the-password"));
+        Assert.assertEquals(response.getStatusCode(), 401);
+    }
+
+    @Test
+    public void testProfileWithManagedToken() {
+        Response profile = authClient.getProfile(TokenManager.getAccessToken());
+        Assert.assertEquals(profile.jsonPath().getString("email"), ConfigManager.getAuthEmail());
+    }
+
+    @Test
+    public void testProfileWithoutTokenIsRejected() {
+        Assert.assertEquals(authClient.getProfileWithoutToken().getStatusCode(), 401);
+    }
+
+    @Test
+    public void testRefreshIssuesWorkingToken() {
+        String email = ConfigManager.getAuthEmail();
+        String password = ConfigManager.getAuthPassword();
+        TokenManager.getAccessToken(email, password);
+
+        String refreshed = TokenManager.refreshAccessToken(email, password);
+
+        Assert.assertEquals(authClient.getProfile(refreshed).jsonPath().getString("email"), email);
+    }
+
+    @Test
+    public void testConcurrentCallersShareOneLogin() throws Exception {
+        TokenManager.clearTokens();
+        long loginsBefore = TokenManager.getLoginCount();
+
+        List<Future<String>> tokens;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            tokens = IntStream.range(0, 100)
+                    .mapToObj(i -> executor.submit(() -> TokenManager.getAccessToken()))
+                    .toList();
+        }
+
+        Assert.assertEquals(TokenManager.getLoginCount() - loginsBefore, 1, "Expected exactly one /auth/login call");
+        String first = tokens.get(0).get();
+        for (Future<String> token : tokens) {
+            Assert.assertEquals(token.get(), first, "Every caller should receive the shared token");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package PlatziFakeStore.tests.cache;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.base.BaseTest;
+import PlatziFakeStore.cache.RequestCoalescer;
+import PlatziFakeStore.cache.ResponseCache;
+import PlatziFakeStore.clients.UsersClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.config.ConfigOverride;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Single flight for concurrent identical GETs.
+ * - Every caller gets the full response; only some of them cost a network call
+ */
+public class RequestCoalescerTests extends BaseTest {
+
+    private static final int CALLERS = 8;
+
+    private final UsersClient usersClient = new UsersClient();
+    private ConfigOverride coalescing;
+
+    @BeforeClass(alwaysRun = true)
+    public void enableCoalescing() {
+        coalescing = ConfigManager.overrideScoped("coalesce.enabled", "true");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreCoalescing() {
+        coalescing.close();
+    }
+
+    @Test
+    public void testConcurrentIdenticalGetsShareOneCall() throws Exception {
+        RequestCoalescer.Stats before = RequestCoalescer.stats(APIResources.GET_ALL_USERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Response>> responses = new ArrayList<>();
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                responses.add(callers.submit(() -> {
+                    start.await();
+                    return ResponseCache.bypass(usersClient::getAllUsers); // every caller must reach the coalescer
+                }));
+            }
+            start.countDown();
+        }
+
+        String expectedBody = responses.getFirst().get().asString();
+        for (Future<Response> response : responses) {
+            Assert.assertEquals(response.get().getStatusCode(), 200);
+            Assert.assertEquals(response.get().asString(), expectedBody, "Every caller should see the same users");
+        }
+
+        RequestCoalescer.Stats after = RequestCoalescer.stats(APIResources.GET_ALL_USERS);
+        long calls = after.getCalls() - before.getCalls();
+        long saved = after.getSaved() - before.getSaved();
+        Assert.assertEquals(calls + saved, CALLERS, "Each GET is either a network call or a saved one");
+        Assert.assertTrue(saved > 0, "Concurrent identical GETs should have been coalesced: " + after);
+    }
+}
@@ -0,0 +1,207 @@
+package PlatziFakeStore.tests.cache;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.base.BaseTest;
+import PlatziFakeStore.base.ClientBackend;
+import PlatziFakeStore.cache.ResponseCache;
+import PlatziFakeStore.clients.CategoriesClient;
+import PlatziFakeStore.clients.ProductsClient;
+import PlatziFakeStore.clients.async.AsyncCategoriesClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.config.ConfigOverride;
+import PlatziFakeStore.models.request.CreateCategoryRequest;
+import PlatziFakeStore.models.response.Users;
+import PlatziFakeStore.stub.FakeStoreServer;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Conditional-GET cache in front of the Rest Assured clients.
+ * - Repeated reads of a long-TTL endpoint are answered locally
+ * - bypass() always goes to the network
+ * - Zero-TTL endpoints are revalidated with the server's ETag
+ * - Writes drop what they change, even while a read of it is in flight
+ *   (against the stand-in server, so the timing can be controlled)
+ * - Authorized reads are never shared between tokens
+ * - Writes on the java-http async backend invalidate too
+ */
+public class ResponseCacheTests extends BaseTest {
+
+    private final CategoriesClient categoriesClient = new CategoriesClient();
+    private final ProductsClient productsClient = new ProductsClient();
+
+    @BeforeClass(alwaysRun = true)
+    public void requireCache() {
+        if (!ConfigManager.isCacheEnabled()) {
+            throw new SkipException("Response cache is disabled (cache.enabled=false)");
+        }
+    }
+
+    @BeforeMethod(alwaysRun = true)
+    public void clearCache() {
+        ResponseCache.clear();
+    }
+
+    @Test
+    public void testRepeatedCategoryListIsServedFromCache() {
+        if (ConfigManager.getCacheTtlMillis("get_all_categories") <= 0) {
+            throw new SkipException("GET_ALL_CATEGORIES has no TTL configured");
+        }
+        Response first = categoriesClient.getAllCategories();
+        long hitsBefore = ResponseCache.stats(APIResources.GET_ALL_CATEGORIES).getHits();
+
+        Response second = categoriesClient.getAllCategories();
+
+        Assert.assertEquals(ResponseCache.stats(APIResources.GET_ALL_CATEGORIES).getHits(), hitsBefore + 1,
+                "Second read within the TTL should be a cache hit");
+        Assert.assertEquals(second.asString(), first.asString(), "Cached body differs from the original");
+    }
+
+    @Test
+    public void testBypassGoesToTheNetwork() {
+        categoriesClient.getAllCategories();
+        ResponseCache.Stats before = ResponseCache.stats(APIResources.GET_ALL_CATEGORIES);
+
+        Response fresh = ResponseCache.bypass(categoriesClient::getAllCategories);
+
+        ResponseCache.Stats after = ResponseCache.stats(APIResources.GET_ALL_CATEGORIES);
+        Assert.assertEquals(fresh.getStatusCode(), 200);
+        Assert.assertEquals(after.getBypasses(), before.getBypasses() + 1, "Bypassed read was not counted");
+        Assert.assertEquals(after.getHits(), before.getHits(), "Bypassed read must not be served from the cache");
+    }
+
+    @Test
+    public void testZeroTtlEndpointIsRevalidated() {
+        Response first = productsClient.getProductsPage(0, 1);
+        if (first.getHeader("ETag") == null && first.getHeader("Last-Modified") == null) {
+            throw new SkipException("Server sent no validators for " + APIResources.GET_PRODUCTS_PAGINATED);
+        }
+        long revalidationsBefore = ResponseCache.stats(APIResources.GET_PRODUCTS_PAGINATED).getRevalidations();
+
+        Response second = productsClient.getProductsPage(0, 1);
+
+        Assert.assertEquals(ResponseCache.stats(APIResources.GET_PRODUCTS_PAGINATED).getRevalidations(),
+                revalidationsBefore + 1, "Expected a 304 revalidation for the repeated page");
+        Assert.assertEquals(second.getStatusCode(), 200, "A revalidated entry should be served as 200");
+        Assert.assertEquals(second.asString(), first.asString());
+    }
+
+    @Test
+    public void testProductWriteDropsCategoryProductListing() {
+        try (FakeStoreServer server = FakeStoreServer.start(0)) {
+            withTtl("get_products_by_category", () -> {
+                RequestSpecification stub = stubSpec(server);
+                stub.get("/categories/{id}/products", 1);
+                Assert.assertEquals(ResponseCache.stats(APIResources.GET_PRODUCTS_BY_CATEGORY).getEntries(), 1,
+                        "The listing should have been stored");
+
+                Response created = stubSpec(server).contentType(ContentType.JSON)
+                        .body("{\"title\":\"Cache Probe\",\"price\":10,\"description\":\"d\",\"categoryId\":1,"
+                                + "\"images\":[\"https://i.imgur.com/probe.jpeg\"]}")
+                        .post("/products/");
+                Assert.assertEquals(created.getStatusCode(), 201);
+
+                Assert.assertEquals(ResponseCache.stats(APIResources.GET_PRODUCTS_BY_CATEGORY).getEntries(), 0,
+                        "A product write should drop the category's product listing");
+                Assert.assertTrue(stubSpec(server).get("/categories/{id}/products", 1).asString().contains("Cache Probe"),
+                        "The listing should include the new product");
+            });
+        }
+    }
+
+    @Test
+    public void testReadRacingAWriteIsNotStored() {
+        try (FakeStoreServer server = FakeStoreServer.start(0)) {
+            withTtl("get_category_by_id", () -> {
+                server.delayNext("GET", "/categories/1", 1_000, 1); // answered with the old name, delivered late
+                CompletableFuture<Response> slowRead = CompletableFuture.supplyAsync(
+                        () -> stubSpec(server).get("/categories/{id}", 1));
+                await(() -> server.getRequestCount("GET", "/categories/1") == 1);
+
+                Response renamed = stubSpec(server).contentType(ContentType.JSON)
+                        .body("{\"name\":\"Renamed Clothes\"}")
+                        .put("/categories/{id}", 1);
+                Assert.assertEquals(renamed.getStatusCode(), 200);
+                Assert.assertFalse(slowRead.join().asString().contains("Renamed Clothes"),
+                        "The slow read was answered before the write");
+
+                Assert.assertTrue(stubSpec(server).get("/categories/{id}", 1).asString().contains("Renamed Clothes"),
+                        "The body read before the write must not have been cached");
+            });
+        }
+    }
+
+    @Test
+    public void testAuthorizedReadsAreNotCached() {
+        try (FakeStoreServer server = FakeStoreServer.start(0)) {
+            withTtl("profile", () -> {
+                List<Users> users = List.of(server.getData().user(1), server.getData().user(2));
+                List<String> tokens = users.stream() // log in first: a login is a write that clears /auth reads
+                        .map(user -> stubSpec(server).contentType(ContentType.JSON)
+                                .body(Map.of("email", user.getEmail(), "password", user.getPassword()))
+                                .post("/auth/login")
+                                .<String>path("access_token"))
+                        .toList();
+
+                for (int i = 0; i < users.size(); i++) {
+                    Response profile = stubSpec(server).header("Authorization", "Bearer " + tokens.get(i)).get("/auth/profile");
+                    Assert.assertEquals(profile.path("email"), users.get(i).getEmail(), "Each token should see its own profile");
+                }
+                Assert.assertEquals(ResponseCache.stats(APIResources.PROFILE).getEntries(), 0,
+                        "A profile should never be stored under the bare URI");
+            });
+        }
+    }
+
+    @Test
+    public void testAsyncWritesInvalidateTheCache() {
+        if (ConfigManager.getCacheTtlMillis("get_all_categories") <= 0) {
+            throw new SkipException("GET_ALL_CATEGORIES has no TTL configured");
+        }
+        categoriesClient.getAllCategories();
+        Assert.assertEquals(ResponseCache.stats(APIResources.GET_ALL_CATEGORIES).getEntries(), 1,
+                "The listing should have been stored");
+
+        String name = "Async Cache Probe " + System.nanoTime();
+        new AsyncCategoriesClient(ClientBackend.JAVA_HTTP)
+                .createCategory(new CreateCategoryRequest(name, "https://placehold.co/600x400"))
+                .join();
+
+        Assert.assertEquals(ResponseCache.stats(APIResources.GET_ALL_CATEGORIES).getEntries(), 0,
+                "A java-http write should drop the category listing");
+        Assert.assertTrue(categoriesClient.getAllCategories().asString().contains(name),
+                "The listing should include the category created on the async backend");
+    }
+
+    /** Runs {@code body} with a five-minute TTL for {@code endpoint}, restoring the previous setting. */
+    private static void withTtl(String endpoint, Runnable body) {
+        try (ConfigOverride ignored = ConfigManager.overrideScoped("cache.ttl." + endpoint, "300000")) {
+            body.run();
+        }
+    }
+
+    private static RequestSpecification stubSpec(FakeStoreServer server) {
+        return RestAssured.given().baseUri(server.getBaseUrl()).filter(ResponseCache.INSTANCE);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) throw new AssertionError("Timed out waiting for the server");
+            Thread.onSpinWait();
+        }
+    }
+}
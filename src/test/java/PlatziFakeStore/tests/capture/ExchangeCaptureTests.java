@@ -0,0 +1,138 @@
+package PlatziFakeStore.tests.capture;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.base.BaseTest;
+import PlatziFakeStore.cache.ResponseCache;
+import PlatziFakeStore.capture.CaptureFilter;
+import PlatziFakeStore.capture.ExchangeCapture;
+import PlatziFakeStore.clients.CategoriesClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.config.ConfigOverride;
+import PlatziFakeStore.load.LoadEngine;
+import PlatziFakeStore.load.LoadProfile;
+import PlatziFakeStore.load.LoadScenario;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Failure-triggered exchange capture.
+ * - Nothing is written until dump(); the dump holds the thread's last capture.size exchanges
+ * - LoadEngine virtual users keep a ring; one-shot virtual threads do not
+ */
+public class ExchangeCaptureTests extends BaseTest {
+
+    private final CategoriesClient categoriesClient = new CategoriesClient();
+    private Path captureDir;
+    private ConfigOverride captureConfig;
+
+    @BeforeClass(alwaysRun = true)
+    public void redirectCaptures() throws Exception {
+        captureDir = Files.createTempDirectory("captures");
+        captureConfig = ConfigManager.overrideScoped(Map.of("capture.dir", captureDir.toString(), "capture.size", "2"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreCaptureConfig() {
+        captureConfig.close();
+    }
+
+    @Test
+    public void testNothingIsWrittenWithoutDump() throws Exception {
+        long dumpsBefore = countDumps(); // other tests in this class dump on purpose
+
+        ResponseCache.bypass(categoriesClient::getAllCategories);
+
+        Assert.assertEquals(countDumps(), dumpsBefore, "Passing exchanges should not be written anywhere");
+    }
+
+    @Test
+    public void testDumpHoldsTheLastExchangesOldestFirst() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            ResponseCache.bypass(categoriesClient::getAllCategories);
+        }
+
+        Path file = ExchangeCapture.dump("ExchangeCaptureTests", "checking the ring");
+
+        Assert.assertNotNull(file, "Recorded exchanges should have been dumped");
+        String dump = Files.readString(file);
+        Assert.assertTrue(dump.startsWith("# checking the ring"), dump);
+        Assert.assertTrue(dump.contains("exchanges: 2"), "Only capture.size exchanges should be kept: " + dump);
+        Assert.assertTrue(dump.contains("GET ") && dump.contains("/categories"), dump);
+        Assert.assertTrue(dump.contains("-> 200"), dump);
+    }
+
+    @Test
+    public void testConnectionFailureIsCaptured() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        ExchangeCapture.clear();
+
+        Assert.expectThrows(Exception.class, () -> RestAssured.given().baseUri("http://localhost:" + closedPort)
+                .filter(CaptureFilter.INSTANCE)
+                .get("/categories"));
+
+        Path file = ExchangeCapture.dump("ExchangeCaptureTests", "refused connection");
+        Assert.assertNotNull(file, "The failed exchange should have been recorded");
+        Assert.assertTrue(Files.readString(file).contains("ConnectException"), "The failure should be in the dump");
+    }
+
+    @Test
+    public void testClearEmptiesTheRing() {
+        ResponseCache.bypass(categoriesClient::getAllCategories);
+
+        ExchangeCapture.clear();
+
+        Assert.assertNull(ExchangeCapture.dump("ExchangeCaptureTests", "after clear"), "A cleared ring has nothing to dump");
+    }
+
+    @Test
+    public void testLoadEngineVirtualUsersKeepARing() throws Exception {
+        Map<String, Path> dumps = new ConcurrentHashMap<>();
+        LoadScenario scenario = LoadScenario.named("capture probe")
+                .step(APIResources.GET_ALL_CATEGORIES, () -> {
+                    Response response = categoriesClient.getAllCategories();
+                    String user = Thread.currentThread().getName();
+                    dumps.computeIfAbsent(user, name -> ExchangeCapture.dump(name, "probe"));
+                    return response;
+                });
+
+        new LoadEngine().run(LoadProfile.of(2, Duration.ZERO, Duration.ofMillis(300), Duration.ZERO)
+                .withThinkTime(Duration.ofMillis(50)), scenario);
+
+        Assert.assertEquals(dumps.keySet(), Set.of("virtual-user-0", "virtual-user-1"));
+        for (Path file : dumps.values()) {
+            Assert.assertTrue(Files.readString(file).contains("/categories"), "The virtual user's exchange should be in its dump");
+        }
+
+        Path stray;
+        try (ExecutorService oneShot = Executors.newVirtualThreadPerTaskExecutor()) {
+            stray = oneShot.submit(() -> {
+                ResponseCache.bypass(categoriesClient::getAllCategories);
+                return ExchangeCapture.dump("one-shot", "probe");
+            }).get();
+        }
+        Assert.assertNull(stray, "A one-shot virtual thread should not get a ring");
+    }
+
+    private long countDumps() throws Exception {
+        try (var files = Files.list(captureDir)) {
+            return files.count();
+        }
+    }
+}
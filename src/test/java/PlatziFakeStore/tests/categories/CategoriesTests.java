@@ -4,11 +4,19 @@ import PlatziFakeStore.base.APIResources;
 import PlatziFakeStore.base.BaseAPI;
 import PlatziFakeStore.base.BaseTest;
 import PlatziFakeStore.clients.CategoriesClient;
+import PlatziFakeStore.clients.ProductsClient;
+import PlatziFakeStore.fixtures.EntityPool;
+import PlatziFakeStore.fixtures.TestEntities;
 import PlatziFakeStore.models.request.CreateCategoryRequest;
+import PlatziFakeStore.models.request.CreateProductRequest;
 import PlatziFakeStore.models.response.Category;
+import PlatziFakeStore.models.response.Product;
+import PlatziFakeStore.utils.StreamingValidator;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.time.Instant;
@@ -20,10 +28,31 @@ import static org.testng.Assert.*;
 public class CategoriesTests extends BaseTest {
 
     private CategoriesClient categoriesClient = new CategoriesClient();
-    private int validCategoryId = 1;
-    private String validCategorySlug = "clothes";
-    private int updateCategoryId = 1;
+    private ProductsClient productsClient = new ProductsClient();
+    // Resolved once before any test and never reassigned, so methods can run in parallel
+    private int validCategoryId;
+    private String validCategorySlug;
+    private int updateCategoryId;
+    private EntityPool.Lease<Category> updateLease; // renamed categories are pooled ones, never seeded ones
+
+    @BeforeClass
+    public void resolveFixtures() {
+        List<Category> categories = StreamingValidator.of(Category.class)
+                .keepFirst(2)
+                .validate(categoriesClient.getAllCategories())
+                .assertMinCount(2)
+                .getKept();
+        validCategoryId = categories.get(0).getId();
+        validCategorySlug = categories.get(1).getSlug();
 
+        updateLease = TestEntities.categories().lease().markDirty();
+        updateCategoryId = updateLease.get().getId();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void releaseFixtures() {
+        if (updateLease != null) updateLease.close();
+    }
 
     @Test
     public void aTestGetAllCategories() {
@@ -31,20 +60,16 @@ public class CategoriesTests extends BaseTest {
 
         assertEquals(response.getStatusCode(), 200, "Expected status code 200");
 
-        List<Category> categories = response.jsonPath().getList("", Category.class);
-        validCategoryId = categories.get(0).getId();
-        validCategorySlug = categories.get(1).getSlug();
-        updateCategoryId = categories.get(2).getId();
+        StreamingValidator.Result<Category> categories = StreamingValidator.of(Category.class)
+                .rule("Category name should not be null", category -> category.getName() != null)
+                .rule("Category slug should not be null", category -> category.getSlug() != null)
+                .rule("Category image should not be null", category -> category.getImage() != null)
+                .rule("Category creationAt should not be null", category -> category.getCreationAt() != null)
+                .rule("Category updatedAt should not be null", category -> category.getUpdatedAt() != null)
+                .validate(response);
 
-        assertFalse(categories.isEmpty(), "Expected categories list to be non-empty");
-
-        for (Category category : categories) {
-            assertNotNull(category.getName(), "Category name should not be null");
-            assertNotNull(category.getSlug(), "Category slug should not be null");
-            assertNotNull(category.getImage(), "Category image should not be null");
-            assertNotNull(category.getCreationAt(), "Category creationAt should not be null");
-            assertNotNull(category.getUpdatedAt(), "Category updatedAt should not be null");
-        }
+        assertFalse(categories.getCount() == 0, "Expected categories list to be non-empty");
+        categories.assertValid();
     }
 
     @Test
@@ -174,4 +199,26 @@ public class CategoriesTests extends BaseTest {
         Assert.assertNotNull(category.getCreationAt(), "creationAt timestamp should be present");
         Assert.assertNotNull(category.getUpdatedAt(), "updatedAt timestamp should be present");
     }
+
+    @Test
+    public void testUpdatedCategoryIsEmbeddedInItsProducts() {
+        try (EntityPool.Lease<Category> lease = TestEntities.categories().lease().markDirty()) {
+            int categoryId = lease.get().getId();
+            Product product = productsClient.createProduct(new CreateProductRequest("Embedded Category Probe " + Instant.now(),
+                    25, "Checks the category copy inside a product", categoryId,
+                    new String[]{"https://placehold.co/600x400"})).as(Product.class);
+            try {
+                String renamed = "REST-Renamed category " + Instant.now();
+                Response update = categoriesClient.updateCategoryById(categoryId,
+                        new CreateCategoryRequest(renamed, "https://placehold.co/600x400"));
+                Assert.assertEquals(update.getStatusCode(), 200, "Expected 200 OK");
+
+                Category embedded = productsClient.getProductById(product.getId()).as(Product.class).getCategory();
+                Assert.assertEquals(embedded.getId(), categoryId);
+                Assert.assertEquals(embedded.getName(), renamed, "The product should embed the renamed category");
+            } finally {
+                productsClient.deleteProductById(product.getId());
+            }
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package PlatziFakeStore.tests.config;
+
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.config.ConfigOverride;
+import PlatziFakeStore.config.ConfigSnapshot;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Snapshot-backed configuration.
+ * - Snapshots are immutable; overrides and reloads publish a new one
+ * - Reload listeners see the snapshot that was just installed
+ * - Scoped overrides put back what was there before, even when nested
+ */
+public class ConfigManagerTests {
+
+    private static final String PROBE_KEY = "test.config.probe";
+
+    @Test
+    public void testSnapshotIsLoadedFromTheClasspath() {
+        ConfigSnapshot snapshot = ConfigManager.snapshot();
+        Assert.assertEquals(snapshot.getString("base.url"), ConfigManager.getBaseUrl());
+        Assert.assertTrue(snapshot.getInt("timeout.connection") > 0);
+    }
+
+    @Test
+    public void testOverridePublishesNewSnapshot() {
+        ConfigSnapshot before = ConfigManager.snapshot();
+
+        try (ConfigOverride ignored = ConfigManager.overrideScoped(PROBE_KEY, " 42 ")) {
+            ConfigSnapshot after = ConfigManager.snapshot();
+            Assert.assertEquals(after.getVersion(), before.getVersion() + 1);
+            Assert.assertEquals(after.getInt(PROBE_KEY), 42, "Values should be trimmed and parsed");
+            Assert.assertEquals(before.getInt(PROBE_KEY, -1), -1, "An existing snapshot must never change");
+        }
+    }
+
+    @Test
+    public void testReloadNotifiesListeners() {
+        AtomicReference<ConfigSnapshot> seen = new AtomicReference<>();
+        Consumer<ConfigSnapshot> listener = seen::set;
+        ConfigManager.addReloadListener(listener);
+        try (ConfigOverride ignored = ConfigManager.overrideScoped(PROBE_KEY, "true")) {
+            ConfigSnapshot installed = ConfigManager.snapshot();
+            Assert.assertSame(seen.get(), installed);
+            Assert.assertTrue(installed.getBoolean(PROBE_KEY));
+        } finally {
+            ConfigManager.removeReloadListener(listener);
+        }
+    }
+
+    @Test
+    public void testScopedOverrideRestoresThePreviousValue() {
+        try (ConfigOverride outer = ConfigManager.overrideScoped(PROBE_KEY, "1")) {
+            try (ConfigOverride inner = ConfigManager.overrideScoped(PROBE_KEY, "2")) {
+                Assert.assertEquals(ConfigManager.snapshot().getInt(PROBE_KEY), 2);
+            }
+            Assert.assertEquals(ConfigManager.snapshot().getInt(PROBE_KEY), 1, "Closing the inner scope should restore the outer value");
+            Assert.assertEquals(System.getProperty(PROBE_KEY), "1");
+        }
+        Assert.assertNull(System.getProperty(PROBE_KEY), "A key that was unset should be cleared again");
+        Assert.assertEquals(ConfigManager.snapshot().getInt(PROBE_KEY, -1), -1);
+    }
+
+    @Test(expectedExceptions = RuntimeException.class)
+    public void testMalformedNumberIsReported() {
+        try (ConfigOverride ignored = ConfigManager.overrideScoped(PROBE_KEY, "not-a-number")) {
+            ConfigManager.snapshot().getInt(PROBE_KEY);
+        }
+    }
+}
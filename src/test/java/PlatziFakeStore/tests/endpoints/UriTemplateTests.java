@@ -0,0 +1,136 @@
+package PlatziFakeStore.tests.endpoints;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.base.UriTemplate;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSender;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Endpoint path expansion (no API calls).
+ * - Positional and named parameters
+ * - Percent-encoding of reserved and non-ASCII characters
+ * - A filter chain resolves its request's endpoint once
+ */
+public class UriTemplateTests {
+
+    @Test
+    public void testPositionalExpansion() {
+        Assert.assertEquals(APIResources.GET_PRODUCT_BY_ID.withParams(123), "/products/123");
+        Assert.assertEquals(APIResources.GET_RELATED_BY_SLUG.withParams("classic-jacket"), "/products/slug/classic-jacket/related");
+        Assert.assertEquals(APIResources.GET_ALL_PRODUCTS.withParams(), "/products");
+    }
+
+    @Test
+    public void testNamedExpansionIncludingQuery() {
+        String path = APIResources.GET_PRODUCTS_PAGINATED.withParams(Map.of("limit", 10, "offset", 20));
+        Assert.assertEquals(path, "/products?offset=20&limit=10");
+    }
+
+    @Test
+    public void testValuesArePercentEncoded() {
+        UriTemplate template = APIResources.GET_PRODUCT_BY_SLUG.getTemplate();
+        Assert.assertEquals(template.expand("a b/c?d"), "/products/slug/a%20b%2Fc%3Fd");
+        Assert.assertEquals(template.expand("café"), "/products/slug/caf%C3%A9");
+        Assert.assertEquals(template.expand("Safe-._~09"), "/products/slug/Safe-._~09");
+    }
+
+    @Test
+    public void testVariableNamesAreParsedOnce() {
+        Assert.assertEquals(APIResources.GET_PRODUCTS_PAGINATED.getTemplate().getVariableNames(), List.of("offset", "limit"));
+        Assert.assertTrue(APIResources.LOGIN.getTemplate().getVariableNames().isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testMissingNamedValueIsRejected() {
+        APIResources.GET_PRODUCTS_PAGINATED.withParams(Map.of("offset", 0));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testWrongNumberOfPositionalValuesIsRejected() {
+        APIResources.GET_PRODUCT_BY_ID.withParams();
+    }
+
+    @Test
+    public void testEndpointIsResolvedOncePerFilterChain() {
+        AtomicInteger uriReads = new AtomicInteger();
+        FilterableRequestSpecification paginated = countingSpec("/products?offset=0&limit=10", uriReads);
+        FilterContext ctx = new MapFilterContext();
+
+        for (int filter = 0; filter < 5; filter++) {
+            Assert.assertEquals(APIResources.resolve(paginated, ctx), APIResources.GET_PRODUCTS_PAGINATED);
+        }
+        Assert.assertEquals(uriReads.get(), 1, "Later filters should reuse the first resolution");
+
+        FilterableRequestSpecification unknown = countingSpec("/nowhere", uriReads);
+        FilterContext unknownCtx = new MapFilterContext();
+        Assert.assertNull(APIResources.resolve(unknown, unknownCtx));
+        Assert.assertNull(APIResources.resolve(unknown, unknownCtx));
+        Assert.assertEquals(uriReads.get(), 2, "An unknown route should be remembered too");
+    }
+
+    /** A GET to {@code pathAndQuery} that counts how often its URI is built. */
+    private static FilterableRequestSpecification countingSpec(String pathAndQuery, AtomicInteger uriReads) {
+        int query = pathAndQuery.indexOf('?');
+        String path = query < 0 ? pathAndQuery : pathAndQuery.substring(0, query);
+        return (FilterableRequestSpecification) Proxy.newProxyInstance(UriTemplateTests.class.getClassLoader(),
+                new Class<?>[]{FilterableRequestSpecification.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getMethod" -> "GET";
+                    case "getUserDefinedPath" -> path;
+                    case "getURI" -> {
+                        uriReads.incrementAndGet();
+                        yield "http://localhost" + pathAndQuery;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /** Just the value store of a FilterContext; these tests never send anything. */
+    private static final class MapFilterContext implements FilterContext {
+
+        private final Map<String, Object> values = new HashMap<>();
+
+        @Override
+        public void setValue(String name, Object value) {
+            values.put(name, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getValue(String name) {
+            return (T) values.get(name);
+        }
+
+        @Override
+        public boolean hasValue(String name) {
+            return values.containsKey(name);
+        }
+
+        @Override
+        public boolean hasValue(String name, Object value) {
+            return values.containsKey(name) && Objects.equals(values.get(name), value);
+        }
+
+        @Override
+        public Response send(RequestSender requestSender) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Response next(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
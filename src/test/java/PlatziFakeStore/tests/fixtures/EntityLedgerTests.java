@@ -0,0 +1,60 @@
+package PlatziFakeStore.tests.fixtures;
+
+import PlatziFakeStore.fixtures.EntityLedger;
+import PlatziFakeStore.fixtures.EntityType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ledgers left by runs that are gone.
+ * - Creates minus deletes is what is still out there; a torn last line is skipped
+ * - A claimed ledger cannot be claimed twice; discard() removes the file
+ */
+public class EntityLedgerTests {
+
+    @Test
+    public void testOrphanReplaysCreatesMinusDeletes() throws IOException {
+        Path dir = Files.createTempDirectory("ledger");
+        Path file = dir.resolve("crashed-run.ledger");
+        Files.writeString(file, """
+                # base.url https://api.example.test/v1
+                + PRODUCT 11
+                + PRODUCT 12
+                + USER 7
+                - PRODUCT 11
+                + CATEGORY 3
+                + CATEG""");
+
+        List<EntityLedger.Orphan> orphans = EntityLedger.claimOrphans(dir);
+
+        Assert.assertEquals(orphans.size(), 1);
+        EntityLedger.Orphan orphan = orphans.getFirst();
+        Assert.assertEquals(orphan.getBaseUrl(), "https://api.example.test/v1");
+        Assert.assertEquals(orphan.getEntities().get(EntityType.PRODUCT), Set.of(12));
+        Assert.assertEquals(orphan.getEntities().get(EntityType.USER), Set.of(7));
+        Assert.assertEquals(orphan.getEntities().get(EntityType.CATEGORY), Set.of(3));
+
+        Assert.assertTrue(EntityLedger.claimOrphans(dir).isEmpty(), "A claimed ledger must not be claimed again");
+
+        orphan.discard();
+        Assert.assertFalse(Files.exists(file), "discard() should remove the ledger");
+    }
+
+    @Test
+    public void testReleasedOrphanCanBeClaimedAgain() throws IOException {
+        Path dir = Files.createTempDirectory("ledger");
+        Files.writeString(dir.resolve("failed-cleanup.ledger"), "# base.url http://localhost:1\n+ USER 5\n");
+
+        EntityLedger.claimOrphans(dir).forEach(EntityLedger.Orphan::release);
+
+        List<EntityLedger.Orphan> again = EntityLedger.claimOrphans(dir);
+        Assert.assertEquals(again.size(), 1);
+        again.forEach(EntityLedger.Orphan::discard);
+    }
+}
@@ -0,0 +1,64 @@
+package PlatziFakeStore.tests.fixtures;
+
+import PlatziFakeStore.fixtures.EntityPool;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * EntityPool lease / recycle / refill rules, against an in-memory factory.
+ * - A leased entity belongs to one caller until the lease is closed
+ * - Dirty entities are disposed, clean ones recycled
+ * - Stock below the low-water mark is refilled in the background
+ */
+public class EntityPoolTests {
+
+    private static EntityPool<Integer> pool(int target, int lowWater, List<Integer> disposed) {
+        return new EntityPool<>("ints", i -> i, disposed::add, target, lowWater, 4);
+    }
+
+    @Test
+    public void testLeasesAreExclusiveAndRecycled() {
+        try (EntityPool<Integer> pool = pool(5, 0, new CopyOnWriteArrayList<>()).fill()) {
+            Set<Integer> leased = new HashSet<>();
+            EntityPool.Lease<Integer> first = pool.lease();
+            leased.add(first.get());
+            for (int i = 0; i < 4; i++) {
+                Assert.assertTrue(leased.add(pool.lease().get()), "An entity was leased twice");
+            }
+            Assert.assertEquals(pool.available(), 0);
+
+            first.close();
+            Assert.assertEquals(pool.lease().get(), first.get(), "A clean entity should be recycled");
+        }
+    }
+
+    @Test
+    public void testDirtyEntityIsDisposedAndStockRefilled() throws InterruptedException {
+        List<Integer> disposed = new CopyOnWriteArrayList<>();
+        try (EntityPool<Integer> pool = pool(3, 3, disposed).fill()) {
+            EntityPool.Lease<Integer> lease = pool.lease().markDirty();
+            lease.close();
+
+            for (int i = 0; i < 50 && (pool.available() < 3 || disposed.isEmpty()); i++) Thread.sleep(10);
+            Assert.assertEquals(disposed, List.of(lease.get()));
+            Assert.assertEquals(pool.available(), 3, "Refill should restore the target stock");
+        }
+    }
+
+    @Test
+    public void testEmptyPoolCreatesInlineAndCloseDisposesStock() {
+        List<Integer> disposed = new CopyOnWriteArrayList<>();
+        EntityPool<Integer> pool = pool(2, 0, disposed);
+        Assert.assertNotNull(pool.lease().get(), "An empty pool should create on demand");
+
+        pool.fill();
+        pool.close();
+        Assert.assertEquals(disposed.size(), 2, "close() should delete the remaining stock");
+        Assert.assertThrows(IllegalStateException.class, pool::lease);
+    }
+}
@@ -0,0 +1,87 @@
+package PlatziFakeStore.tests.load;
+
+import PlatziFakeStore.auth.TokenPool;
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.base.BaseTest;
+import PlatziFakeStore.clients.AuthClient;
+import PlatziFakeStore.clients.CategoriesClient;
+import PlatziFakeStore.clients.ProductsClient;
+import PlatziFakeStore.clients.UsersClient;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.load.ArrivalRateReport;
+import PlatziFakeStore.load.ConstantArrivalRateScheduler;
+import PlatziFakeStore.load.LoadEngine;
+import PlatziFakeStore.load.LoadProfile;
+import PlatziFakeStore.load.LoadReport;
+import PlatziFakeStore.load.LoadScenario;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+/**
+ * Short closed-model load runs through the API clients.
+ * - Only runs against the in-process stand-in (-Dstub.enabled=true),
+ *   never against the shared remote API.
+ */
+public class CatalogLoadTests extends BaseTest {
+
+    private final ProductsClient productsClient = new ProductsClient();
+    private final UsersClient usersClient = new UsersClient();
+    private final CategoriesClient categoriesClient = new CategoriesClient();
+
+    @BeforeClass(alwaysRun = true)
+    public void requireStub() {
+        if (!ConfigManager.isStubEnabled()) {
+            throw new SkipException("Load tests only run against the stand-in server (-Dstub.enabled=true)");
+        }
+    }
+
+    @Test
+    public void testBrowseCatalogUnderConcurrentUsers() {
+        LoadScenario browse = LoadScenario.named("browse-catalog")
+                .step(APIResources.GET_ALL_CATEGORIES, categoriesClient::getAllCategories)
+                .step(APIResources.GET_PRODUCT_BY_ID, iteration -> productsClient.getProductById(1 + iteration % 40))
+                .step(APIResources.GET_USER_BY_ID, iteration -> usersClient.getUserById(1 + iteration % 20));
+
+        LoadProfile profile = LoadProfile.of(50, Duration.ofSeconds(1), Duration.ofSeconds(3), Duration.ofSeconds(1));
+
+        LoadReport report = new LoadEngine().run(profile, browse);
+        System.out.println(report);
+
+        Assert.assertTrue(report.getTotalRequests() > 0, "Expected the virtual users to issue requests");
+        Assert.assertEquals(report.getTotalErrors(), 0L, "Expected no failed requests");
+        Assert.assertTrue(report.getThroughput(APIResources.GET_PRODUCT_BY_ID) > 0, "Expected product lookups to be measured");
+    }
+
+    @Test
+    public void testAllProductsAtConstantArrivalRate() {
+        ArrivalRateReport report = new ConstantArrivalRateScheduler(200, Duration.ofSeconds(3), 1_000)
+                .run(APIResources.GET_ALL_PRODUCTS, productsClient::getAllProducts);
+        System.out.println(report);
+
+        Assert.assertEquals(report.getErrors(), 0L, "Expected no failed requests");
+        Assert.assertEquals(report.getRequests(), 600L, "Expected every scheduled request to be sent");
+        Assert.assertTrue(report.getResponseTime().getMax() >= report.getServiceTime().getMax(),
+                "Response time includes queueing delay, so it can never be below service time");
+    }
+
+    @Test
+    public void testProfileUnderDistinctIdentities() {
+        AuthClient authClient = new AuthClient();
+        try (TokenPool pool = TokenPool.provision(25)) {
+            LoadScenario profile = LoadScenario.named("authenticated-profile")
+                    .step(APIResources.PROFILE, () -> authClient.getProfile(pool.token()));
+
+            LoadReport report = new LoadEngine().run(
+                    LoadProfile.of(100, Duration.ofMillis(500), Duration.ofSeconds(2), Duration.ZERO), profile);
+            System.out.println(report);
+            System.out.println(pool);
+
+            Assert.assertEquals(report.getTotalErrors(), 0L, "Expected every profile call to be authorized");
+            Assert.assertEquals(pool.getLoginCount(), 25L, "Each identity should log in exactly once");
+        }
+    }
+}
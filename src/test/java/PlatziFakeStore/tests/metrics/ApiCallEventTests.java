@@ -0,0 +1,74 @@
+package PlatziFakeStore.tests.metrics;
+
+import PlatziFakeStore.base.BaseTest;
+import PlatziFakeStore.base.ClientBackend;
+import PlatziFakeStore.cache.ResponseCache;
+import PlatziFakeStore.clients.CategoriesClient;
+import PlatziFakeStore.clients.async.AsyncCategoriesClient;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * JFR events for API calls.
+ * - Records a short flight recording around real calls and reads the ApiCall events back
+ */
+public class ApiCallEventTests extends BaseTest {
+
+    private static final String EVENT = "PlatziFakeStore.ApiCall";
+
+    private final CategoriesClient categoriesClient = new CategoriesClient();
+    private final AsyncCategoriesClient asyncCategoriesClient = new AsyncCategoriesClient(ClientBackend.JAVA_HTTP);
+
+    @Test
+    public void testRestAssuredCallEmitsAnEvent() throws Exception {
+        List<RecordedEvent> events = record(() -> ResponseCache.bypass(categoriesClient::getAllCategories));
+
+        RecordedEvent event = findOwn(events, "testRestAssuredCallEmitsAnEvent");
+        Assert.assertEquals(event.getString("endpoint"), "GET_ALL_CATEGORIES");
+        Assert.assertEquals(event.getString("method"), "GET");
+        Assert.assertEquals(event.getInt("status"), 200);
+        Assert.assertTrue(event.getLong("bytesIn") > 0, "Response size should be recorded");
+        Assert.assertTrue(event.getDuration().toNanos() > 0, "Latency is the event duration");
+    }
+
+    @Test
+    public void testAsyncCallEmitsAnEvent() throws Exception {
+        List<RecordedEvent> events = record(() -> asyncCategoriesClient.getAllCategories().join());
+
+        RecordedEvent event = findOwn(events, "testAsyncCallEmitsAnEvent");
+        Assert.assertEquals(event.getString("endpoint"), "GET_ALL_CATEGORIES");
+        Assert.assertEquals(event.getInt("status"), 200);
+        Assert.assertEquals(event.getLong("bytesOut"), 0L, "A GET sends no body");
+    }
+
+    private static List<RecordedEvent> record(Runnable calls) throws Exception {
+        Path file = Files.createTempFile("api-calls", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT);
+            recording.start();
+            calls.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Other tests may call the same endpoint in parallel; pick the event attributed to this one. */
+    private static RecordedEvent findOwn(List<RecordedEvent> events, String testMethod) {
+        String test = ApiCallEventTests.class.getSimpleName() + "." + testMethod;
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT))
+                .filter(event -> test.equals(event.getString("test")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + EVENT + " event for " + test + " in " + events));
+    }
+}
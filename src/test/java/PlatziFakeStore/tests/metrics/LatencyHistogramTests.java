@@ -0,0 +1,50 @@
+package PlatziFakeStore.tests.metrics;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.metrics.LatencyHistogram;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class to validate the latency recording building blocks.
+ * - No network calls; runs in milliseconds.
+ */
+public class LatencyHistogramTests {
+
+    @Test
+    public void testPercentilesStayWithinOnePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 100_000; micros++) {
+            histogram.recordValue(micros);
+        }
+
+        Assert.assertEquals(histogram.getTotalCount(), 100_000L, "Every sample should be counted");
+        Assert.assertEquals(histogram.getMax(), 100_000L, "Max should be exact");
+        assertWithinOnePercent(histogram.getValueAtPercentile(50), 50_000);
+        assertWithinOnePercent(histogram.getValueAtPercentile(99), 99_000);
+        assertWithinOnePercent(histogram.getValueAtPercentile(99.9), 99_900);
+    }
+
+    @Test
+    public void testValuesAboveRangeAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordValue(Long.MAX_VALUE);
+
+        Assert.assertEquals(histogram.getMax(), LatencyHistogram.HIGHEST_TRACKABLE_VALUE, "Oversized samples should be clamped");
+    }
+
+    @Test
+    public void testResolveEndpointFromTemplateAndExpandedPath() {
+        Assert.assertEquals(APIResources.resolve("GET", "/products/{id}"), APIResources.GET_PRODUCT_BY_ID);
+        Assert.assertEquals(APIResources.resolve("GET", "/products/slug/modern-chair"), APIResources.GET_PRODUCT_BY_SLUG);
+        Assert.assertEquals(APIResources.resolve("DELETE", "/products/7"), APIResources.DELETE_PRODUCT);
+        Assert.assertEquals(APIResources.resolve("POST", "/users/"), APIResources.CREATE_USER);
+        Assert.assertEquals(APIResources.resolve("GET", "/products?offset=0&limit=10"), APIResources.GET_PRODUCTS_PAGINATED);
+        Assert.assertNull(APIResources.resolve("GET", "/invalid-endpoint"), "Unknown routes should not resolve");
+    }
+
+    private static void assertWithinOnePercent(long actual, long expected) {
+        Assert.assertTrue(Math.abs(actual - expected) <= expected / 100,
+                "Expected ~" + expected + " but was " + actual);
+    }
+}
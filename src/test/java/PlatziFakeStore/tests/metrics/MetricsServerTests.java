@@ -0,0 +1,68 @@
+package PlatziFakeStore.tests.metrics;
+
+import PlatziFakeStore.metrics.EndpointMetrics;
+import PlatziFakeStore.metrics.MetricsServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Live Prometheus endpoint.
+ * - Scrapes an embedded MetricsServer on a free port; no API calls
+ */
+public class MetricsServerTests {
+
+    private static final Pattern SAMPLE = Pattern.compile("^[a-z_]+(\\{[^}]*})? (-?[0-9.E+-]+|\\+Inf)$");
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private MetricsServer server;
+
+    @BeforeClass(alwaysRun = true)
+    public void startServer() {
+        server = MetricsServer.start("localhost", 0);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    public void testScrapeIsPrometheusText() throws Exception {
+        HttpResponse<String> response = scrape();
+
+        Assert.assertEquals(response.statusCode(), 200);
+        Assert.assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain; version=0.0.4"));
+        for (String line : response.body().split("\n")) {
+            if (line.startsWith("#")) continue;
+            Assert.assertTrue(SAMPLE.matcher(line).matches(), "Not a Prometheus sample: " + line);
+        }
+        Assert.assertTrue(response.body().contains("# TYPE platzi_auth_cached_tokens gauge"));
+    }
+
+    @Test
+    public void testInFlightCallsAreVisibleWhileRunning() throws Exception {
+        EndpointMetrics.callStarted(null);
+        try {
+            Matcher inFlight = Pattern.compile("platzi_requests_in_flight\\{endpoint=\"UNMATCHED\"} (\\d+)")
+                    .matcher(scrape().body());
+            Assert.assertTrue(inFlight.find(), "The in-flight gauge should list the endpoint");
+            Assert.assertTrue(Long.parseLong(inFlight.group(1)) >= 1, "The running call should be counted");
+        } finally {
+            EndpointMetrics.callFinished(null);
+        }
+    }
+
+    private HttpResponse<String> scrape() throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(server.getUrl())).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
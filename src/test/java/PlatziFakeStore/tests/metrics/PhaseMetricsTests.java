@@ -0,0 +1,114 @@
+package PlatziFakeStore.tests.metrics;
+
+import PlatziFakeStore.base.APIResources;
+import PlatziFakeStore.base.BaseAPI;
+import PlatziFakeStore.cache.ResponseCache;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.metrics.LatencyHistogram;
+import PlatziFakeStore.metrics.Phase;
+import PlatziFakeStore.metrics.PhaseMetrics;
+import PlatziFakeStore.stub.FakeStoreServer;
+import io.restassured.RestAssured;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-phase latency attribution.
+ * - Made-up samples are far larger than anything a real exchange records
+ * - The endpoint's histograms are saved before and restored after, so the
+ *   fake samples never reach the suite's phase report or CSV
+ * - One real exchange through the pooled client, against a private stand-in server
+ */
+public class PhaseMetricsTests {
+
+    private static final APIResources ENDPOINT = APIResources.GET_RELATED_BY_SLUG;
+
+    private final Map<Phase, LatencyHistogram> saved = new EnumMap<>(Phase.class);
+
+    @BeforeClass
+    public void saveEndpointHistograms() {
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram copy = new LatencyHistogram();
+            copy.add(PhaseMetrics.get(ENDPOINT, phase));
+            saved.put(phase, copy);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreEndpointHistograms() {
+        saved.forEach((phase, copy) -> {
+            LatencyHistogram live = PhaseMetrics.get(ENDPOINT, phase);
+            live.reset();
+            live.add(copy);
+        });
+    }
+
+    @Test
+    public void testPooledExchangesRecordTheDownload() {
+        if (!ConfigManager.isPoolEnabled() || !ConfigManager.isMetricsEnabled() || !ConfigManager.isPhaseMetricsEnabled()) {
+            throw new SkipException("Needs the pooled client with phase metrics on");
+        }
+        long firstBytesBefore = count(Phase.TIME_TO_FIRST_BYTE);
+        long downloadsBefore = count(Phase.DOWNLOAD);
+
+        try (FakeStoreServer server = FakeStoreServer.start(0)) {
+            for (int i = 0; i < 5; i++) {
+                ResponseCache.bypass(() -> RestAssured.given().spec(BaseAPI.getRequestSpec())
+                        .baseUri(server.getBaseUrl())
+                        .get(APIResources.GET_ALL_CATEGORIES.getResource()));
+            }
+        }
+
+        Assert.assertEquals(count(Phase.TIME_TO_FIRST_BYTE) - firstBytesBefore, 5L);
+        Assert.assertEquals(count(Phase.DOWNLOAD) - downloadsBefore, 5L,
+                "Every exchange with a body should record its download, read or not");
+    }
+
+    @Test
+    public void testRepeatedPhasesAreSummedUnderTheEndpoint() {
+        PhaseMetrics.begin();
+        PhaseMetrics.add(Phase.TLS, TimeUnit.SECONDS.toNanos(70));
+        PhaseMetrics.add(Phase.TLS, TimeUnit.SECONDS.toNanos(10));
+        PhaseMetrics.end(ENDPOINT);
+
+        Assert.assertTrue(PhaseMetrics.get(ENDPOINT, Phase.TLS).getMax() >= TimeUnit.SECONDS.toMicros(80),
+                "Both handshakes of one exchange should be summed");
+    }
+
+    @Test
+    public void testPhasesOutsideAnExchangeAreIgnored() {
+        PhaseMetrics.add(Phase.DNS, TimeUnit.SECONDS.toNanos(900));
+
+        PhaseMetrics.begin();
+        PhaseMetrics.end(ENDPOINT);
+
+        Assert.assertTrue(PhaseMetrics.get(ENDPOINT, Phase.DNS).getMax() < TimeUnit.SECONDS.toMicros(900),
+                "A lookup made outside an exchange should not be attributed to any endpoint");
+    }
+
+    @Test
+    public void testCarryOverAttributesWorkOnAnotherThread() {
+        PhaseMetrics.begin();
+        CompletableFuture.supplyAsync(PhaseMetrics.carryOver(() -> {
+            PhaseMetrics.add(Phase.DOWNLOAD, TimeUnit.SECONDS.toNanos(90));
+            return null;
+        })).join();
+        PhaseMetrics.end(ENDPOINT);
+
+        Assert.assertTrue(PhaseMetrics.get(ENDPOINT, Phase.DOWNLOAD).getMax() >= TimeUnit.SECONDS.toMicros(90),
+                "A download on a hedging thread should count for the caller's exchange");
+    }
+
+    /** get() hands out an empty stand-in until the first sample, so it is read again each time. */
+    private static long count(Phase phase) {
+        return PhaseMetrics.get(APIResources.GET_ALL_CATEGORIES, phase).getTotalCount();
+    }
+}
@@ -0,0 +1,37 @@
+package PlatziFakeStore.tests.metrics;
+
+import PlatziFakeStore.metrics.EndpointMetrics;
+import PlatziFakeStore.metrics.StatusClass;
+import PlatziFakeStore.metrics.TimingFilter;
+import io.restassured.RestAssured;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+import java.net.ServerSocket;
+
+/**
+ * Network failures in the latency registry.
+ * - Calls a closed local port; the path matches no endpoint, so the
+ *   failure lands under UNMATCHED and not in a real endpoint's report
+ */
+public class TimingFilterTests {
+
+    @Test
+    public void testRefusedConnectionIsRecordedAsNetworkError() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        long before = EndpointMetrics.get(null, StatusClass.NETWORK_ERROR).getTotalCount();
+
+        Exception failure = Assert.expectThrows(Exception.class,
+                () -> RestAssured.given().baseUri("http://localhost:" + closedPort)
+                        .filter(TimingFilter.INSTANCE)
+                        .get("/timing-probe/{id}", 1));
+
+        Assert.assertTrue(failure instanceof ConnectException, "Expected the original ConnectException: " + failure);
+        Assert.assertEquals(EndpointMetrics.get(null, StatusClass.NETWORK_ERROR).getTotalCount() - before, 1L);
+        Assert.assertEquals(EndpointMetrics.getInFlight(null), 0L, "The failed call should no longer be in flight");
+    }
+}
@@ -0,0 +1,89 @@
+package PlatziFakeStore.tests.pool;
+
+import PlatziFakeStore.base.BaseTest;
+import PlatziFakeStore.base.ConnectionPool;
+import PlatziFakeStore.cache.ResponseCache;
+import PlatziFakeStore.clients.CategoriesClient;
+import PlatziFakeStore.config.ConfigManager;
+import org.apache.http.pool.PoolStats;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * Shared keep-alive pool behind the Rest Assured clients.
+ * - Sequential requests reuse one connection
+ * - Parallel requests stay within the configured route limit and
+ *   hand every connection back to the pool
+ * - A response nobody reads still hands its connection back
+ */
+public class ConnectionPoolTests extends BaseTest {
+
+    private final CategoriesClient categoriesClient = new CategoriesClient();
+
+    @BeforeClass(alwaysRun = true)
+    public void requirePool() {
+        if (!ConfigManager.isPoolEnabled()) {
+            throw new SkipException("Connection pool is disabled (pool.enabled=false)");
+        }
+    }
+
+    @Test
+    public void testSequentialRequestsReuseConnection() {
+        for (int i = 0; i < 5; i++) {
+            ResponseCache.bypass(categoriesClient::getAllCategories); // every request must reach the pool
+        }
+
+        PoolStats stats = ConnectionPool.baseRouteStats();
+        Assert.assertEquals(stats.getLeased(), 0, "Every connection should be returned after the response is read");
+        Assert.assertTrue(stats.getAvailable() >= 1, "Expected a kept-alive connection in the pool");
+    }
+
+    @Test
+    public void testParallelRequestsStayWithinRouteLimit() throws Exception {
+        AtomicInteger peakLeased = new AtomicInteger();
+        AtomicBoolean bursting = new AtomicBoolean(true);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (bursting.get()) {
+                peakLeased.accumulateAndGet(ConnectionPool.baseRouteStats().getLeased(), Math::max);
+                LockSupport.parkNanos(100_000);
+            }
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            IntStream.range(0, 50).forEach(i -> executor.submit(() -> ResponseCache.bypass(categoriesClient::getAllCategories)));
+        } finally {
+            bursting.set(false);
+            sampler.join();
+        }
+
+        PoolStats stats = ConnectionPool.baseRouteStats();
+        Assert.assertTrue(peakLeased.get() > 0, "The sampler should have seen the burst");
+        Assert.assertTrue(peakLeased.get() <= stats.getMax(),
+                "Pool exceeded its route limit: " + peakLeased.get() + " leased, max " + stats.getMax());
+        Assert.assertEquals(stats.getLeased(), 0, "No connection should leak after the parallel burst");
+        Assert.assertEquals(stats.getPending(), 0, "No caller should still be waiting for a connection");
+    }
+
+    @Test
+    public void testUnreadResponsesReleaseTheirConnections() throws Exception {
+        // DELETE has no response spec, so nothing reads the body; capture only reads it on platform threads
+        Thread deleter = Thread.startVirtualThread(() -> {
+            for (int i = 0; i < 5; i++) {
+                categoriesClient.deleteCategoryById(999_999).getStatusCode();
+            }
+        });
+        deleter.join();
+
+        Assert.assertEquals(ConnectionPool.baseRouteStats().getLeased(), 0,
+                "A response nobody reads should still hand its connection back");
+    }
+}
@@ -2,53 +2,88 @@ package PlatziFakeStore.tests.products;
 
 import PlatziFakeStore.base.BaseAPI;
 import PlatziFakeStore.base.BaseTest;
+import PlatziFakeStore.clients.PaginatedProducts;
 import PlatziFakeStore.clients.ProductsClient;
+import PlatziFakeStore.fixtures.EntityPool;
+import PlatziFakeStore.fixtures.TestEntities;
 import PlatziFakeStore.models.response.Product;
+import PlatziFakeStore.snapshot.ProductRecord;
+import PlatziFakeStore.snapshot.SnapshotStore;
+import PlatziFakeStore.utils.StreamingValidator;
 import io.restassured.response.Response;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Test class to validate /products endpoint via ProductsClient.
  * - Covers positive and negative scenarios.
  * - Uses POJOs for response deserialization.
+ * - Fixture ids are resolved once before any test and never reassigned,
+ *   so methods can run in parallel in any order.
+ * - Products that tests change or delete are leased from TestEntities,
+ *   never taken from the seeded catalog.
  */
 public class ProductsTests extends BaseTest {
 
     private ProductsClient productsClient;
-    private int validProductId = 1;
-    private int deleteProductId = 1;
-    private String validProductSlug = "modern-elegance-teal-armchair" ;
-    private int updateProductId = 1;
+    private int validProductId;
+    private int deleteProductId;
+    private String validProductSlug;
+    private int updateProductId;
+    private EntityPool.Lease<Product> deleteLease;
+    private EntityPool.Lease<Product> updateLease;
 
 
     @BeforeClass
     public void setup() {
+        super.setup();
         productsClient = new ProductsClient();
+
+        // One product per role, so tests never touch each other's product
+        List<Product> products = StreamingValidator.of(Product.class)
+                .keepFirst(2)
+                .validate(productsClient.getAllProducts())
+                .assertMinCount(2)
+                .getKept();
+        validProductId = products.get(0).getId();
+        validProductSlug = products.get(1).getSlug();
+
+        deleteLease = TestEntities.products().lease();
+        updateLease = TestEntities.products().lease().markDirty();
+        deleteProductId = deleteLease.get().getId();
+        updateProductId = updateLease.get().getId();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void releaseFixtures() {
+        if (deleteLease != null) deleteLease.close();
+        if (updateLease != null) updateLease.close();
     }
 
     /* ***********************************************************************************************
      * Get all products
      **************************************************************************************************/
-    @Test(priority = 0)
+    @Test
     public void aTestGetAllProductsReturnsList() {
         Response response = productsClient.getAllProducts();
 
         Assert.assertEquals(response.statusCode(), 200, "Expected HTTP 200 OK");
 
-        List<Product> products = response.jsonPath().getList("", Product.class);
-
-        Assert.assertTrue(products.size() >= 10, "Expected at least 10 products");
+        List<Product> products = StreamingValidator.of(Product.class)
+                .keepFirst(4)
+                .validate(response)
+                .assertMinCount(10)
+                .getKept();
 
         Product firstProduct = products.get(0);
-        validProductId = firstProduct.getId();
-        validProductSlug = products.get(1).getSlug();
-        deleteProductId = products.get(2).getId();
-        updateProductId= products.get(3).getId();
 
         Assert.assertTrue(firstProduct.getId() > 0, "Product ID should be positive");
         Assert.assertNotNull(firstProduct.getTitle(), "Product title should not be null");
@@ -75,38 +110,63 @@ public class ProductsTests extends BaseTest {
 
     @Test
     public void testProductsContainMandatoryFields() {
+        // Invariants over the whole catalog, checked on the suite-wide snapshot
+        StreamingValidator.of(ProductRecord.class)
+                .rule("Product id should be greater than 0", product -> product.id() > 0)
+                .rule("Product title should not be null", product -> product.title() != null)
+                .rule("Product price should be >= 0", product -> product.price() >= 0)
+                .rule("Product description should not be null", product -> product.description() != null)
+                .rule("Product category should not be null", product -> product.categoryId() >= 0)
+                .rule("Product images list should not be null", product -> product.images() != null)
+                .validate(SnapshotStore.products().getAll())
+                .assertMinCount(4)
+                .assertValid();
+    }
+
+    @Test
+    public void testGetAllProductsResponseTime() {
         Response response = productsClient.getAllProducts();
-        List<Product> products = response.jsonPath().getList("", Product.class);
 
-        Assert.assertFalse(products.isEmpty(), "Products list should not be empty");
+        Assert.assertTrue(response.time() < 5000, "Response time should be less than 5 seconds");
+    }
 
-        Product firstProduct = products.get(0);
-        validProductId = firstProduct.getId();
-        validProductSlug = products.get(1).getSlug();
-        deleteProductId = products.get(2).getId();
-        updateProductId= products.get(3).getId();
+    /* *************************************************************************************************
+     * Paginated catalog walk
+     ***************************************************************************************************/
 
-        Assert.assertTrue(firstProduct.getId() > 0, "Product id should be greater than 0");
-        Assert.assertNotNull(firstProduct.getTitle(), "Product title should not be null");
-        Assert.assertTrue(firstProduct.getPrice() >= 0, "Product price should be >= 0");
-        Assert.assertNotNull(firstProduct.getDescription(), "Product description should not be null");
-        Assert.assertNotNull(firstProduct.getCategory(), "Product category should not be null");
-        Assert.assertNotNull(firstProduct.getImages(), "Product images list should not be null");
+    // Other tests create and delete products meanwhile, so the walk is not compared with a GET_ALL count
+    @Test
+    public void testPaginatedWalkNeverRepeatsAProduct() {
+        int pageSize = 10;
+        Set<Integer> seenIds = new HashSet<>();
+        try (Stream<Product> catalog = new PaginatedProducts(productsClient, pageSize, 2).stream()) {
+            catalog.forEach(product -> Assert.assertTrue(seenIds.add(product.getId()),
+                    "Product " + product.getId() + " appeared on more than one page"));
+        }
+
+        Assert.assertTrue(seenIds.size() > pageSize, "Walk should continue past the first page, got " + seenIds.size());
     }
 
     @Test
-    public void testGetAllProductsResponseTime() {
-        Response response = productsClient.getAllProducts();
-
-        List<Product> products = response.jsonPath().getList("", Product.class);
+    public void testConsecutivePagesDoNotOverlap() {
+        Set<Integer> firstPage = new HashSet<>();
+        productsClient.getProductsPage(0, 5).jsonPath().getList("id", Integer.class).forEach(firstPage::add);
+        List<Integer> secondPage = productsClient.getProductsPage(5, 5).jsonPath().getList("id", Integer.class);
+
+        Assert.assertEquals(firstPage.size(), 5, "First page should contain exactly limit products");
+        Assert.assertTrue(secondPage.size() <= 5, "Second page should contain at most limit products");
+        Assert.assertTrue(secondPage.stream().noneMatch(firstPage::contains),
+                "Pages should not share products: " + firstPage + " / " + secondPage);
+    }
 
-        Product firstProduct = products.get(0);
-        validProductId = firstProduct.getId();
-        validProductSlug = products.get(1).getSlug();
-        deleteProductId = products.get(2).getId();
-        updateProductId= products.get(3).getId();
+    @Test
+    public void testGetProductsPageHonoursLimit() {
+        List<Product> page = StreamingValidator.of(Product.class)
+                .keepFirst(5)
+                .validate(productsClient.getProductsPage(0, 5))
+                .getKept();
 
-        Assert.assertTrue(response.time() < 5000, "Response time should be less than 5 seconds");
+        Assert.assertEquals(page.size(), 5, "Page should contain exactly limit products");
     }
 
     /* *************************************************************************************************
@@ -150,7 +210,7 @@ public class ProductsTests extends BaseTest {
      * Get a single product by slug
      *****************************************************************************************************/
 
-    @Test(priority = 2 )
+    @Test
     public void testGetProductBySlugReturnsProduct() {
         Product product = productsClient.getProductBySlug(validProductSlug).as(Product.class);
 
@@ -213,6 +273,8 @@ public class ProductsTests extends BaseTest {
     public void testDeleteProduct_ValidId() {
         Response deleteResponse = productsClient.deleteProductById(deleteProductId);
 
+        deleteLease.markDeleted();
+
         Assert.assertTrue(deleteResponse.asString().equalsIgnoreCase("true"), "Expected delete response to be true");
     }
 
@@ -0,0 +1,122 @@
+package PlatziFakeStore.tests.replay;
+
+import PlatziFakeStore.base.BaseTest;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.config.ConfigOverride;
+import PlatziFakeStore.replay.RecordedExchange;
+import PlatziFakeStore.replay.ReplayServer;
+import PlatziFakeStore.replay.ReplayTiming;
+import PlatziFakeStore.replay.TrafficArchive;
+import PlatziFakeStore.replay.TrafficRecorder;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recording through the filter, then replaying the archive.
+ * - Revalidation 304s are skipped; Authorization never reaches the archive
+ * - Passwords and token signatures are redacted from /auth bodies
+ */
+public class TrafficRecorderTests extends BaseTest {
+
+    private static final String TOKEN = "recorder-test-token";
+
+    private ConfigOverride archiveConfig;
+    private Path archive;
+    private Response categories;
+    private Response revalidated;
+    private Response page;
+    private Response login;
+    private List<RecordedExchange> recorded;
+
+    @BeforeClass(alwaysRun = true)
+    public void recordThroughTheFilter() throws Exception {
+        archive = Files.createTempDirectory("traffic").resolve("traffic.pfsa");
+        TrafficRecorder.close();
+        archiveConfig = ConfigManager.overrideScoped("replay.archive", archive.toString());
+
+        categories = recording().header("Authorization", "Bearer " + TOKEN).get("/categories/");
+        revalidated = recording().header("If-None-Match", categories.getHeader("ETag")).get("/categories/");
+        page = recording().queryParam("offset", 0).queryParam("limit", 2).get("/products/");
+        login = recording().contentType(ContentType.JSON)
+                .body(Map.of("email", ConfigManager.getAuthEmail(), "password", ConfigManager.getAuthPassword()))
+                .post("/auth/login");
+
+        TrafficRecorder.close();
+        recorded = TrafficArchive.read(archive);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreArchive() {
+        TrafficRecorder.close();
+        if (archiveConfig != null) archiveConfig.close();
+    }
+
+    @Test
+    public void testRevalidationsAreNotRecorded() {
+        Assert.assertEquals(revalidated.getStatusCode(), 304, "The stand-in server should confirm the ETag");
+        Assert.assertEquals(recorded.stream().map(RecordedExchange::key).toList(),
+                List.of("GET /categories/", "GET /products/?offset=0&limit=2", "POST /auth/login"),
+                "Only the full responses should be archived");
+        Assert.assertTrue(recorded.stream().noneMatch(exchange -> exchange.status() == 304),
+                "No 304 should be archived");
+    }
+
+    @Test
+    public void testAuthorizationIsNotStored() throws Exception {
+        for (RecordedExchange exchange : recorded) {
+            Assert.assertTrue(exchange.responseHeaders().keySet().stream()
+                    .noneMatch(name -> name.equalsIgnoreCase("Authorization")), exchange.key());
+            Assert.assertFalse(new String(exchange.requestBody(), StandardCharsets.UTF_8).contains(TOKEN), exchange.key());
+            Assert.assertFalse(new String(exchange.responseBody(), StandardCharsets.UTF_8).contains(TOKEN), exchange.key());
+        }
+        Assert.assertFalse(new String(Files.readAllBytes(archive), StandardCharsets.ISO_8859_1).contains(TOKEN),
+                "The token should not be anywhere in the archive file");
+    }
+
+    @Test
+    public void testAuthBodiesAreRedacted() throws Exception {
+        Assert.assertEquals(login.getStatusCode(), 201, "The recording run should have logged in");
+        String accessToken = login.path("access_token");
+        String signature = accessToken.substring(accessToken.lastIndexOf('.') + 1);
+        RecordedExchange recordedLogin = recorded.get(recorded.size() - 1);
+
+        String requestBody = new String(recordedLogin.requestBody(), StandardCharsets.UTF_8);
+        String responseBody = new String(recordedLogin.responseBody(), StandardCharsets.UTF_8);
+        Assert.assertFalse(requestBody.contains(ConfigManager.getAuthPassword()), requestBody);
+        Assert.assertTrue(requestBody.contains(ConfigManager.getAuthEmail()), "Only the password should go: " + requestBody);
+        Assert.assertFalse(responseBody.contains(signature), "Token signatures should not be stored: " + responseBody);
+        Assert.assertTrue(responseBody.contains(accessToken.substring(0, accessToken.lastIndexOf('.') + 1)),
+                "The token should still decode on replay: " + responseBody);
+        Assert.assertFalse(new String(Files.readAllBytes(archive), StandardCharsets.ISO_8859_1).contains(signature));
+    }
+
+    @Test
+    public void testReplayServesWhatWasRecorded() {
+        try (ReplayServer server = ReplayServer.start(0, recorded, ReplayTiming.FAST)) {
+            Response replayedCategories = RestAssured.given().baseUri(server.getBaseUrl()).get("/categories/");
+            Response replayedPage = RestAssured.given().baseUri(server.getBaseUrl())
+                    .queryParam("offset", 0).queryParam("limit", 2).get("/products/");
+
+            Assert.assertEquals(replayedCategories.getStatusCode(), 200);
+            Assert.assertEquals(replayedCategories.asString(), categories.asString());
+            Assert.assertEquals(replayedPage.asString(), page.asString(), "The query should be part of the match");
+            Assert.assertEquals(server.getMissedCount(), 0L);
+        }
+    }
+
+    private static RequestSpecification recording() {
+        return RestAssured.given().baseUri(ConfigManager.getBaseUrl()).filter(TrafficRecorder.INSTANCE);
+    }
+}
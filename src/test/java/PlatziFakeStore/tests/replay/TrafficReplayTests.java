@@ -0,0 +1,121 @@
+package PlatziFakeStore.tests.replay;
+
+import PlatziFakeStore.replay.RecordedExchange;
+import PlatziFakeStore.replay.ReplayServer;
+import PlatziFakeStore.replay.ReplayTiming;
+import PlatziFakeStore.replay.TrafficArchive;
+import PlatziFakeStore.replay.TrafficReplayer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record-and-replay archive.
+ * - Round trips, truncated tails and the local replay server; no API calls
+ */
+public class TrafficReplayTests {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    public void testArchiveRoundTripsExchanges() throws Exception {
+        Path file = Files.createTempDirectory("traffic").resolve("traffic.pfsa");
+        RecordedExchange product = exchange("GET", "/products/1", 200, "{\"id\":1,\"title\":\"" + "x".repeat(2000) + "\"}");
+        RecordedExchange created = new RecordedExchange(2000L, 5_000_000L, "POST", "/users/", "application/json",
+                "{\"name\":\"a\"}".getBytes(StandardCharsets.UTF_8), 201, Map.of("Content-Type", "application/json"),
+                "{\"id\":7}".getBytes(StandardCharsets.UTF_8));
+
+        try (TrafficArchive.Writer writer = TrafficArchive.append(file)) {
+            writer.write(product);
+        }
+        try (TrafficArchive.Writer writer = TrafficArchive.append(file)) {
+            writer.write(created);
+        }
+        List<RecordedExchange> read = TrafficArchive.read(file);
+
+        Assert.assertEquals(read.size(), 2, "Both runs should be in the archive");
+        Assert.assertEquals(read.get(0).key(), "GET /products/1");
+        Assert.assertEquals(read.get(0).responseBody(), product.responseBody());
+        Assert.assertEquals(read.get(1).status(), 201);
+        Assert.assertEquals(read.get(1).requestBody(), created.requestBody());
+        Assert.assertEquals(read.get(1).responseHeaders(), created.responseHeaders());
+        Assert.assertTrue(Files.size(file) < product.responseBody().length,
+                "Repetitive JSON should be stored deflated");
+    }
+
+    @Test
+    public void testTruncatedTailIsIgnored() throws Exception {
+        Path file = Files.createTempDirectory("traffic").resolve("traffic.pfsa");
+        try (TrafficArchive.Writer writer = TrafficArchive.append(file)) {
+            writer.write(exchange("GET", "/categories/", 200, "[]"));
+            writer.write(exchange("GET", "/categories/1", 200, "{\"id\":1}"));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3), StandardOpenOption.TRUNCATE_EXISTING);
+
+        List<RecordedExchange> read = TrafficArchive.read(file);
+
+        Assert.assertEquals(read.size(), 1, "Only the complete record should be read");
+        Assert.assertEquals(read.get(0).key(), "GET /categories/");
+    }
+
+    @Test
+    public void testReplayServerAnswersInRecordedOrder() throws Exception {
+        List<RecordedExchange> archive = List.of(
+                exchange("GET", "/products/1", 200, "{\"title\":\"before\"}"),
+                exchange("PUT", "/products/1", 200, "{\"title\":\"after\"}"),
+                exchange("GET", "/products/1", 200, "{\"title\":\"after\"}"));
+
+        try (ReplayServer server = ReplayServer.start(0, archive, ReplayTiming.FAST)) {
+            Assert.assertEquals(get(server, "/products/1").body(), "{\"title\":\"before\"}");
+            Assert.assertEquals(get(server, "/products/1").body(), "{\"title\":\"after\"}");
+            Assert.assertEquals(get(server, "/products/1").body(), "{\"title\":\"after\"}",
+                    "The last recorded response should repeat");
+
+            HttpResponse<String> missing = get(server, "/products/2");
+            Assert.assertEquals(missing.statusCode(), 404);
+            Assert.assertTrue(missing.body().contains("GET /products/2"));
+            Assert.assertEquals(server.getMissedCount(), 1L);
+        }
+    }
+
+    @Test
+    public void testReplayerComparesStatuses() {
+        List<RecordedExchange> archive = List.of(
+                exchange("GET", "/users/1", 200, "{\"id\":1}"),
+                exchange("GET", "/users/2", 404, "{}"),
+                exchange("GET", "/users/3", 500, "{}"));
+        List<RecordedExchange> target = List.of(
+                exchange("GET", "/users/1", 200, "{\"id\":1}"),
+                exchange("GET", "/users/2", 404, "{}"));
+
+        try (ReplayServer server = ReplayServer.start(0, target, ReplayTiming.FAST)) {
+            TrafficReplayer.Result result = TrafficReplayer.replay(archive, server.getBaseUrl(), ReplayTiming.FAST, 2);
+
+            Assert.assertEquals(result.getSent(), 3L);
+            Assert.assertEquals(result.getStatusMismatches(), 1L, "/users/3 is not served: 404 instead of 500");
+            Assert.assertEquals(result.getFailures(), 0L);
+        }
+    }
+
+    private HttpResponse<String> get(ReplayServer server, String path) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(server.getBaseUrl() + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static RecordedExchange exchange(String method, String path, int status, String body) {
+        return new RecordedExchange(1000L, 1_000_000L, method, path, null, null, status,
+                Map.of("Content-Type", "application/json"), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,147 @@
+package PlatziFakeStore.tests.resilience;
+
+import PlatziFakeStore.base.BaseAPI;
+import PlatziFakeStore.base.ConnectionPool;
+import PlatziFakeStore.cache.ResponseCache;
+import PlatziFakeStore.config.ConfigManager;
+import PlatziFakeStore.config.ConfigOverride;
+import PlatziFakeStore.resilience.ResilienceFilter;
+import PlatziFakeStore.stub.FakeStoreServer;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.util.Map;
+
+/**
+ * Retries and hedges through a real filter chain.
+ * - Faults are injected into the stand-in server; no calls to the public API
+ * - Each test starts from a full retry budget
+ * - Retried replies must not keep a pooled connection leased
+ */
+public class ResilienceFilterTests {
+
+    private FakeStoreServer server;
+
+    @BeforeClass(alwaysRun = true)
+    public void startServer() {
+        server = FakeStoreServer.start(0);
+        RestAssured.given().baseUri(server.getBaseUrl()).get("/categories"); // first request pays Rest Assured's warm-up
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop();
+    }
+
+    @BeforeMethod(alwaysRun = true)
+    public void refillBudget() {
+        ResilienceFilter.resetStats(); // the suite's own retries may have spent it
+    }
+
+    @Test
+    public void testUnavailableGetIsRetried() {
+        server.failNext("GET", "/products/1", 503, 1);
+
+        Response response = request().get("/products/{id}", 1);
+
+        Assert.assertEquals(response.getStatusCode(), 200, "The retry should have succeeded");
+        Assert.assertEquals(server.getRequestCount("GET", "/products/1"), 2L);
+        Assert.assertEquals(ResilienceFilter.stats().getRetries(), 1L);
+    }
+
+    @Test
+    public void testRetriedPutResendsTheBody() {
+        server.failNext("PUT", "/users/2", 503, 1);
+
+        Response response = request().contentType(ContentType.JSON)
+                .body("{\"name\":\"Retried Maria\"}")
+                .put("/users/{id}", 2);
+
+        Assert.assertEquals(response.getStatusCode(), 200);
+        Assert.assertEquals(server.getData().user(2).getName(), "Retried Maria");
+        Assert.assertEquals(server.getRequestCount("PUT", "/users/2"), 2L);
+    }
+
+    @Test
+    public void testPostIsNeverRepeated() {
+        server.failNext("POST", "/categories/", 503, 1);
+
+        Response response = request().contentType(ContentType.JSON)
+                .body("{\"name\":\"Never Twice\",\"image\":\"https://i.imgur.com/x.jpeg\"}")
+                .post("/categories/");
+
+        Assert.assertEquals(response.getStatusCode(), 503, "The failure should reach the test unchanged");
+        Assert.assertEquals(server.getRequestCount("POST", "/categories/"), 1L);
+        Assert.assertEquals(ResilienceFilter.stats().getRetries(), 0L);
+    }
+
+    @Test
+    public void testConnectionFailureIsRetriedAndRethrown() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        Exception failure = Assert.expectThrows(Exception.class,
+                () -> RestAssured.given().baseUri("http://localhost:" + closedPort)
+                        .filter(ResilienceFilter.INSTANCE)
+                        .get("/products/{id}", 1));
+
+        Assert.assertTrue(failure instanceof ConnectException, "Expected the original ConnectException: " + failure);
+        Assert.assertEquals(ResilienceFilter.stats().getRetries(), (long) ConfigManager.getRetryMaxAttempts());
+    }
+
+    @Test
+    public void testSlowGetIsHedged() {
+        try (ConfigOverride ignored = ConfigManager.overrideScoped(Map.of(
+                "resilience.hedge.min.samples", "0", // hedge after the min delay
+                "resilience.hedge.enabled", "true"))) {
+            server.delayNext("GET", "/categories/1", 5_000, 1);
+
+            long start = System.nanoTime();
+            Response response = request().get("/categories/{id}", 1);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            Assert.assertEquals(response.getStatusCode(), 200);
+            Assert.assertTrue(millis < 5_000, "The hedge should have answered before the slow primary: " + millis + " ms");
+            Assert.assertEquals(ResilienceFilter.stats().getHedgesSent(), 1L);
+            Assert.assertEquals(ResilienceFilter.stats().getHedgesWon(), 1L);
+            Assert.assertEquals(server.getRequestCount("GET", "/categories/1"), 2L);
+        }
+    }
+
+    @Test
+    public void testRetriedResponsesReleaseTheirConnections() {
+        if (!ConfigManager.isPoolEnabled() || !ConfigManager.isResilienceEnabled()) {
+            throw new SkipException("Needs the pooled client with resilience on");
+        }
+        for (int i = 0; i < 5; i++) {
+            server.failNext("GET", "/products/2", 503, 1);
+            Response response = ResponseCache.bypass(() -> pooled().get("/products/{id}", 2));
+            Assert.assertEquals(response.getStatusCode(), 200, "The retry should have succeeded");
+        }
+
+        Assert.assertEquals(ResilienceFilter.stats().getRetries(), 5L);
+        Assert.assertEquals(ConnectionPool.routeStats(server.getBaseUrl()).getLeased(), 0,
+                "The 503s that were retried should have handed their connections back");
+    }
+
+    /** The BaseAPI spec (shared pool, full filter chain) aimed at this class's server. */
+    private RequestSpecification pooled() {
+        return RestAssured.given().spec(BaseAPI.getRequestSpec()).baseUri(server.getBaseUrl());
+    }
+
+    private RequestSpecification request() {
+        return RestAssured.given().baseUri(server.getBaseUrl()).filter(ResilienceFilter.INSTANCE);
+    }
+}
@@ -0,0 +1,52 @@
+package PlatziFakeStore.tests.resilience;
+
+import PlatziFakeStore.resilience.RetryBudget;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Retry budget accounting.
+ * - The floor is always available; the ratio earns more as requests are made
+ * - Once spent, extra attempts are denied until more requests are recorded
+ */
+public class RetryBudgetTests {
+
+    @Test
+    public void testFloorIsAvailableBeforeAnyRequest() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+
+        Assert.assertTrue(budget.tryAcquire());
+        Assert.assertTrue(budget.tryAcquire());
+        Assert.assertFalse(budget.tryAcquire(), "Only the floor should be available without requests");
+        Assert.assertEquals(budget.getSpent(), 2L);
+        Assert.assertEquals(budget.getDenied(), 1L);
+    }
+
+    @Test
+    public void testRequestsEarnTokensAtTheRatio() {
+        RetryBudget budget = new RetryBudget(0.1, 0);
+        Assert.assertFalse(budget.tryAcquire());
+
+        for (int i = 0; i < 20; i++) {
+            budget.recordRequest();
+        }
+
+        Assert.assertEquals(budget.getRemaining(), 2L);
+        Assert.assertTrue(budget.tryAcquire());
+        Assert.assertTrue(budget.tryAcquire());
+        Assert.assertFalse(budget.tryAcquire(), "20 requests at 0.1 should allow exactly 2 extra attempts");
+    }
+
+    @Test
+    public void testResetRefillsTheBudget() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        budget.tryAcquire();
+        budget.tryAcquire();
+
+        budget.reset();
+
+        Assert.assertEquals(budget.getSpent(), 0L);
+        Assert.assertEquals(budget.getDenied(), 0L);
+        Assert.assertEquals(budget.getRemaining(), 1L);
+    }
+}
@@ -0,0 +1,66 @@
+package PlatziFakeStore.tests.snapshot;
+
+import PlatziFakeStore.base.BaseTest;
+import PlatziFakeStore.snapshot.CategoryRecord;
+import PlatziFakeStore.snapshot.ProductRecord;
+import PlatziFakeStore.snapshot.Snapshot;
+import PlatziFakeStore.snapshot.SnapshotStore;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Suite-wide read-only snapshots.
+ * - Many concurrent readers share one snapshot instance
+ * - Indexes agree with the list; nothing can be modified
+ */
+public class SnapshotStoreTests extends BaseTest {
+
+    @Test
+    public void testConcurrentReadersShareOneSnapshot() throws Exception {
+        List<Future<Snapshot<CategoryRecord>>> reads = new ArrayList<>();
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                reads.add(readers.submit(SnapshotStore::categories));
+            }
+        }
+
+        Snapshot<CategoryRecord> first = reads.getFirst().get();
+        for (Future<Snapshot<CategoryRecord>> read : reads) {
+            Assert.assertSame(read.get(), first, "Every reader should get the same snapshot");
+        }
+    }
+
+    @Test
+    public void testIndexesAgreeWithTheList() {
+        Snapshot<ProductRecord> products = SnapshotStore.products();
+
+        for (ProductRecord product : products.getAll()) {
+            Assert.assertSame(products.byId(product.id()).orElseThrow(), product);
+            if (product.slug() != null) {
+                Assert.assertEquals(products.bySlug(product.slug()).orElseThrow().slug(), product.slug());
+            }
+            Assert.assertTrue(products.byCategory(product.categoryId()).contains(product),
+                    "Product " + product.id() + " missing from its category index");
+        }
+    }
+
+    @Test
+    public void testSnapshotCannotBeModified() {
+        Snapshot<ProductRecord> products = SnapshotStore.products();
+
+        Assert.assertThrows(UnsupportedOperationException.class, () -> products.getAll().clear());
+        if (!products.getAll().isEmpty()) {
+            ProductRecord product = products.getAll().getFirst();
+            Assert.assertThrows(UnsupportedOperationException.class, () -> products.byCategory(product.categoryId()).clear());
+            if (product.images() != null) {
+                Assert.assertThrows(UnsupportedOperationException.class, () -> product.images().clear());
+            }
+        }
+    }
+}
@@ -5,10 +5,16 @@ import PlatziFakeStore.base.BaseAPI;
 import PlatziFakeStore.base.BaseTest;
 import PlatziFakeStore.clients.ProductsClient;
 import PlatziFakeStore.clients.UsersClient;
+import PlatziFakeStore.fixtures.EntityPool;
+import PlatziFakeStore.fixtures.TestEntities;
 import PlatziFakeStore.models.request.CreateUserRequest;
 import PlatziFakeStore.models.response.Users;
+import PlatziFakeStore.snapshot.SnapshotStore;
+import PlatziFakeStore.snapshot.UserRecord;
+import PlatziFakeStore.utils.StreamingValidator;
 import io.restassured.response.Response;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -19,12 +25,30 @@ import static io.restassured.RestAssured.given;
 
 public class UsersTests extends BaseTest {
     private UsersClient usersClient;
-    private int validUserId = 1;
-    private int updateUserId = 90;
+    // Resolved once before any test and never reassigned, so methods can run in parallel
+    private int validUserId;
+    private int updateUserId;
+    private EntityPool.Lease<Users> updateLease; // updated users are pooled ones, never seeded accounts
 
     @BeforeClass
     public void setup() {
+        super.setup();
         usersClient = new UsersClient();
+
+        List<Users> users = StreamingValidator.of(Users.class)
+                .keepFirst(1)
+                .validate(usersClient.getAllUsers())
+                .assertMinCount(1)
+                .getKept();
+        validUserId = users.getFirst().getId();
+
+        updateLease = TestEntities.users().lease().markDirty();
+        updateUserId = updateLease.get().getId();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void releaseFixtures() {
+        if (updateLease != null) updateLease.close();
     }
 
     /* ***********************************************************************
@@ -34,60 +58,44 @@ public class UsersTests extends BaseTest {
     public void testGetAllUsersSuccess() {
         Response response = usersClient.getAllUsers();
 
-        List<Users> users = response.jsonPath().getList("", Users.class);
+        List<Users> users = StreamingValidator.of(Users.class).keepFirst(5).validate(response).getKept();
 
-        Assert.assertNotNull(users, "Users list should not be null");
         Assert.assertFalse(users.isEmpty(), "Users list should not be empty");
 
         Users firstUser = users.getFirst();
-        validUserId = users.getFirst().getId();
-        updateUserId = users.get(4).getId();
 
         Assert.assertNotNull(firstUser.getId(), "User ID should not be null");
         Assert.assertNotNull(firstUser.getEmail(), "User email should not be null");
     }
 
+    // Invariant checks read the suite-wide snapshot instead of fetching /users each
     @Test
     public void testAllUsersHaveValidEmails() {
-        Response response = usersClient.getAllUsers();
-        List<Users> users = response.jsonPath().getList("", Users.class);
-        validUserId = users.getFirst().getId();
-        updateUserId = users.get(4).getId();
+        StreamingValidator.Result<UserRecord> users = StreamingValidator.of(UserRecord.class)
+                .rule("Invalid email format", user -> user.email().contains("@"))
+                .validate(SnapshotStore.users().getAll());
 
-        Assert.assertFalse(users.isEmpty(), "Users list should not be empty");
-
-        for (Users user : users) {
-            Assert.assertTrue(user.getEmail().contains("@"),
-                    "Invalid email format for user ID: " + user.getId());
-        }
+        Assert.assertTrue(users.getCount() > 0, "Users list should not be empty");
+        users.assertValid();
     }
 
     @Test
     public void testAllUsersHaveNonEmptyNames() {
-        Response response = usersClient.getAllUsers();
-        List<Users> users = response.jsonPath().getList("", Users.class);
-        validUserId = users.getFirst().getId();
-        updateUserId = users.get(4).getId();
-
-        for (Users user : users) {
-            Assert.assertNotNull(user.getName(), "User name should not be null");
-            Assert.assertFalse(user.getName().trim().isEmpty(), "User name should not be empty");
-        }
+        StreamingValidator.of(UserRecord.class)
+                .rule("User name should not be null", user -> user.name() != null)
+                .rule("User name should not be empty", user -> !user.name().trim().isEmpty())
+                .validate(SnapshotStore.users().getAll())
+                .assertValid();
     }
 
     @Test
     public void testAllUsersHaveValidRoles() {
-        Response response = usersClient.getAllUsers();
-        List<Users> users = response.jsonPath().getList("", Users.class);
-        validUserId = users.getFirst().getId();
-        updateUserId = users.get(4).getId();
-
         List<String> allowedRoles = List.of("customer", "admin");
 
-        for (Users user : users) {
-            Assert.assertTrue(allowedRoles.contains(user.getRole()),
-                    "Invalid role for user ID: " + user.getId());
-        }
+        StreamingValidator.of(UserRecord.class)
+                .rule("Invalid role", user -> allowedRoles.contains(user.role()))
+                .validate(SnapshotStore.users().getAll())
+                .assertValid();
     }
 
     @Test
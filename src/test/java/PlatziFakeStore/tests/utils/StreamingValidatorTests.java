@@ -0,0 +1,78 @@
+package PlatziFakeStore.tests.utils;
+
+import PlatziFakeStore.models.response.Category;
+import PlatziFakeStore.models.response.Product;
+import PlatziFakeStore.models.response.Users;
+import PlatziFakeStore.stub.FakeStoreData;
+import PlatziFakeStore.utils.JsonArrayReader;
+import PlatziFakeStore.utils.StreamingValidator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streaming JSON array reading and validation (no API calls).
+ * - Payloads come from the stand-in server's data set
+ */
+public class StreamingValidatorTests {
+
+    private final FakeStoreData data = new FakeStoreData(2_000, 50);
+
+    @Test
+    public void testStreamsEveryElementAndKeepsOnlyTheFirst() {
+        StreamingValidator.Result<Product> result = StreamingValidator.of(Product.class)
+                .rule("Product price should be > 0", product -> product.getPrice() > 0)
+                .keepFirst(3)
+                .validate(data.allProductsJson());
+
+        Assert.assertEquals(result.getCount(), 2_000, "Every product should be streamed");
+        Assert.assertEquals(result.getKept().size(), 3, "Only the requested elements should be kept");
+        Assert.assertEquals(result.getKept().get(0).getId(), Integer.valueOf(1), "Kept elements should be in order");
+        result.assertValid();
+    }
+
+    @Test
+    public void testViolationsAreCountedAndReported() {
+        StreamingValidator.Result<Users> result = StreamingValidator.of(Users.class)
+                .rule("User should be an admin", user -> "admin".equals(user.getRole()))
+                .rule("User avatar should be blank", user -> user.getAvatar().isBlank())
+                .validate(data.allUsersJson());
+
+        Assert.assertFalse(result.isValid(), "Customers and avatars should fail the rules");
+        Assert.assertTrue(result.getViolationCount() > result.getViolations().size(), "Reported messages should be capped");
+        AssertionError failure = Assert.expectThrows(AssertionError.class, result::assertValid);
+        Assert.assertTrue(failure.getMessage().contains("User should be an admin"), "Failure should name the rule");
+    }
+
+    @Test
+    public void testInMemoryElementsGetTheSameMessages() {
+        List<Product> products;
+        try (Stream<Product> all = JsonArrayReader.of(data.allProductsJson(), Product.class).stream()) {
+            products = all.limit(3).toList();
+        }
+
+        StreamingValidator.Result<Product> result = StreamingValidator.of(Product.class)
+                .rule("Product title should be null", product -> product.getTitle() == null)
+                .validate(products);
+
+        Assert.assertEquals(result.getCount(), 3, "Every element should be checked");
+        Assert.assertEquals(result.getViolations().get(1), "Product #1: Product title should be null",
+                "Messages should match the streaming ones");
+    }
+
+    @Test
+    public void testReaderStreamsCategories() {
+        try (Stream<Category> categories = JsonArrayReader.of(data.allCategoriesJson(), Category.class).stream()) {
+            List<String> slugs = categories.map(Category::getSlug).toList();
+            Assert.assertEquals(slugs.size(), 5, "Expected the five seeded categories");
+            Assert.assertTrue(slugs.contains("clothes"), "Expected the clothes category");
+        }
+    }
+
+    @Test(expectedExceptions = RuntimeException.class)
+    public void testNonArrayBodyIsRejected() {
+        JsonArrayReader.of("{\"message\":\"Not Found\"}".getBytes(), Product.class);
+    }
+}